@@ -0,0 +1,703 @@
+package geometries;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+/**
+ * BVHBuilder is a helper class for building boundary volume hierarchies.
+ * It chooses how to split a group of intersectables into two groups using the binned
+ * Surface Area Heuristic (SAH) - the split that minimizes the expected cost of a ray
+ * that passes through the group, according to the surface areas of the boundary boxes of the two groups.
+ * The work on large groups can be split between the threads of the common fork/join pool. The results don't
+ * depend on the way the work is split, so a parallel build gives exactly the same hierarchy as a sequential one.
+ * @author Rachel and Tehila
+ */
+final class BVHBuilder {
+    /** the number of bins the centers of the boundary boxes are divided into along each axis */
+    private static final int BINS = 12;
+    /** the estimated cost of checking a ray against a boundary box */
+    static final double TRAVERSAL_COST = 1;
+    /** the estimated cost of checking a ray against a geometry */
+    static final double INTERSECTION_COST = 2;
+    /** the minimal amount of intersectables in every chunk of a range that is processed in parallel */
+    private static final int CHUNK_SIZE = 4096;
+    /** the amount of bits of every coordinate in a Morton code */
+    private static final int MORTON_BITS = 10;
+    /** the amount of bits the radix sort sorts by in every pass */
+    private static final int RADIX_BITS = 10;
+
+    /** Don't let anyone instantiate this class. */
+    private BVHBuilder() {}
+
+    /**
+     * Boxes gives the boundary boxes of the items that are partitioned, by their index in the range
+     */
+    interface Boxes {
+        /**
+         * writes the boundary box of an item into an array
+         * @param index the index of the item
+         * @param box the array to write the minimal x, y and z, followed by the maximal x, y and z, into
+         */
+        void box(int index, double[] box);
+    }
+
+    /**
+     * Move moves an item of a range that is partitioned into a temporary array
+     */
+    private interface Move {
+        /**
+         * moves an item
+         * @param from the index of the item in the range
+         * @param to the index of the item in the temporary array
+         */
+        void move(int from, int to);
+    }
+
+    /**
+     * partitions a range of intersectables in place into two groups according to the binned SAH,
+     * after checking all three axes and all the bins along each of them.
+     * the partition is stable - the intersectables keep their order inside each group, so building in parallel
+     * gives exactly the same groups as building sequentially.
+     * the boundary boxes of all the intersectables must already be calculated.
+     * @param items the intersectables
+     * @param start the index of the first intersectable in the range
+     * @param end the index after the last intersectable in the range
+     * @param parallel whether to split the work on large ranges between the threads of the fork/join pool
+     * @return the index that separates the two groups - the items in [start, mid) are the first group and
+     * the items in [mid, end) are the second one
+     */
+    static int partitionSAH(Intersectable[] items, int start, int end, boolean parallel) {
+        Intersectable[] sorted = new Intersectable[end - start];
+        int mid = partitionSAH((index, box) -> {
+            BoundaryBox boundaryBox = items[index].boundaryBox;
+            for (int axis = 0; axis < 3; axis++) {
+                box[axis] = boundaryBox.getMin(axis);
+                box[3 + axis] = boundaryBox.getMax(axis);
+            }
+        }, (from, to) -> sorted[to] = items[from], start, end, parallel);
+        if (mid != -1) {
+            System.arraycopy(sorted, 0, items, start, sorted.length);
+            return mid;
+        }
+        return start + (end - start) / 2;
+    }
+
+    /**
+     * partitions a range of item indices in place into two groups according to the binned SAH,
+     * like {@link #partitionSAH(Intersectable[], int, int, boolean)}, for items that aren't intersectables
+     * (like the faces of a mesh)
+     * @param boxes the boundary boxes of the items, by the index of the item (not its position in the range)
+     * @param items the indices of the items
+     * @param start the index of the first item in the range
+     * @param end the index after the last item in the range
+     * @param parallel whether to split the work on large ranges between the threads of the fork/join pool
+     * @return the index that separates the two groups
+     */
+    static int partitionSAH(Boxes boxes, int[] items, int start, int end, boolean parallel) {
+        int[] sorted = new int[end - start];
+        int mid = partitionSAH((index, box) -> boxes.box(items[index], box),
+                (from, to) -> sorted[to] = items[from], start, end, parallel);
+        if (mid != -1) {
+            System.arraycopy(sorted, 0, items, start, sorted.length);
+            return mid;
+        }
+        return start + (end - start) / 2;
+    }
+
+    /**
+     * chooses the binned SAH split of a range of items, and moves the items of the first group to the beginning
+     * of a temporary array and the items of the second group after them, keeping their order
+     * @param boxes the boundary boxes of the items, by their index in the range
+     * @param move moves an item into the temporary array
+     * @param start the index of the first item in the range
+     * @param end the index after the last item in the range
+     * @param parallel whether to split the work on large ranges between the threads of the fork/join pool
+     * @return the index that separates the two groups, or -1 if the items can't be split and weren't moved
+     */
+    private static int partitionSAH(Boxes boxes, Move move, int start, int end, boolean parallel) {
+        int chunks = chunks(start, end, parallel);
+
+        // the bounds of the centers of the boundary boxes, calculated separately for every chunk of the range
+        double[][] chunkCenters = new double[chunks][];
+        forEachChunk(chunks, parallel, chunk -> chunkCenters[chunk] =
+                centerBounds(boxes, chunkStart(start, end, chunks, chunk), chunkStart(start, end, chunks, chunk + 1)));
+        double[] centerMin = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        double[] centerMax = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (double[] centers : chunkCenters) {
+            for (int axis = 0; axis < 3; axis++) {
+                centerMin[axis] = Math.min(centerMin[axis], centers[axis]);
+                centerMax[axis] = Math.max(centerMax[axis], centers[3 + axis]);
+            }
+        }
+
+        // the bins of all the axes, filled separately for every chunk and then merged
+        Bins[] chunkBins = new Bins[chunks];
+        forEachChunk(chunks, parallel, chunk -> {
+            chunkBins[chunk] = new Bins(centerMin, centerMax);
+            double[] box = new double[6];
+            for (int i = chunkStart(start, end, chunks, chunk); i < chunkStart(start, end, chunks, chunk + 1); i++) {
+                boxes.box(i, box);
+                chunkBins[chunk].add(box);
+            }
+        });
+        Bins bins = chunkBins[0];
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            bins.merge(chunkBins[chunk]);
+        }
+
+        double bestCost = Double.POSITIVE_INFINITY;
+        int bestAxis = -1;
+        int bestBin = -1;
+        for (int axis = 0; axis < 3; axis++) {
+            if (!bins.used(axis)) {
+                continue; // all the centers are in the same place along this axis
+            }
+            int[] binCount = bins.count[axis];
+            BoundaryBox[] binBox = bins.box[axis];
+
+            // sweep from the left to save the area and the amount of items left of each split plane
+            double[] leftArea = new double[BINS - 1];
+            int[] leftCount = new int[BINS - 1];
+            BoundaryBox box = null;
+            int count = 0;
+            for (int bin = 0; bin < BINS - 1; bin++) {
+                box = grow(box, binBox[bin]);
+                count += binCount[bin];
+                leftArea[bin] = box == null ? 0 : area(box);
+                leftCount[bin] = count;
+            }
+
+            // sweep from the right and evaluate the cost of each split plane
+            box = null;
+            count = 0;
+            for (int bin = BINS - 1; bin > 0; bin--) {
+                box = grow(box, binBox[bin]);
+                count += binCount[bin];
+                if (count == 0 || leftCount[bin - 1] == 0) {
+                    continue;
+                }
+                double cost = leftArea[bin - 1] * leftCount[bin - 1] + area(box) * count;
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestAxis = axis;
+                    bestBin = bin;
+                }
+            }
+        }
+
+        if (bestAxis == -1) { // all the centers are in the same place, so the range can't be split by them
+            return -1;
+        }
+
+        // count the items of the first group in every chunk, to know where each chunk moves its items to
+        int axis = bestAxis;
+        int split = bestBin;
+        int[] firstCount = new int[chunks];
+        forEachChunk(chunks, parallel, chunk -> {
+            double[] box = new double[6];
+            for (int i = chunkStart(start, end, chunks, chunk); i < chunkStart(start, end, chunks, chunk + 1); i++) {
+                boxes.box(i, box);
+                if (bins.index(box, axis) < split) {
+                    firstCount[chunk]++;
+                }
+            }
+        });
+        int[] firstOffset = new int[chunks];
+        int[] secondOffset = new int[chunks];
+        int first = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            firstOffset[chunk] = first;
+            first += firstCount[chunk];
+        }
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            secondOffset[chunk] = first + chunkStart(start, end, chunks, chunk) - start - firstOffset[chunk];
+        }
+
+        // move the items of the first group to the beginning of the range, keeping their order
+        forEachChunk(chunks, parallel, chunk -> {
+            double[] box = new double[6];
+            int firstIndex = firstOffset[chunk];
+            int secondIndex = secondOffset[chunk];
+            for (int i = chunkStart(start, end, chunks, chunk); i < chunkStart(start, end, chunks, chunk + 1); i++) {
+                boxes.box(i, box);
+                if (bins.index(box, axis) < split) {
+                    move.move(i, firstIndex++);
+                } else {
+                    move.move(i, secondIndex++);
+                }
+            }
+        });
+        return start + first;
+    }
+
+    /**
+     * calculates the bounds of the centers of the boundary boxes of a range of items
+     * @param boxes the boundary boxes of the items
+     * @param start the index of the first item in the range
+     * @param end the index after the last item in the range
+     * @return the minimal x, y and z of the centers, followed by the maximal x, y and z of the centers
+     */
+    private static double[] centerBounds(Boxes boxes, int start, int end) {
+        double[] bounds = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        double[] box = new double[6];
+        for (int i = start; i < end; i++) {
+            boxes.box(i, box);
+            for (int axis = 0; axis < 3; axis++) {
+                double center = (box[axis] + box[3 + axis]) / 2;
+                bounds[axis] = Math.min(bounds[axis], center);
+                bounds[3 + axis] = Math.max(bounds[3 + axis], center);
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * calculates the bounds of the centers of the boundary boxes of a range of intersectables
+     * @param items the intersectables
+     * @param start the index of the first intersectable in the range
+     * @param end the index after the last intersectable in the range
+     * @return the minimal x, y and z of the centers, followed by the maximal x, y and z of the centers
+     */
+    private static double[] centerBounds(Intersectable[] items, int start, int end) {
+        double[] bounds = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (int i = start; i < end; i++) {
+            for (int axis = 0; axis < 3; axis++) {
+                double center = items[i].boundaryBox.getCenter(axis);
+                bounds[axis] = Math.min(bounds[axis], center);
+                bounds[3 + axis] = Math.max(bounds[3 + axis], center);
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * Class Bins holds the amount of items and their boundary box in each bin along all three axes
+     */
+    private static class Bins {
+        /** the minimal center along each axis */
+        final double[] min;
+        /** the distance between the minimal and maximal centers along each axis */
+        final double[] extent = new double[3];
+        /** the amount of items in each bin of each axis */
+        final int[][] count = new int[3][BINS];
+        /** the boundary box of the items in each bin of each axis, null for an empty bin */
+        final BoundaryBox[][] box = new BoundaryBox[3][BINS];
+
+        /**
+         * constructor to initialize empty bins between the bounds of the centers
+         * @param centerMin the minimal center along each axis
+         * @param centerMax the maximal center along each axis
+         */
+        Bins(double[] centerMin, double[] centerMax) {
+            min = centerMin;
+            for (int axis = 0; axis < 3; axis++) {
+                extent[axis] = centerMax[axis] - centerMin[axis];
+            }
+        }
+
+        /**
+         * checks if the centers are spread along an axis, so it can be split
+         * @param axis the axis
+         * @return true if the items can be split along the axis
+         */
+        boolean used(int axis) {
+            return extent[axis] > 0 && !Double.isInfinite(extent[axis]);
+        }
+
+        /**
+         * calculates the bin an item is in along an axis
+         * @param itemBox the boundary box of the item
+         * @param axis the axis
+         * @return the index of the bin
+         */
+        int index(double[] itemBox, int axis) {
+            return binIndex((itemBox[axis] + itemBox[3 + axis]) / 2, min[axis], extent[axis]);
+        }
+
+        /**
+         * adds an item to its bins along all the axes it can be split along
+         * @param itemBox the boundary box of the item
+         */
+        void add(double[] itemBox) {
+            for (int axis = 0; axis < 3; axis++) {
+                if (used(axis)) {
+                    int bin = index(itemBox, axis);
+                    count[axis][bin]++;
+                    if (box[axis][bin] == null) {
+                        box[axis][bin] = new BoundaryBox(itemBox[0], itemBox[1], itemBox[2],
+                                itemBox[3], itemBox[4], itemBox[5]);
+                    } else {
+                        expand(box[axis][bin], itemBox);
+                    }
+                }
+            }
+        }
+
+        /**
+         * expands the boundary box of a bin to include the boundary box of an item
+         * @param binBox the boundary box of the bin
+         * @param itemBox the boundary box of the item
+         */
+        private static void expand(BoundaryBox binBox, double[] itemBox) {
+            if (itemBox[0] < binBox.getMinX()) binBox.setMinX(itemBox[0]);
+            if (itemBox[1] < binBox.getMinY()) binBox.setMinY(itemBox[1]);
+            if (itemBox[2] < binBox.getMinZ()) binBox.setMinZ(itemBox[2]);
+            if (itemBox[3] > binBox.getMaxX()) binBox.setMaxX(itemBox[3]);
+            if (itemBox[4] > binBox.getMaxY()) binBox.setMaxY(itemBox[4]);
+            if (itemBox[5] > binBox.getMaxZ()) binBox.setMaxZ(itemBox[5]);
+        }
+
+        /**
+         * adds the items of other bins with the same bounds to these bins
+         * @param other the other bins
+         */
+        void merge(Bins other) {
+            for (int axis = 0; axis < 3; axis++) {
+                for (int bin = 0; bin < BINS; bin++) {
+                    count[axis][bin] += other.count[axis][bin];
+                    box[axis][bin] = grow(box[axis][bin], other.box[axis][bin]);
+                }
+            }
+        }
+    }
+
+    /**
+     * sorts intersectables by the Morton codes of the centers of their boundary boxes, using a radix sort.
+     * a Morton code interleaves the bits of the x, y and z coordinates, so intersectables that are close
+     * in the sorted order are close in space.
+     * the boundary boxes of all the intersectables must already be calculated.
+     * @param items the intersectables, which are reordered by their Morton codes
+     * @return the sorted Morton codes of the intersectables
+     */
+    static int[] sortMorton(Intersectable[] items) {
+        double[] bounds = centerBounds(items, 0, items.length);
+        double[] scale = new double[3];
+        for (int axis = 0; axis < 3; axis++) {
+            double extent = bounds[3 + axis] - bounds[axis];
+            scale[axis] = extent > 0 && !Double.isInfinite(extent) ? (1 << MORTON_BITS) / extent : 0;
+        }
+        int[] codes = new int[items.length];
+        for (int i = 0; i < items.length; i++) {
+            int code = 0;
+            for (int axis = 0; axis < 3; axis++) {
+                double position = (items[i].boundaryBox.getCenter(axis) - bounds[axis]) * scale[axis];
+                // an unbounded geometry has no center, and is put at the beginning of the axis
+                int cell = (int) Math.min(Math.max(position, 0), (1 << MORTON_BITS) - 1);
+                code |= expandBits(cell) << (2 - axis);
+            }
+            codes[i] = code;
+        }
+
+        // least significant digit radix sort, which keeps intersectables with the same code in their order
+        Intersectable[] source = items;
+        Intersectable[] target = new Intersectable[items.length];
+        int[] targetCodes = new int[items.length];
+        int buckets = 1 << RADIX_BITS;
+        for (int shift = 0; shift < 3 * MORTON_BITS; shift += RADIX_BITS) {
+            int[] offsets = new int[buckets + 1];
+            for (int code : codes) {
+                offsets[((code >>> shift) & (buckets - 1)) + 1]++;
+            }
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                offsets[bucket + 1] += offsets[bucket];
+            }
+            for (int i = 0; i < source.length; i++) {
+                int index = offsets[(codes[i] >>> shift) & (buckets - 1)]++;
+                target[index] = source[i];
+                targetCodes[index] = codes[i];
+            }
+            Intersectable[] tempItems = source;
+            source = target;
+            target = tempItems;
+            int[] tempCodes = codes;
+            codes = targetCodes;
+            targetCodes = tempCodes;
+        }
+        if (source != items) {
+            System.arraycopy(source, 0, items, 0, items.length);
+        }
+        return codes;
+    }
+
+    /**
+     * spreads the lowest 10 bits of a number, so there are two zero bits between every two of them
+     * @param value the number
+     * @return the spread bits
+     */
+    private static int expandBits(int value) {
+        value = (value * 0x00010001) & 0xFF0000FF;
+        value = (value * 0x00000101) & 0x0F00F00F;
+        value = (value * 0x00000011) & 0xC30C30C3;
+        value = (value * 0x00000005) & 0x49249249;
+        return value;
+    }
+
+    /**
+     * Class LinearNodes holds the inner nodes of a linear boundary volume hierarchy over sorted Morton codes.
+     * a child of a node is either another inner node (a non-negative index),
+     * or a single intersectable (the bitwise complement of its index, which is negative).
+     */
+    static final class LinearNodes {
+        /** the first child of every inner node */
+        final int[] left;
+        /** the second child of every inner node */
+        final int[] right;
+        /** the index of the first intersectable under every inner node */
+        final int[] first;
+        /** the index of the last intersectable under every inner node */
+        final int[] last;
+
+        /**
+         * constructor to initialize empty arrays for the inner nodes
+         * @param size the amount of inner nodes
+         */
+        private LinearNodes(int size) {
+            left = new int[size];
+            right = new int[size];
+            first = new int[size];
+            last = new int[size];
+        }
+    }
+
+    /**
+     * builds the inner nodes of a linear boundary volume hierarchy over sorted Morton codes.
+     * there is one inner node less than there are codes and the root is node 0. every node is built on its own
+     * from the codes around it (Karras, 2012), so all the nodes are built in one pass that is split
+     * between the threads of the fork/join pool.
+     * @param codes the sorted Morton codes, at least two of them
+     * @return the inner nodes of the hierarchy
+     */
+    static LinearNodes linearHierarchy(int[] codes) {
+        int size = codes.length - 1;
+        LinearNodes nodes = new LinearNodes(size);
+        int chunks = chunks(0, size, true);
+        forEachChunk(chunks, true, chunk -> {
+            for (int node = chunkStart(0, size, chunks, chunk); node < chunkStart(0, size, chunks, chunk + 1); node++) {
+                buildLinearNode(codes, nodes, node);
+            }
+        });
+        return nodes;
+    }
+
+    /**
+     * finds the range of codes under an inner node and the position it is split at
+     * @param codes the sorted Morton codes
+     * @param nodes the inner nodes, where the children and range of the node are saved
+     * @param node the index of the node
+     */
+    private static void buildLinearNode(int[] codes, LinearNodes nodes, int node) {
+        // the range goes in the direction of the neighbour with the longer common prefix
+        int direction = prefix(codes, node, node + 1) > prefix(codes, node, node - 1) ? 1 : -1;
+        int minPrefix = prefix(codes, node, node - direction);
+
+        // find the other end of the range - first an upper bound, and then a binary search
+        int maxLength = 2;
+        while (prefix(codes, node, node + maxLength * direction) > minPrefix) {
+            maxLength *= 2;
+        }
+        int length = 0;
+        for (int step = maxLength / 2; step >= 1; step /= 2) {
+            if (prefix(codes, node, node + (length + step) * direction) > minPrefix) {
+                length += step;
+            }
+        }
+        int other = node + length * direction;
+
+        // find the split position - the last code that shares a longer prefix with the node than the other end
+        int nodePrefix = prefix(codes, node, other);
+        int split = 0;
+        int step = length;
+        do {
+            step = (step + 1) / 2;
+            if (prefix(codes, node, node + (split + step) * direction) > nodePrefix) {
+                split += step;
+            }
+        } while (step > 1);
+        int gamma = node + split * direction + Math.min(direction, 0);
+
+        nodes.first[node] = Math.min(node, other);
+        nodes.last[node] = Math.max(node, other);
+        nodes.left[node] = nodes.first[node] == gamma ? ~gamma : gamma;
+        nodes.right[node] = nodes.last[node] == gamma + 1 ? ~(gamma + 1) : gamma + 1;
+    }
+
+    /**
+     * calculates the length of the common prefix of two Morton codes.
+     * equal codes are told apart by their indices, so every two codes have a different prefix.
+     * @param codes the sorted Morton codes
+     * @param i the index of the first code
+     * @param j the index of the second code
+     * @return the amount of equal leading bits, or -1 if the second index is outside the codes
+     */
+    private static int prefix(int[] codes, int i, int j) {
+        if (j < 0 || j >= codes.length) {
+            return -1;
+        }
+        if (codes[i] == codes[j]) {
+            return Integer.SIZE + Integer.numberOfLeadingZeros(i ^ j);
+        }
+        return Integer.numberOfLeadingZeros(codes[i] ^ codes[j]);
+    }
+
+    /**
+     * calculates the boundary boxes of intersectables
+     * @param items the intersectables
+     * @param parallel whether to split the work on many intersectables between the threads of the fork/join pool
+     */
+    static void calcBoundaryBoxes(Intersectable[] items, boolean parallel) {
+        int chunks = chunks(0, items.length, parallel);
+        forEachChunk(chunks, parallel, chunk -> {
+            int end = chunkStart(0, items.length, chunks, chunk + 1);
+            for (int i = chunkStart(0, items.length, chunks, chunk); i < end; i++) {
+                items[i].calcBoundaryBox();
+            }
+        });
+    }
+
+    /**
+     * calculates the boundary box that contains the boundary boxes of a range of intersectables,
+     * which must already be calculated
+     * @param items the intersectables
+     * @param start the index of the first intersectable in the range
+     * @param end the index after the last intersectable in the range
+     * @param parallel whether to split the work on large ranges between the threads of the fork/join pool
+     * @return the boundary box of the intersectables in the range
+     */
+    static BoundaryBox bounds(Intersectable[] items, int start, int end, boolean parallel) {
+        int chunks = chunks(start, end, parallel);
+        BoundaryBox[] chunkBoxes = new BoundaryBox[chunks];
+        forEachChunk(chunks, parallel, chunk -> {
+            BoundaryBox box = new BoundaryBox(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+            for (int i = chunkStart(start, end, chunks, chunk); i < chunkStart(start, end, chunks, chunk + 1); i++) {
+                box.add(items[i].boundaryBox);
+            }
+            chunkBoxes[chunk] = box;
+        });
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            chunkBoxes[0].add(chunkBoxes[chunk]);
+        }
+        return chunkBoxes[0];
+    }
+
+    /**
+     * calculates the amount of chunks a range is split into
+     * @param start the index of the first intersectable in the range
+     * @param end the index after the last intersectable in the range
+     * @param parallel whether the range is processed in parallel
+     * @return the amount of chunks, 1 if the range is processed sequentially
+     */
+    private static int chunks(int start, int end, boolean parallel) {
+        return parallel ? Math.max(1, (end - start) / CHUNK_SIZE) : 1;
+    }
+
+    /**
+     * calculates the index of the first intersectable in a chunk of a range
+     * @param start the index of the first intersectable in the range
+     * @param end the index after the last intersectable in the range
+     * @param chunks the amount of chunks the range is split into
+     * @param chunk the index of the chunk (or the amount of chunks, for the end of the range)
+     * @return the index of the first intersectable in the chunk
+     */
+    private static int chunkStart(int start, int end, int chunks, int chunk) {
+        return start + (int) ((long) (end - start) * chunk / chunks);
+    }
+
+    /**
+     * does an action on every chunk of a range, in parallel on the fork/join pool if asked to
+     * @param chunks the amount of chunks
+     * @param parallel whether to do the action on the chunks in parallel
+     * @param action the action, which receives the index of the chunk
+     */
+    private static void forEachChunk(int chunks, boolean parallel, IntConsumer action) {
+        if (!parallel || chunks == 1) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                action.accept(chunk);
+            }
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int index = chunk;
+            tasks.add(ForkJoinTask.adapt(() -> action.accept(index)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /**
+     * calculates the index of the bin a center of a boundary box is in
+     * @param center the center of the boundary box along the axis
+     * @param min the minimal center along the axis
+     * @param extent the distance between the minimal and maximal centers along the axis
+     * @return the index of the bin
+     */
+    private static int binIndex(double center, double min, double extent) {
+        int bin = (int) (BINS * (center - min) / extent);
+        return Math.min(Math.max(bin, 0), BINS - 1);
+    }
+
+    /**
+     * expands a boundary box to include another one
+     * @param box the boundary box to expand, or null if it is still empty
+     * @param other the boundary box to include, or null if there is none
+     * @return the expanded boundary box
+     */
+    private static BoundaryBox grow(BoundaryBox box, BoundaryBox other) {
+        if (other == null) {
+            return box;
+        }
+        return box == null ? new BoundaryBox(other) : BoundaryBox.union(box, other);
+    }
+
+    /**
+     * the surface area of a boundary box, treating boxes that can't be measured as infinitely large
+     * @param box the boundary box
+     * @return the surface area of the box
+     */
+    static double area(BoundaryBox box) {
+        double area = box.surfaceArea();
+        return Double.isNaN(area) ? Double.POSITIVE_INFINITY : area;
+    }
+
+    /**
+     * calculates the distance along a ray in which it enters the boundary box of a node of a flattened hierarchy
+     * @param bounds the minimal and maximal x, y and z coordinates of the boxes of the nodes, 6 for every node
+     * @param node the index of the node
+     * @param origin the x, y and z coordinates of the head of the ray
+     * @param inverse the inverse of the x, y and z coordinates of the direction of the ray
+     * @param maxDistance the maximal distance along the ray to check
+     * @return the distance in which the ray enters the box (0 if it starts inside it),
+     * or infinity if the ray doesn't pass through the box before maxDistance
+     */
+    static double entryDistance(double[] bounds, int node, double[] origin, double[] inverse, double maxDistance) {
+        double tMin = 0;
+        double tMax = maxDistance;
+        int base = 6 * node;
+        for (int axis = 0; axis < 3; axis++) {
+            double min = bounds[base + axis];
+            double max = bounds[base + 3 + axis];
+            if (Double.isInfinite(inverse[axis])) { // the ray is parallel to this axis
+                if (origin[axis] < min || origin[axis] > max) {
+                    return Double.POSITIVE_INFINITY;
+                }
+                continue;
+            }
+            double t1 = (min - origin[axis]) * inverse[axis];
+            double t2 = (max - origin[axis]) * inverse[axis];
+            if (t1 > t2) {
+                double temp = t1;
+                t1 = t2;
+                t2 = temp;
+            }
+            if (t1 > tMin) tMin = t1;
+            if (t2 < tMax) tMax = t2;
+            if (tMin > tMax) {
+                return Double.POSITIVE_INFINITY;
+            }
+        }
+        return tMin;
+    }
+}
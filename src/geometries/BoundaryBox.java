@@ -123,6 +123,33 @@ public class BoundaryBox {
         return this;
     }
 
+    /**
+     * getter method for the minimum value of the boundary box along one of the axes
+     * @param axis the index of the axis (0 for x, 1 for y, 2 for z)
+     * @return the minimum value of the boundary box along the axis
+     */
+    public double getMin(int axis) {
+        return axis == 0 ? minX : axis == 1 ? minY : minZ;
+    }
+
+    /**
+     * getter method for the maximum value of the boundary box along one of the axes
+     * @param axis the index of the axis (0 for x, 1 for y, 2 for z)
+     * @return the maximum value of the boundary box along the axis
+     */
+    public double getMax(int axis) {
+        return axis == 0 ? maxX : axis == 1 ? maxY : maxZ;
+    }
+
+    /**
+     * calculates the center of the boundary box along one of the axes
+     * @param axis the index of the axis (0 for x, 1 for y, 2 for z)
+     * @return the center of the boundary box along the axis
+     */
+    public double getCenter(int axis) {
+        return (getMin(axis) + getMax(axis)) / 2;
+    }
+
     boolean doesIntersect(Ray ray) {
         Vector direction = ray.getDirection();
         double dx = direction.getX();
@@ -0,0 +1,31 @@
+package geometries;
+
+import java.util.List;
+
+/**
+ * CompiledStructure is a base class for the acceleration structures that geometries are compiled into.
+ * a compiled structure holds the geometries themselves and not the geometries objects around them,
+ * so after some of the geometries moved it is updated in place, in a time that depends on the amount of
+ * moved geometries and not on the size of the scene.
+ * @author Rachel and Tehila
+ */
+abstract class CompiledStructure extends Intersectable {
+
+    /**
+     * puts a geometry in the place of another geometry of the structure
+     * @param geometry the geometry to replace
+     * @param replacement the geometry to put instead of it
+     * @return false if the geometry isn't in the structure or the replacement can't take its place,
+     * so the structure has to be compiled again
+     */
+    abstract boolean replace(Intersectable geometry, Intersectable replacement);
+
+    /**
+     * updates the structure after geometries in it moved. the boundary boxes of the moved geometries must
+     * already be calculated.
+     * @param moved the moved geometries
+     * @return false if a moved geometry isn't in the structure, or the structure became too much worse than
+     * a structure that is compiled again, so it has to be compiled again
+     */
+    abstract boolean refit(List<Intersectable> moved);
+}
@@ -6,6 +6,10 @@ import primitives.Vector;
 
 import java.util.List;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
 /**
@@ -51,8 +55,106 @@ public class Cylinder extends Tube {
         return super.getNormal(p1);
     }
 
+    /**
+     * {@inheritDoc}
+     * the ray is intersected with the round surface between the bases and with the two bases (the caps).
+     * the edges of the bases are part of the bases.
+     * the intersections are ordered by their distance from the head of the ray.
+     */
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
-        return null;
+        Vector d = ray.getDirection();
+        Vector a = axis.getDirection();
+        Point head = ray.getHead();
+        Point center = axis.getHead();
+        // w is the head of the ray relative to the center of the first base
+        double wx = head.getX() - center.getX(), wy = head.getY() - center.getY(), wz = head.getZ() - center.getZ();
+        double da = d.dotProduct(a);
+        double wa = wx * a.getX() + wy * a.getY() + wz * a.getZ();
+
+        double[] distances = new double[2];
+        int count = 0;
+
+        // the round surface - the parts of d and w that are orthogonal to the axis
+        double dx = d.getX() - da * a.getX(), dy = d.getY() - da * a.getY(), dz = d.getZ() - da * a.getZ();
+        double ox = wx - wa * a.getX(), oy = wy - wa * a.getY(), oz = wz - wa * a.getZ();
+        double A = dx * dx + dy * dy + dz * dz;
+        if (!isZero(A)) { // if the ray is parallel to the axis it can only intersect the bases
+            double B = dx * ox + dy * oy + dz * oz;
+            double C = ox * ox + oy * oy + oz * oz - radius * radius;
+            double discriminant = alignZero(B * B - A * C);
+            if (discriminant > 0) { // a ray tangent to the round surface doesn't intersect it
+                double sqrt = sqrt(discriminant);
+                for (double t : new double[]{(-B - sqrt) / A, (-B + sqrt) / A}) {
+                    double offset = wa + t * da; // the distance of the intersection along the axis
+                    if (inRange(t, maxDistance) && alignZero(offset) > 0 && alignZero(offset - height) < 0) {
+                        distances[count++] = alignZero(t);
+                    }
+                }
+            }
+        }
+
+        // the bases
+        if (!isZero(da)) {
+            for (double offset : new double[]{0, height}) {
+                double t = (offset - wa) / da;
+                if (count < 2 && inRange(t, maxDistance)) {
+                    double px = wx + t * d.getX(), py = wy + t * d.getY(), pz = wz + t * d.getZ();
+                    // the distance from the center of the base, squared
+                    double distance = px * px + py * py + pz * pz - offset * offset;
+                    if (alignZero(distance - radius * radius) <= 0) {
+                        distances[count++] = alignZero(t);
+                    }
+                }
+            }
+        }
+
+        if (count == 0) {
+            return null;
+        }
+        if (count == 1) {
+            return List.of(new GeoPoint(this, ray.getPoint(distances[0])));
+        }
+        return List.of(
+                new GeoPoint(this, ray.getPoint(min(distances[0], distances[1]))),
+                new GeoPoint(this, ray.getPoint(max(distances[0], distances[1])))
+        );
+    }
+
+    /**
+     * checks if a distance along a ray is after its head and not further than the max distance
+     *
+     * @param t           the distance along the ray
+     * @param maxDistance the max distance
+     * @return true if the distance is in the range
+     */
+    private static boolean inRange(double t, double maxDistance) {
+        return alignZero(t) > 0 && alignZero(t - maxDistance) <= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * the box is calculated from the centers of the two bases - along every axis of the coordinates, a base
+     * spreads radius * sqrt(1 - d^2) from its center, where d is the coordinate of the direction of the cylinder.
+     */
+    @Override
+    public void calcBoundaryBox() {
+        boundaryBoxFlag = true;
+        if (boundaryBox == null) {
+            Point center1 = axis.getHead();
+            Vector direction = axis.getDirection();
+            Point center2 = center1.add(direction.scale(height));
+            double ex = radius * sqrt(max(0, 1 - direction.getX() * direction.getX()));
+            double ey = radius * sqrt(max(0, 1 - direction.getY() * direction.getY()));
+            double ez = radius * sqrt(max(0, 1 - direction.getZ() * direction.getZ()));
+            boundaryBox = new BoundaryBox(
+                    min(center1.getX(), center2.getX()) - ex,
+                    min(center1.getY(), center2.getY()) - ey,
+                    min(center1.getZ(), center2.getZ()) - ez,
+                    max(center1.getX(), center2.getX()) + ex,
+                    max(center1.getY(), center2.getY()) + ey,
+                    max(center1.getZ(), center2.getZ()) + ez
+            );
+        }
     }
 }
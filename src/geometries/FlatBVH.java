@@ -0,0 +1,400 @@
+package geometries;
+
+import primitives.Double3;
+import primitives.Ray;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class FlatBVH is a boundary volume hierarchy that is compiled into flat arrays instead of nested
+ * Geometries objects. The boundary boxes of the nodes and the indices of their children and geometries are
+ * saved in arrays of primitives, and the hierarchy is traversed with an explicit stack.
+ * The nodes are saved in depth first order, so the first child of an inner node is always the node after it.
+ * After geometries move, only the boxes of their leaves and the nodes above them are updated.
+ * @author Rachel and Tehila
+ */
+public final class FlatBVH extends CompiledStructure {
+    /** the initial size of the traversal stack */
+    private static final int STACK_SIZE = 128;
+
+    /** the geometries in the leaves of the hierarchy, ordered by the leaves they are in */
+    private final Intersectable[] primitives;
+    /** the geometries without a boundary box (like a plane), which are checked against every ray */
+    private final Intersectable[] unbounded;
+    /** the boundary boxes of the nodes - minX, minY, minZ, maxX, maxY, maxZ for every node */
+    private double[] bounds;
+    /** for an inner node - the index of its second child, for a leaf - the index of its first geometry */
+    private int[] offsets;
+    /** for an inner node - 0, for a leaf - the amount of geometries in it */
+    private int[] counts;
+    /** the amount of nodes in the hierarchy */
+    private int size = 0;
+    /** the index of every geometry in the primitives array, null until the hierarchy is first refitted */
+    private Map<Intersectable, Integer> indices = null;
+    /** the parent of every node (-1 for the root), null until the hierarchy is first refitted */
+    private int[] parents = null;
+    /** the leaf of every geometry, by its index in the primitives array, null until the hierarchy is first refitted */
+    private int[] leaves = null;
+    /** the total surface area of the boxes of the nodes after the hierarchy was built */
+    private double builtArea = 0;
+    /** the current total surface area of the boxes of the nodes */
+    private double area = 0;
+    /** for every thread - a hit whose arrays are used for finding all the intersections of a ray */
+    private final ThreadLocal<Hit> scratch = ThreadLocal.withInitial(Hit::new);
+
+    /**
+     * a constructor to compile a list of geometries into a flat boundary volume hierarchy.
+     * nested Geometries objects are flattened, so only the geometries themselves are in the leaves.
+     * geometries without a boundary box are kept out of the hierarchy.
+     * @param geometries the geometries in the hierarchy
+     * @param leafSize the maximal amount of geometries in a leaf of the hierarchy
+     */
+    public FlatBVH(List<Intersectable> geometries, int leafSize) {
+        if (leafSize < 1) {
+            throw new IllegalArgumentException("leaf size must be positive.");
+        }
+        List<Intersectable> all = new LinkedList<>();
+        for (Intersectable geometry : geometries) {
+            Geometries.collectPrimitives(geometry, all);
+        }
+        Intersectable[] items = all.toArray(new Intersectable[0]);
+        BVHBuilder.calcBoundaryBoxes(items, true);
+        List<Intersectable> bounded = new LinkedList<>();
+        List<Intersectable> other = new LinkedList<>();
+        for (Intersectable item : items) {
+            (item.boundaryBoxFlag && item.boundaryBox != null ? bounded : other).add(item);
+        }
+        primitives = bounded.toArray(new Intersectable[0]);
+        unbounded = other.toArray(new Intersectable[0]);
+        int capacity = Math.max(1, 2 * primitives.length - 1);
+        bounds = new double[6 * capacity];
+        offsets = new int[capacity];
+        counts = new int[capacity];
+        if (primitives.length > 0) {
+            build(0, primitives.length, leafSize);
+        }
+        calcBoundaryBox();
+    }
+
+    /**
+     * recursively builds the nodes of the geometries in a range of the primitives array
+     * @param start the index of the first geometry in the range
+     * @param end the index after the last geometry in the range
+     * @param leafSize the maximal amount of geometries in a leaf
+     */
+    private void build(int start, int end, int leafSize) {
+        int node = size++;
+        BoundaryBox box = BVHBuilder.bounds(primitives, start, end, true);
+        for (int axis = 0; axis < 3; axis++) {
+            bounds[6 * node + axis] = box.getMin(axis);
+            bounds[6 * node + 3 + axis] = box.getMax(axis);
+        }
+        if (end - start <= leafSize) {
+            offsets[node] = start;
+            counts[node] = end - start;
+            return;
+        }
+        int mid = BVHBuilder.partitionSAH(primitives, start, end, true);
+        build(start, mid, leafSize); // the first child is the next node
+        offsets[node] = size;
+        build(mid, end, leafSize);
+    }
+
+    /**
+     * return the amount of nodes in the hierarchy
+     * @return the amount of nodes in the hierarchy
+     */
+    public int nodeCount() {
+        return size;
+    }
+
+    /**
+     * return the amount of geometries without a boundary box, which are kept out of the hierarchy
+     * @return the amount of unbounded geometries
+     */
+    public int unboundedCount() {
+        return unbounded.length;
+    }
+
+    @Override
+    public void calcBoundaryBox() {
+        if (unbounded.length > 0) { // the hierarchy is unbounded too
+            boundaryBox = null;
+            boundaryBoxFlag = false;
+        } else if (size > 0) {
+            boundaryBox = new BoundaryBox(bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]);
+            boundaryBoxFlag = true;
+        }
+    }
+
+    /**
+     * saves the parent of every node and the leaf of every geometry, and the area of the boxes of the nodes
+     * after the build, if they weren't saved yet
+     */
+    private void mapNodes() {
+        if (parents != null) {
+            return;
+        }
+        parents = new int[Math.max(1, size)];
+        leaves = new int[primitives.length];
+        indices = new IdentityHashMap<>(2 * primitives.length);
+        parents[0] = -1;
+        for (int node = 0; node < size; node++) {
+            area += nodeArea(node);
+            if (counts[node] == 0) {
+                parents[node + 1] = node;
+                parents[offsets[node]] = node;
+            } else {
+                for (int i = offsets[node]; i < offsets[node] + counts[node]; i++) {
+                    leaves[i] = node;
+                }
+            }
+        }
+        for (int i = 0; i < primitives.length; i++) {
+            indices.put(primitives[i], i);
+        }
+        builtArea = area;
+    }
+
+    @Override
+    boolean replace(Intersectable geometry, Intersectable replacement) {
+        mapNodes();
+        Integer index = indices.remove(geometry);
+        if (index == null || replacement instanceof Geometries) {
+            return false;
+        }
+        primitives[index] = replacement;
+        indices.put(replacement, index);
+        return true;
+    }
+
+    @Override
+    boolean refit(List<Intersectable> moved) {
+        mapNodes();
+        for (Intersectable geometry : moved) {
+            Integer index = indices.get(geometry);
+            if (index == null) {
+                return false;
+            }
+            // go up until a box doesn't change, since the boxes above it don't change either
+            int node = leaves[index];
+            while (node != -1 && fitNode(node)) {
+                node = parents[node];
+            }
+        }
+        calcBoundaryBox();
+        return area <= Geometries.REBUILD_RATIO * builtArea;
+    }
+
+    /**
+     * calculates the boundary box of a node again from the boxes of its geometries or its children
+     * @param node the index of the node
+     * @return true if the box changed
+     */
+    private boolean fitNode(int node) {
+        double[] box = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        if (counts[node] == 0) {
+            for (int child : new int[]{node + 1, offsets[node]}) {
+                for (int axis = 0; axis < 3; axis++) {
+                    box[axis] = Math.min(box[axis], bounds[6 * child + axis]);
+                    box[3 + axis] = Math.max(box[3 + axis], bounds[6 * child + 3 + axis]);
+                }
+            }
+        } else {
+            for (int i = offsets[node]; i < offsets[node] + counts[node]; i++) {
+                BoundaryBox geometryBox = primitives[i].boundaryBox;
+                for (int axis = 0; axis < 3; axis++) {
+                    box[axis] = Math.min(box[axis], geometryBox.getMin(axis));
+                    box[3 + axis] = Math.max(box[3 + axis], geometryBox.getMax(axis));
+                }
+            }
+        }
+        boolean changed = false;
+        for (int i = 0; i < 6 && !changed; i++) {
+            changed = box[i] != bounds[6 * node + i];
+        }
+        if (changed) {
+            double before = nodeArea(node);
+            System.arraycopy(box, 0, bounds, 6 * node, 6);
+            area += nodeArea(node) - before;
+        }
+        return changed;
+    }
+
+    /**
+     * calculates the surface area of the boundary box of a node
+     * @param node the index of the node
+     * @return the surface area of the box
+     */
+    private double nodeArea(int node) {
+        double x = bounds[6 * node + 3] - bounds[6 * node];
+        double y = bounds[6 * node + 4] - bounds[6 * node + 1];
+        double z = bounds[6 * node + 5] - bounds[6 * node + 2];
+        return 2 * (x * y + y * z + z * x);
+    }
+
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = null;
+        for (Intersectable geometry : unbounded) {
+            List<GeoPoint> geometryIntersections = geometry.findGeoIntersectionsHelper(ray, maxDistance);
+            if (geometryIntersections != null) {
+                if (intersections == null) {
+                    intersections = new LinkedList<>();
+                }
+                intersections.addAll(geometryIntersections);
+            }
+        }
+        if (size == 0) {
+            return intersections;
+        }
+        Hit hit = scratch.get();
+        double[] origin = hit.origin(ray);
+        double[] inverse = hit.inverse(ray);
+        int level = hit.enter();
+        int[] stack = hit.stack(level, STACK_SIZE);
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (BVHBuilder.entryDistance(bounds, node, origin, inverse, maxDistance) == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            if (counts[node] == 0) {
+                if (top + 2 > stack.length) {
+                    stack = hit.growStack(level);
+                }
+                stack[top++] = offsets[node];
+                stack[top++] = node + 1;
+                continue;
+            }
+            for (int i = offsets[node]; i < offsets[node] + counts[node]; i++) {
+                List<GeoPoint> geometryIntersections = primitives[i].findGeoIntersectionsHelper(ray, maxDistance);
+                if (geometryIntersections != null) {
+                    if (intersections == null) {
+                        intersections = new LinkedList<>();
+                    }
+                    intersections.addAll(geometryIntersections);
+                }
+            }
+        }
+        hit.exit();
+        return intersections;
+    }
+
+    @Override
+    protected Double3 calcTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minTransparency,
+                                             Hit hit) {
+        for (Intersectable geometry : unbounded) {
+            ktr = geometry.calcTransparencyHelper(ray, maxDistance, ktr, minTransparency, hit);
+            if (ktr.lowerThan(minTransparency)) {
+                return ktr;
+            }
+        }
+        if (size == 0) {
+            return ktr;
+        }
+        double[] origin = hit.origin(ray);
+        double[] inverse = hit.inverse(ray);
+        int level = hit.enter();
+        int[] stack = hit.stack(level, STACK_SIZE);
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (BVHBuilder.entryDistance(bounds, node, origin, inverse, maxDistance) == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            if (counts[node] == 0) {
+                if (top + 2 > stack.length) {
+                    stack = hit.growStack(level);
+                }
+                stack[top++] = offsets[node];
+                stack[top++] = node + 1;
+                continue;
+            }
+            for (int i = offsets[node]; i < offsets[node] + counts[node]; i++) {
+                ktr = primitives[i].calcTransparencyHelper(ray, maxDistance, ktr, minTransparency, hit);
+                if (ktr.lowerThan(minTransparency)) { // the light is blocked, no need to look any further
+                    hit.exit();
+                    return ktr;
+                }
+            }
+        }
+        hit.exit();
+        return ktr;
+    }
+
+    /**
+     * {@inheritDoc}
+     * the children of every node are visited from the nearest to the farthest, and nodes that the ray enters
+     * after the closest intersection found so far are skipped.
+     */
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        boolean found = false;
+        for (Intersectable geometry : unbounded) {
+            found |= geometry.findClosestHitHelper(ray, hit);
+        }
+        if (size == 0) {
+            return found;
+        }
+        double[] origin = hit.origin(ray);
+        double[] inverse = hit.inverse(ray);
+
+        double entry = BVHBuilder.entryDistance(bounds, 0, origin, inverse, hit.t);
+        if (entry == Double.POSITIVE_INFINITY) {
+            return found;
+        }
+        int level = hit.enter();
+        int[] stack = hit.stack(level, STACK_SIZE);
+        double[] entries = hit.entries(level, stack.length);
+        int top = 0;
+        stack[top] = 0;
+        entries[top++] = entry;
+        while (top > 0) {
+            int node = stack[--top];
+            if (entries[top] > hit.t) { // the closest intersection is before this node
+                continue;
+            }
+            if (counts[node] == 0) {
+                int first = node + 1;
+                int second = offsets[node];
+                double firstEntry = BVHBuilder.entryDistance(bounds, first, origin, inverse, hit.t);
+                double secondEntry = BVHBuilder.entryDistance(bounds, second, origin, inverse, hit.t);
+                // push the farther child first, so the nearer one is visited first
+                if (top + 2 > stack.length) {
+                    stack = hit.growStack(level);
+                    entries = hit.growEntries(level);
+                }
+                if (firstEntry > secondEntry) {
+                    int temp = first;
+                    first = second;
+                    second = temp;
+                    double tempEntry = firstEntry;
+                    firstEntry = secondEntry;
+                    secondEntry = tempEntry;
+                }
+                if (secondEntry != Double.POSITIVE_INFINITY) {
+                    stack[top] = second;
+                    entries[top++] = secondEntry;
+                }
+                if (firstEntry != Double.POSITIVE_INFINITY) {
+                    stack[top] = first;
+                    entries[top++] = firstEntry;
+                }
+                continue;
+            }
+            for (int i = offsets[node]; i < offsets[node] + counts[node]; i++) {
+                // only intersections that are not farther than the closest one found so far replace it
+                found |= primitives[i].findClosestHitHelper(ray, hit);
+            }
+        }
+        hit.exit();
+        return found;
+    }
+}
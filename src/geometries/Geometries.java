@@ -1,14 +1,11 @@
 package geometries;
 
 import primitives.Double3;
-import primitives.Point;
 import primitives.Ray;
 
 import java.util.*;
-
-import static geometries.BoundaryBox.union;
-import static java.lang.Math.max;
-import static java.lang.Math.min;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
 
 /**
  * Class Geometry is the class representing a list of geometric bodies or shapes in Cartesian
@@ -18,6 +15,46 @@ import static java.lang.Math.min;
 public class Geometries extends Intersectable {
     /** a list of geometries */
     final private LinkedList<Intersectable> geometries = new LinkedList<>();
+    /**
+     * the unbounded geometries (like a plane or a tube without a boundary box) that were taken out of the list
+     * when the boundary boxes were calculated. they are kept out of the hierarchy and tested directly.
+     */
+    final private LinkedList<Intersectable> unbounded = new LinkedList<>();
+    /** the default maximal amount of geometries in a leaf of the boundary volume hierarchy */
+    private static final int DEFAULT_LEAF_SIZE = 2;
+    /** the minimal amount of geometries in a group for its two halves to be built in parallel */
+    private static final int PARALLEL_SPLIT_SIZE = 512;
+    /** the depth in the hierarchy below which the boundary boxes are calculated sequentially */
+    private static final int PARALLEL_DEPTH = 12;
+    /**
+     * the ratio between the total surface area of the boundary boxes after refitting and after the last build,
+     * above which the hierarchy is rebuilt
+     */
+    static final double REBUILD_RATIO = 1.5;
+    /**
+     * the acceleration structure the geometries are compiled into (a flat hierarchy or a uniform grid),
+     * null if they weren't compiled or a geometry was added since
+     */
+    private CompiledStructure compiled = null;
+    /** the time the last build of an acceleration structure for the geometries took, in milliseconds */
+    private long buildTime = 0;
+    /** compiles the acceleration structure of the geometries again, null if they aren't compiled */
+    private Supplier<CompiledStructure> compiler = null;
+
+    /** whether this geometries object is an inner node that was created by building a hierarchy */
+    private boolean hierarchyNode = false;
+    /** builds the hierarchy again the same way it was built, null if no hierarchy was built */
+    private Runnable rebuild = null;
+    /** whether the boundary boxes are up to date, except for the boxes of the moved geometries */
+    private boolean boundsValid = false;
+    /** the geometries that moved since the boundary boxes were last updated, null if none did */
+    private List<Intersectable> moved = null;
+    /** the parent of every geometry and geometries object inside the geometries, null until it is needed */
+    private Map<Intersectable, Geometries> parents = null;
+    /** the total surface area of the boundary boxes of the geometries objects after the last build */
+    private double builtArea = 0;
+    /** the current total surface area of the boundary boxes of the geometries objects */
+    private double area = 0;
 
     /**
      * an empty constructor to initialize an empty list of geometries
@@ -48,6 +85,7 @@ public class Geometries extends Intersectable {
      */
     public void add (Intersectable... geometries) {
         this.geometries.addAll(Arrays.asList(geometries));
+        invalidate();
     }
 
     /**
@@ -56,6 +94,17 @@ public class Geometries extends Intersectable {
      */
     public void add (List<Intersectable> geometries) {
         this.geometries.addAll(geometries);
+        invalidate();
+    }
+
+    /**
+     * drops the compiled acceleration structure and the boundary boxes after the list of geometries changed
+     */
+    private void invalidate() {
+        compiled = null;
+        compiler = null;
+        boundsValid = false;
+        parents = null;
     }
 
     /**
@@ -63,21 +112,76 @@ public class Geometries extends Intersectable {
      * @return the amount of intersectables inside the geometries object
      */
     public int size() {
-        return geometries.size();
+        return geometries.size() + unbounded.size();
     }
 
+    /**
+     * return an intersectable inside the geometries object. after the boundary boxes are calculated,
+     * the unbounded geometries are after all the others.
+     * @param index the index of the intersectable
+     * @return the intersectable
+     */
     public Intersectable getItem(int index) {
-        return geometries.get(index);
+        return index < geometries.size() ? geometries.get(index) : unbounded.get(index - geometries.size());
+    }
+
+    /**
+     * return the amount of unbounded geometries that are kept out of the hierarchy
+     * @return the amount of unbounded geometries, which is known after the boundary boxes are calculated
+     */
+    public int unboundedCount() {
+        return unbounded.size();
+    }
+
+    /**
+     * checks if a ray may intersect the bounded geometries. when there are unbounded geometries,
+     * the box of the geometries object isn't checked before the helpers are called, so it is checked here.
+     * @param ray the ray
+     * @return false if the ray surely doesn't intersect any of the bounded geometries
+     */
+    private boolean mayHitBounded(Ray ray) {
+        return unbounded.isEmpty() || boundaryBox == null || boundaryBox.doesIntersect(ray);
+    }
+
+    /**
+     * return the time the last build of a boundary volume hierarchy, a flat hierarchy or a uniform grid
+     * for the geometries took
+     * @return the build time in milliseconds
+     */
+    public long getBuildTime() {
+        return buildTime;
     }
 
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
         List<GeoPoint> intersections = null;
+        if (mayHitBounded(ray)) {
+            if (compiled != null) {
+                intersections = compiled.findGeoIntersectionsHelper(ray, maxDistance);
+            } else {
+                intersections = addIntersections(geometries, ray, maxDistance, null);
+            }
+        }
+        return addIntersections(unbounded, ray, maxDistance, intersections);
+    }
+
+    /**
+     * adds the intersections of a ray with geometries to a list of intersections
+     * @param geometries the geometries
+     * @param ray the ray
+     * @param maxDistance the maximum distance from the head of the ray to the intersection points
+     * @param intersections the list to add the intersections to, null if there are no intersections yet
+     * @return the list of intersections, or null if there are none
+     */
+    private static List<GeoPoint> addIntersections(List<Intersectable> geometries, Ray ray, double maxDistance,
+                                                   List<GeoPoint> intersections) {
         for (Intersectable geometry : geometries) {
-            List<GeoPoint> geometryIntersections = geometry.findGeoIntersectionsHelper(ray,maxDistance);
+            List<GeoPoint> geometryIntersections = geometry.findGeoIntersections(ray, maxDistance);
             if (geometryIntersections != null) {
                 if (intersections == null) {
                     intersections = new LinkedList<>();
+                } else if (!(intersections instanceof LinkedList)) { // the list of a compiled structure
+                    intersections = new LinkedList<>(intersections);
                 }
                 intersections.addAll(geometryIntersections);
             }
@@ -85,20 +189,635 @@ public class Geometries extends Intersectable {
         return intersections;
     }
 
+    @Override
+    protected Double3 calcTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minTransparency,
+                                             Hit hit) {
+        if (mayHitBounded(ray)) {
+            if (compiled != null) {
+                ktr = compiled.calcTransparencyHelper(ray, maxDistance, ktr, minTransparency, hit);
+            } else {
+                ktr = calcTransparency(geometries, ray, maxDistance, ktr, minTransparency, hit);
+            }
+            if (ktr.lowerThan(minTransparency)) {
+                return ktr;
+            }
+        }
+        return calcTransparency(unbounded, ray, maxDistance, ktr, minTransparency, hit);
+    }
+
+    /**
+     * calculates how much light passes along a ray through geometries
+     * @param geometries the geometries
+     * @param ray the ray
+     * @param maxDistance the maximum distance from the head of the ray to check
+     * @param ktr the transparency along the ray before the geometries
+     * @param minTransparency the transparency below which the light is considered blocked
+     * @param hit a hit for the intersections that are found
+     * @return the transparency along the ray after the geometries
+     */
+    private static Double3 calcTransparency(List<Intersectable> geometries, Ray ray, double maxDistance,
+                                            Double3 ktr, double minTransparency, Hit hit) {
+        for (Intersectable geometry : geometries) {
+            ktr = geometry.calcTransparency(ray, maxDistance, ktr, minTransparency, hit);
+            if (ktr.lowerThan(minTransparency)) {
+                break;
+            }
+        }
+        return ktr;
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        boolean found = false;
+        if (mayHitBounded(ray)) {
+            found = compiled != null ? compiled.findClosestHitHelper(ray, hit) : findClosestHit(geometries, ray, hit);
+        }
+        return findClosestHit(unbounded, ray, hit) || found;
+    }
+
+    /**
+     * finds the closest intersection of a ray with geometries
+     * @param geometries the geometries
+     * @param ray the ray
+     * @param hit the closest intersection found so far, or the max distance if none was found
+     * @return true if the hit was replaced by an intersection with one of the geometries
+     */
+    private static boolean findClosestHit(List<Intersectable> geometries, Ray ray, Hit hit) {
+        boolean found = false;
+        for (Intersectable geometry : geometries) {
+            // only intersections that are not farther than the closest one found so far replace it
+            found |= geometry.findClosestHit(ray, hit);
+        }
+        return found;
+    }
+
+    /**
+     * compiles the geometries into a flat boundary volume hierarchy, which is used for finding the
+     * intersections with them from now on, until more geometries are added
+     * @return the geometries object itself
+     */
+    public Geometries compileBVH() {
+        return compileBVH(DEFAULT_LEAF_SIZE);
+    }
+
+    /**
+     * compiles the geometries into a flat boundary volume hierarchy, which is used for finding the
+     * intersections with them from now on, until more geometries are added
+     * @param leafSize the maximal amount of geometries in a leaf of the hierarchy
+     * @return the geometries object itself
+     */
+    public Geometries compileBVH(int leafSize) {
+        long start = System.currentTimeMillis();
+        calcBoundaryBox(); // takes the unbounded geometries out of the list first
+        compiled = new FlatBVH(geometries, leafSize);
+        compiler = () -> new FlatBVH(geometries, leafSize);
+        buildTime = System.currentTimeMillis() - start;
+        return this;
+    }
+
+    /**
+     * compiles the geometries into a uniform grid, which is used for finding the
+     * intersections with them from now on, until more geometries are added
+     * @return the geometries object itself
+     */
+    public Geometries compileGrid() {
+        long start = System.currentTimeMillis();
+        calcBoundaryBox(); // takes the unbounded geometries out of the list first
+        compiled = new UniformGrid(geometries);
+        compiler = () -> new UniformGrid(geometries);
+        buildTime = System.currentTimeMillis() - start;
+        return this;
+    }
+
+    /**
+     * checks if the geometries are compiled into an acceleration structure
+     * @return true if the geometries are compiled into a flat hierarchy or a uniform grid
+     */
+    public boolean isCompiled() {
+        return compiled != null;
+    }
+
+    /**
+     * checks if a hierarchy was built over the geometries, or they were compiled into an acceleration structure
+     * @return true if the geometries have a boundary volume hierarchy or are compiled
+     */
+    public boolean hasHierarchy() {
+        return rebuild != null || compiler != null;
+    }
+
+    /**
+     * checks if the geometries are compiled into a uniform grid
+     * @return true if the geometries are compiled into a uniform grid, false if they aren't compiled or are
+     * compiled into a flat hierarchy
+     */
+    public boolean isGrid() {
+        return compiled instanceof UniformGrid;
+    }
+
+    /**
+     * adds an intersectable to a list, or all the geometries inside it if it is a Geometries object
+     * @param geometry the intersectable
+     * @param primitives the list to add the geometries to
+     */
+    static void collectPrimitives(Intersectable geometry, List<Intersectable> primitives) {
+        if (geometry instanceof Geometries inner) {
+            for (Intersectable child : inner.geometries) {
+                collectPrimitives(child, primitives);
+            }
+        } else {
+            primitives.add(geometry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * the boundary boxes of the geometries are calculated in parallel on the common fork/join pool.
+     */
     @Override
     public void calcBoundaryBox() {
-        if (geometries.size() > 0) {
-            boundaryBox = new BoundaryBox(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
-            for (Intersectable geometry : geometries) {
-                geometry.calcBoundaryBox();
-                boundaryBox.add(geometry.boundaryBox);
+        calcBoundaryBox(true, 0);
+        boundsUpdated();
+    }
+
+    /**
+     * saves that the boundary boxes of all the geometries are up to date,
+     * and the surface area the hierarchy is compared to when it is refitted
+     */
+    private void boundsUpdated() {
+        boundsValid = true;
+        moved = null;
+        parents = null;
+        builtArea = area = totalArea();
+    }
+
+    /**
+     * calculates the total surface area of the boundary boxes of the geometries object and all the
+     * geometries objects inside it. unbounded boxes are not counted.
+     * @return the total surface area
+     */
+    private double totalArea() {
+        double total = finiteArea(boundaryBox);
+        for (Intersectable geometry : geometries) {
+            if (geometry instanceof Geometries inner) {
+                total += inner.totalArea();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * the surface area of a boundary box, or 0 if it is unbounded or wasn't calculated
+     * @param box the boundary box
+     * @return the surface area of the box
+     */
+    private static double finiteArea(BoundaryBox box) {
+        if (box == null) {
+            return 0;
+        }
+        double area = BVHBuilder.area(box);
+        return Double.isInfinite(area) ? 0 : area;
+    }
+
+    /**
+     * marks geometries inside the geometries that moved, so their boundary boxes and the boxes that contain
+     * them are updated on the next refit. a geometries object inside the geometries that geometries were added
+     * to should be marked as well.
+     * @param geometries the geometries that moved
+     */
+    public void markMoved(Intersectable... geometries) {
+        if (moved == null) {
+            moved = new LinkedList<>();
+        }
+        moved.addAll(Arrays.asList(geometries));
+    }
+
+    /**
+     * replaces a geometry inside the geometries with another one in the same place in the hierarchy,
+     * and marks the new geometry as moved. this is the way to move immutable geometries between frames.
+     * @param geometry the geometry to replace
+     * @param replacement the geometry to put instead of it
+     */
+    public void replace(Intersectable geometry, Intersectable replacement) {
+        mapParents();
+        Geometries parent = parents.remove(geometry);
+        if (parent == null) {
+            throw new IllegalArgumentException("the geometry is not in the geometries.");
+        }
+        if (!replaceIn(parent.geometries, geometry, replacement)) {
+            replaceIn(parent.unbounded, geometry, replacement);
+        } else if (compiled != null && !compiled.replace(geometry, replacement)) {
+            // the compiled structure holds the geometries themselves, so it is compiled again on the next refit
+            compiled = null;
+        }
+        parents.put(replacement, parent);
+        if (replacement instanceof Geometries inner) {
+            inner.mapParents(parents);
+        }
+        markMoved(replacement);
+    }
+
+    /**
+     * replaces a geometry in a list with another one in the same place
+     * @param list the list
+     * @param geometry the geometry to replace
+     * @param replacement the geometry to put instead of it
+     * @return true if the geometry was in the list
+     */
+    private static boolean replaceIn(List<Intersectable> list, Intersectable geometry, Intersectable replacement) {
+        ListIterator<Intersectable> iterator = list.listIterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() == geometry) {
+                iterator.set(replacement);
+                return true;
             }
-            boundaryBoxFlag = true;
         }
+        return false;
     }
 
+    /**
+     * updates the boundary boxes after geometries moved. only the boxes of the moved geometries and the boxes
+     * that contain them are calculated again, from the bottom up, so the time it takes depends on the amount of
+     * moved geometries and not on the size of the scene.
+     * if the boxes were never calculated or geometries were added, all of them are calculated.
+     * if a moved geometry became unbounded, or an unbounded one got a box, all of them are calculated as well.
+     * if the total surface area of the boxes grew too much since the hierarchy was built, the hierarchy is
+     * built again the same way, and a compiled acceleration structure is compiled again.
+     * otherwise a compiled acceleration structure is updated in place, and compiled again only if it became
+     * too much worse than a new one.
+     */
+    public void refit() {
+        if (!boundsValid) {
+            calcBoundaryBox();
+            return;
+        }
+        if (moved == null || moved.isEmpty()) {
+            return;
+        }
+        mapParents();
+        // the geometries objects that directly contain the moved geometries
+        Set<Geometries> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Intersectable geometry : moved) {
+            Geometries parent = parents.get(geometry);
+            if (parent == null) {
+                throw new IllegalArgumentException("the geometry is not in the geometries.");
+            }
+            boolean wasBounded = parent.unbounded.stream().noneMatch(item -> item == geometry);
+            geometry.calcBoundaryBox();
+            if (wasBounded != geometry.boundaryBoxFlag) {
+                // the geometry has to move into the hierarchy or out of it, so everything is calculated again
+                moved = null;
+                Supplier<CompiledStructure> compile = compiler;
+                if (rebuild != null) {
+                    rebuild.run();
+                } else {
+                    calcBoundaryBox();
+                }
+                if (compile != null) {
+                    compiled = compile.get();
+                    compiler = compile;
+                }
+                return;
+            }
+            changed.add(parent);
+        }
+        List<Intersectable> movedGeometries = moved;
+        moved = null;
+        for (Geometries node : changed) {
+            // go up until a box doesn't change, since the boxes above it don't change either
+            while (node != null) {
+                double before = finiteArea(node.boundaryBox);
+                boolean grew = node.fitChildren();
+                area += finiteArea(node.boundaryBox) - before;
+                if (!grew) {
+                    break;
+                }
+                node = parents.get(node);
+            }
+        }
+
+        Supplier<CompiledStructure> compile = compiler;
+        if (rebuild != null && area > REBUILD_RATIO * builtArea) {
+            rebuild.run();
+            if (compile != null) {
+                compiled = compile.get();
+                compiler = compile;
+            }
+        } else if (compile != null) {
+            List<Intersectable> primitives = new LinkedList<>();
+            for (Intersectable geometry : movedGeometries) {
+                // unbounded geometries aren't in the compiled structure
+                if (geometry instanceof Geometries || geometry.boundaryBoxFlag) {
+                    collectPrimitives(geometry, primitives);
+                }
+            }
+            if (compiled == null || !compiled.refit(primitives)) {
+                compiled = compile.get();
+            }
+        }
+    }
+
+    /**
+     * calculates the boundary box of the geometries object from the boxes of the geometries in it
+     * @return true if the box changed
+     */
+    private boolean fitChildren() {
+        BoundaryBox box = new BoundaryBox(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+        for (Intersectable geometry : geometries) {
+            box.add(geometry.boundaryBox);
+        }
+        boolean changed = boundaryBox == null;
+        for (int axis = 0; axis < 3 && !changed; axis++) {
+            changed = box.getMin(axis) != boundaryBox.getMin(axis) || box.getMax(axis) != boundaryBox.getMax(axis);
+        }
+        boundaryBox = box;
+        boundaryBoxFlag = unbounded.isEmpty();
+        return changed;
+    }
+
+    /**
+     * saves the parent of every geometry inside the geometries, if it wasn't saved yet
+     */
+    private void mapParents() {
+        if (parents == null) {
+            parents = new IdentityHashMap<>();
+            mapParents(parents);
+        }
+    }
+
+    /**
+     * saves the parent of every geometry inside the geometries object and inside the geometries objects in it
+     * @param parents the map to save the parents in
+     */
+    private void mapParents(Map<Intersectable, Geometries> parents) {
+        for (Intersectable geometry : geometries) {
+            parents.put(geometry, this);
+            if (geometry instanceof Geometries inner) {
+                inner.mapParents(parents);
+            }
+        }
+        for (Intersectable geometry : unbounded) {
+            parents.put(geometry, this);
+            if (geometry instanceof Geometries inner) {
+                inner.mapParents(parents);
+            }
+        }
+    }
+
+    /**
+     * takes apart the inner nodes of a hierarchy that was built before, so it can be built again from
+     * the geometries that were in the list. geometries objects that were added to the list are kept.
+     */
+    private void flattenHierarchy() {
+        List<Intersectable> items = new LinkedList<>();
+        collectItems(items);
+        geometries.clear();
+        unbounded.clear();
+        geometries.addAll(items);
+    }
+
+    /**
+     * adds the geometries in the list to a list, and the geometries inside inner nodes of a built hierarchy
+     * instead of the nodes themselves
+     * @param items the list to add the geometries to
+     */
+    private void collectItems(List<Intersectable> items) {
+        for (Intersectable geometry : geometries) {
+            if (geometry instanceof Geometries inner && inner.hierarchyNode) {
+                inner.collectItems(items);
+            } else {
+                items.add(geometry);
+            }
+        }
+        for (Intersectable geometry : unbounded) {
+            if (geometry instanceof Geometries inner && inner.hierarchyNode) {
+                inner.collectItems(items);
+            } else {
+                items.add(geometry);
+            }
+        }
+    }
+
+    /**
+     * calculates the boundary box of the geometries and of all the geometries inside them
+     * @param parallel whether to calculate the boundary boxes in parallel on the common fork/join pool
+     * @param depth the depth of this geometries object in the hierarchy
+     */
+    private void calcBoundaryBox(boolean parallel, int depth) {
+        // a geometry that was unbounded may have a box now
+        geometries.addAll(unbounded);
+        unbounded.clear();
+        if (geometries.isEmpty()) {
+            return;
+        }
+        // the inner geometries objects are calculated in separate tasks near the top of the hierarchy
+        boolean fork = parallel && depth < PARALLEL_DEPTH;
+        List<ForkJoinTask<?>> tasks = new LinkedList<>();
+        List<Intersectable> primitives = new ArrayList<>(geometries.size());
+        for (Intersectable geometry : geometries) {
+            if (geometry instanceof Geometries inner) {
+                if (fork) {
+                    tasks.add(ForkJoinTask.adapt(() -> inner.calcBoundaryBox(true, depth + 1)));
+                } else {
+                    inner.calcBoundaryBox(false, depth + 1);
+                }
+            } else {
+                primitives.add(geometry);
+            }
+        }
+        if (!tasks.isEmpty()) {
+            ForkJoinTask.invokeAll(tasks);
+        }
+        BVHBuilder.calcBoundaryBoxes(primitives.toArray(new Intersectable[0]), parallel);
+        separateUnbounded();
+        boundaryBox = BVHBuilder.bounds(geometries.toArray(new Intersectable[0]), 0, geometries.size(), parallel);
+        boundaryBoxFlag = unbounded.isEmpty();
+    }
+
+    /**
+     * takes the geometries that don't have a boundary box out of the list into the unbounded geometries,
+     * after the boundary boxes were calculated. a geometries object with unbounded geometries inside it is
+     * unbounded itself.
+     */
+    private void separateUnbounded() {
+        Iterator<Intersectable> iterator = geometries.iterator();
+        while (iterator.hasNext()) {
+            Intersectable geometry = iterator.next();
+            if (!geometry.boundaryBoxFlag || geometry.boundaryBox == null) {
+                iterator.remove();
+                unbounded.add(geometry);
+            }
+        }
+    }
+
+    /**
+     * builds a boundary volume hierarchy from the geometries in the list using the Surface Area Heuristic,
+     * with leaves of up to DEFAULT_LEAF_SIZE geometries
+     */
     public void buildBVH() {
-        calcBoundaryBox();
+        buildBVH(DEFAULT_LEAF_SIZE);
+    }
+
+    /**
+     * builds a boundary volume hierarchy from the geometries in the list using the Surface Area Heuristic,
+     * in parallel on the common fork/join pool
+     * @param leafSize the maximal amount of geometries in a leaf of the hierarchy
+     */
+    public void buildBVH(int leafSize) {
+        buildBVH(leafSize, true);
+    }
+
+    /**
+     * builds a boundary volume hierarchy from the geometries in the list using the Surface Area Heuristic.
+     * in every level the geometries are split into two groups along the axis and in the position that
+     * minimizes the expected cost of intersecting a ray with them.
+     * the parallel build gives exactly the same hierarchy as the sequential one.
+     * @param leafSize the maximal amount of geometries in a leaf of the hierarchy
+     * @param parallel whether to build the hierarchy in parallel on the common fork/join pool
+     */
+    public void buildBVH(int leafSize, boolean parallel) {
+        if (leafSize < 1) {
+            throw new IllegalArgumentException("leaf size must be positive.");
+        }
+        long start = System.currentTimeMillis();
+        flattenHierarchy();
+        calcBoundaryBox(parallel, 0);
+        splitSAH(leafSize, parallel);
+        hierarchyBuilt(() -> buildBVH(leafSize, parallel));
+        buildTime = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * creates an inner node of a hierarchy
+     * @param geometries the geometries in the node
+     * @return the geometries object of the node
+     */
+    private static Geometries hierarchyNode(List<Intersectable> geometries) {
+        Geometries node = new Geometries(geometries);
+        node.hierarchyNode = true;
+        return node;
+    }
+
+    /**
+     * saves that a hierarchy was built, and how to build it again when refitting it makes it too slow
+     * @param rebuild builds the hierarchy again
+     */
+    private void hierarchyBuilt(Runnable rebuild) {
+        boundsUpdated();
+        this.rebuild = rebuild;
+    }
+
+    /**
+     * recursively splits the list of geometries according to the Surface Area Heuristic,
+     * assuming the boundary boxes of the geometries are already calculated
+     * @param leafSize the maximal amount of geometries in a leaf of the hierarchy
+     * @param parallel whether to split the geometries in parallel on the common fork/join pool
+     */
+    private void splitSAH(int leafSize, boolean parallel) {
+        if (geometries.size() <= leafSize) {
+            return;
+        }
+        Intersectable[] items = geometries.toArray(new Intersectable[0]);
+        int mid = BVHBuilder.partitionSAH(items, 0, items.length, parallel);
+        List<Intersectable> all = Arrays.asList(items);
+
+        geometries.clear();
+        Geometries left = hierarchyNode(all.subList(0, mid));
+        Geometries right = hierarchyNode(all.subList(mid, items.length));
+        left.boundaryBox = BVHBuilder.bounds(items, 0, mid, parallel);
+        left.boundaryBoxFlag = true;
+        right.boundaryBox = BVHBuilder.bounds(items, mid, items.length, parallel);
+        right.boundaryBoxFlag = true;
+        if (parallel && items.length >= PARALLEL_SPLIT_SIZE) {
+            // the two halves don't share any geometries, so they can be split at the same time
+            ForkJoinTask.invokeAll(ForkJoinTask.adapt(() -> left.splitSAH(leafSize, true)),
+                    ForkJoinTask.adapt(() -> right.splitSAH(leafSize, true)));
+        } else {
+            left.splitSAH(leafSize, parallel);
+            right.splitSAH(leafSize, parallel);
+        }
+        add(left, right);
+    }
+
+    /**
+     * builds a linear boundary volume hierarchy from the geometries in the list,
+     * with leaves of up to DEFAULT_LEAF_SIZE geometries
+     */
+    public void buildLinearBVH() {
+        buildLinearBVH(DEFAULT_LEAF_SIZE);
+    }
+
+    /**
+     * builds a linear boundary volume hierarchy (LBVH) from the geometries in the list.
+     * the geometries are sorted by the Morton codes of the centers of their boundary boxes,
+     * and the hierarchy is built from the bits of the sorted codes in one pass.
+     * it is much faster to build than buildBVH(), but the hierarchy is a little more expensive to traverse.
+     * @param leafSize the maximal amount of geometries in a leaf of the hierarchy
+     */
+    public void buildLinearBVH(int leafSize) {
+        if (leafSize < 1) {
+            throw new IllegalArgumentException("leaf size must be positive.");
+        }
+        long start = System.currentTimeMillis();
+        flattenHierarchy();
+        calcBoundaryBox(true, 0);
+        Intersectable[] items = geometries.toArray(new Intersectable[0]);
+        if (items.length > leafSize) {
+            int[] codes = BVHBuilder.sortMorton(items);
+            BVHBuilder.LinearNodes nodes = BVHBuilder.linearHierarchy(codes);
+            geometries.clear();
+            add(linearGroup(items, nodes, nodes.left[0], leafSize),
+                    linearGroup(items, nodes, nodes.right[0], leafSize));
+        }
+        hierarchyBuilt(() -> buildLinearBVH(leafSize));
+        buildTime = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * creates the geometries object of a node of a linear boundary volume hierarchy
+     * @param items the geometries sorted by their Morton codes
+     * @param nodes the inner nodes of the hierarchy
+     * @param node the index of the node, or the bitwise complement of the index of a single geometry
+     * @param leafSize the maximal amount of geometries in a leaf of the hierarchy
+     * @return the geometries object of the node, with its boundary box
+     */
+    private static Geometries linearGroup(Intersectable[] items, BVHBuilder.LinearNodes nodes, int node,
+                                          int leafSize) {
+        int first = node < 0 ? ~node : nodes.first[node];
+        int last = node < 0 ? ~node : nodes.last[node];
+        Geometries group;
+        if (last - first < leafSize) {
+            // the geometries of a leaf are next to each other in the sorted order
+            group = hierarchyNode(Arrays.asList(items).subList(first, last + 1));
+            group.boundaryBox = BVHBuilder.bounds(items, first, last + 1, false);
+        } else {
+            Geometries left = linearGroup(items, nodes, nodes.left[node], leafSize);
+            Geometries right = linearGroup(items, nodes, nodes.right[node], leafSize);
+            group = hierarchyNode(List.of(left, right));
+            group.boundaryBox = BoundaryBox.union(left.boundaryBox, right.boundaryBox);
+        }
+        group.boundaryBoxFlag = true;
+        return group;
+    }
+
+    /**
+     * builds a boundary volume hierarchy from the geometries in the list by sorting them along the z-axis
+     * and splitting the list in the middle in every level.
+     * it is cheaper to build than buildBVH(), but creates overlapping boxes in scenes that
+     * are not spread along the z-axis.
+     */
+    public void buildMedianBVH() {
+        long start = System.currentTimeMillis();
+        flattenHierarchy();
+        medianSplit();
+        hierarchyBuilt(this::buildMedianBVH);
+        buildTime = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * recursively splits the list of geometries in the middle after sorting them along the z-axis
+     */
+    private void medianSplit() {
+        calcBoundaryBox(false, 0);
         if (geometries.size() > 2) {
             // Sort objects along the z-axis for splitting
             geometries.sort(Comparator.comparingDouble(a -> a.boundaryBox.getMinZ()));
@@ -109,12 +828,35 @@ public class Geometries extends Intersectable {
             List<Intersectable> rightObjects = List.copyOf(geometries.subList(mid, geometries.size()));
 
             geometries.clear();
-            Geometries right = new Geometries(rightObjects);
-            Geometries left = new Geometries(leftObjects);
-            right.buildBVH();
-            left.buildBVH();
+            Geometries right = hierarchyNode(rightObjects);
+            Geometries left = hierarchyNode(leftObjects);
+            right.medianSplit();
+            left.medianSplit();
             add(right, left);
         }
     }
 
+    /**
+     * estimates the cost of intersecting a ray that passes through the boundary box of the geometries with them,
+     * according to the Surface Area Heuristic - the probability a ray that hits a box also hits a box inside it
+     * is the ratio between their surface areas.
+     * can be used to compare the quality of different hierarchies built from the same scene.
+     * the boundary boxes must already be calculated.
+     * @return the estimated cost of intersecting a ray with the geometries
+     */
+    public double traversalCost() {
+        double area = BVHBuilder.area(boundaryBox);
+        double cost = 0;
+        for (Intersectable geometry : geometries) {
+            // the probability that a ray that passes through this box passes through the geometry's box
+            double probability = area > 0 && !Double.isInfinite(area)
+                    ? Math.min(1, BVHBuilder.area(geometry.boundaryBox) / area)
+                    : 1;
+            cost += BVHBuilder.TRAVERSAL_COST + probability * (geometry instanceof Geometries inner
+                    ? inner.traversalCost()
+                    : BVHBuilder.INTERSECTION_COST);
+        }
+        return cost;
+    }
+
 }
@@ -1,6 +1,8 @@
 package geometries;
 import primitives.Color;
+import primitives.Double3;
 import primitives.Material;
+import primitives.Ray;
 import primitives.Vector;
 import primitives.Point;
 
@@ -58,4 +60,18 @@ public abstract class Geometry extends Intersectable {
      * @return a normal (vertical) vector to the geometry
      */
     public abstract Vector getNormal(Point p1);
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     * an opaque geometry blocks the light at its first intersection, so only its closest intersection is
+     * looked for, without creating a list of all its intersections.
+     */
+    @Override
+    protected Double3 calcTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minTransparency,
+                                             Hit hit) {
+        if (!material.kT.equals(Double3.ZERO)) {
+            return super.calcTransparencyHelper(ray, maxDistance, ktr, minTransparency, hit);
+        }
+        return findClosestHitHelper(ray, hit.reset(maxDistance)) ? Double3.ZERO : ktr;
+    }
+}
@@ -0,0 +1,252 @@
+package geometries;
+
+import primitives.*;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Class Instance is a copy of an intersectable that is placed in the scene by an affine transformation,
+ * without copying its geometries. Many instances can share the same object (usually a Geometries object
+ * with its own boundary volume hierarchy), and a hierarchy built over the instances makes a two-level
+ * acceleration structure.
+ * Rays are transformed into the space of the object instead of transforming the object into the scene,
+ * and the intersections are transformed back.
+ * @author Rachel and Tehila
+ */
+public final class Instance extends Intersectable {
+    /** the lock the shared objects are prepared under, since the instances of an object can be in different scenes */
+    private static final Object OBJECT_LOCK = new Object();
+    /** the shared object, in its own space */
+    private final Intersectable object;
+    /** the transformation from the space of the object to the scene */
+    private Transform toWorld;
+    /** the transformation from the scene to the space of the object */
+    private Transform toObject;
+
+    /**
+     * constructor to initialize an instance of an object
+     * @param object the object, which can be shared by many instances
+     * @param transform the transformation from the space of the object to the scene
+     */
+    public Instance(Intersectable object, Transform transform) {
+        this.object = object;
+        setTransform(transform);
+    }
+
+    /**
+     * getter method for the shared object of the instance
+     * @return the object
+     */
+    public Intersectable getObject() {
+        return object;
+    }
+
+    /**
+     * getter method for the transformation of the instance
+     * @return the transformation from the space of the object to the scene
+     */
+    public Transform getTransform() {
+        return toWorld;
+    }
+
+    /**
+     * setter method for the transformation of the instance. to move an instance that is inside a
+     * boundary volume hierarchy, mark it as moved in the geometries it is in.
+     * @param transform the transformation from the space of the object to the scene
+     * @return the instance itself
+     */
+    public Instance setTransform(Transform transform) {
+        toWorld = transform;
+        toObject = transform.inverse();
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * a shared Geometries object gets its own boundary volume hierarchy, which is built by the first instance
+     * of it, and is refitted by the next ones after geometries were added to it or moved in it. so after the
+     * shared object changed, mark its instances as moved in the geometries they are in.
+     * the boundary box of any other shared object is calculated only once, by the first instance of it.
+     */
+    @Override
+    public void calcBoundaryBox() {
+        synchronized (OBJECT_LOCK) {
+            if (object instanceof Geometries geometries) {
+                if (geometries.hasHierarchy()) {
+                    geometries.refit();
+                } else {
+                    geometries.buildBVH();
+                }
+            } else if (!object.boundaryBoxFlag) {
+                object.calcBoundaryBox();
+            }
+        }
+        boundaryBox = worldBox(object);
+        boundaryBoxFlag = boundaryBox != null;
+    }
+
+    /**
+     * calculates the boundary box in the scene of an intersectable in the space of the object
+     * @param local the intersectable in the space of the object, with its boundary box
+     * @return the boundary box in the scene, or null if the intersectable is unbounded
+     */
+    private BoundaryBox worldBox(Intersectable local) {
+        BoundaryBox box = local.boundaryBox;
+        if (box == null || !local.boundaryBoxFlag) {
+            return null;
+        }
+        double[] min = {box.getMinX(), box.getMinY(), box.getMinZ()};
+        double[] max = {box.getMaxX(), box.getMaxY(), box.getMaxZ()};
+        for (int axis = 0; axis < 3; axis++) {
+            if (!(min[axis] <= max[axis]) || Double.isInfinite(min[axis]) || Double.isInfinite(max[axis])) {
+                // an unbounded object is unbounded in any direction after it is rotated
+                return null;
+            }
+        }
+        double[] bounds = toWorld.transformBox(min, max);
+        return new BoundaryBox(bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]);
+    }
+
+    /**
+     * transforms a ray into the space of the object
+     * @param ray the ray in the scene
+     * @return the ray in the space of the object
+     */
+    private Ray localRay(Ray ray) {
+        return new Ray(toObject.transform(ray.getHead()), toObject.transform(ray.getDirection()));
+    }
+
+    /**
+     * calculates how much the distances along a ray in the scene grow in the space of the object
+     * @param ray the ray in the scene
+     * @return the length in the space of the object of one unit along the ray
+     */
+    private double localScale(Ray ray) {
+        return toObject.transform(ray.getDirection()).length();
+    }
+
+    /**
+     * transforms an intersection in the space of the object back to the scene
+     * @param geoPoint the intersection in the space of the object
+     * @return the intersection in the scene, on a geometry that calculates its normal in the scene
+     */
+    private GeoPoint worldPoint(GeoPoint geoPoint) {
+        return new GeoPoint(new InstanceGeometry(geoPoint.geometry), toWorld.transform(geoPoint.point));
+    }
+
+    /**
+     * finds the intersections of a ray in the scene with an intersectable in the space of the object
+     * @param local the intersectable in the space of the object
+     * @param ray the ray in the scene
+     * @param maxDistance the maximal distance of the intersections in the scene
+     * @return the intersections in the scene, or null if there are none
+     */
+    private List<GeoPoint> findWorldIntersections(Intersectable local, Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = local.findGeoIntersections(localRay(ray), maxDistance * localScale(ray));
+        if (intersections == null) {
+            return null;
+        }
+        List<GeoPoint> result = new LinkedList<>();
+        for (GeoPoint geoPoint : intersections) {
+            result.add(worldPoint(geoPoint));
+        }
+        return result;
+    }
+
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        return findWorldIntersections(object, ray, maxDistance);
+    }
+
+    /**
+     * {@inheritDoc}
+     * the shared object is intersected with a nested hit, since the ray in the space of the object is different,
+     * and the geometry of the intersection in the scene is created only if it is needed.
+     */
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        Vector direction = toObject.transform(ray.getDirection());
+        double scale = direction.length();
+        Hit local = hit.nested(hit.t * scale);
+        return object.findClosestHit(new Ray(toObject.transform(ray.getHead()), direction), local)
+                && hit.set(local.t / scale, this, local);
+    }
+
+    /**
+     * creates the geometry in the scene of an intersection that was found inside the shared object
+     * @param nested the hit of the intersection inside the shared object
+     * @return the geometry of the intersection in the scene
+     */
+    Geometry sceneGeometry(Hit nested) {
+        return new InstanceGeometry(nested.getGeometry());
+    }
+
+    @Override
+    protected Double3 calcTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minTransparency,
+                                             Hit hit) {
+        Vector direction = toObject.transform(ray.getDirection());
+        return object.calcTransparency(new Ray(toObject.transform(ray.getHead()), direction),
+                maxDistance * direction.length(), ktr, minTransparency, hit.nested(Double.POSITIVE_INFINITY));
+    }
+
+    /**
+     * Class InstanceGeometry is a geometry of the shared object as it is placed in the scene by the instance.
+     * it is created for the intersections with the instance that are used, so the normal is calculated in the scene.
+     */
+    private class InstanceGeometry extends Geometry {
+        /** the geometry in the space of the object */
+        private final Geometry geometry;
+
+        /**
+         * constructor to initialize the geometry in the scene with the geometry in the space of the object,
+         * with the same emission and material
+         * @param geometry the geometry in the space of the object
+         */
+        InstanceGeometry(Geometry geometry) {
+            this.geometry = geometry;
+            emission = geometry.getEmission();
+            setMaterial(geometry.getMaterial());
+        }
+
+        @Override
+        public Vector getNormal(Point p1) {
+            return toWorld.transformNormal(geometry.getNormal(toObject.transform(p1))).normalize();
+        }
+
+        @Override
+        public void calcBoundaryBox() {
+            geometry.calcBoundaryBox();
+            boundaryBox = worldBox(geometry);
+            boundaryBoxFlag = boundaryBox != null;
+        }
+
+        @Override
+        protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+            return findWorldIntersections(geometry, ray, maxDistance);
+        }
+
+        /**
+         * the instance of the geometry
+         * @return the instance
+         */
+        private Instance instance() {
+            return Instance.this;
+        }
+
+        // a geometry is created for every intersection with the instance, so the geometries of two
+        // intersections are equal if they are the same geometry of the object in the same instance
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            return (obj instanceof InstanceGeometry other)
+                    && other.instance() == Instance.this
+                    && other.geometry.equals(geometry);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(Instance.this) + geometry.hashCode();
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
+import primitives.Vector;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -69,6 +72,316 @@ public abstract class Intersectable {
         }
     }
 
+    /**
+     * Class Hit is a mutable record of the closest intersection found so far along a ray - its distance along
+     * the ray, the geometry it is on and its point. the geometries fill it in place, so finding the closest
+     * intersection doesn't create a GeoPoint, a point and a list for every intersection that is checked,
+     * and the point is calculated only once, for the intersection that was found.
+     * it also keeps the arrays the hierarchies use while they are traversed, so a hit should be reused for
+     * many rays, but by one thread at a time.
+     */
+    public static final class Hit {
+        /** the distance along the ray to the closest intersection found so far, or the max distance */
+        double t;
+        /** the geometry of the closest intersection, or null if it wasn't created yet or there is none */
+        private Geometry geometry;
+        /** the mesh the closest intersection is on, if its face wasn't created yet */
+        private Mesh mesh;
+        /** the number of the face of the mesh the closest intersection is on */
+        private int face;
+        /** the instance the closest intersection is on, if its geometry in the scene wasn't created yet */
+        private Instance instance;
+        /** the hit of the closest intersection inside the object of the instance */
+        private Hit inner;
+        /** a nested hit for looking for intersections inside a nested object, null until one is needed */
+        private Hit spare;
+        /** the point of the closest intersection, or null if it wasn't calculated yet */
+        private Point point;
+
+        /** the ray the coordinates below belong to */
+        private Ray prepared;
+        /** the x, y and z coordinates of the head of the prepared ray */
+        private final double[] origin = new double[3];
+        /** the x, y and z coordinates of the direction of the prepared ray */
+        private final double[] direction = new double[3];
+        /** the inverse of the x, y and z coordinates of the direction of the prepared ray */
+        private final double[] inverse = new double[3];
+        /** the traversal stacks of nested hierarchies, one for every level of nesting */
+        private int[][] stacks = new int[2][];
+        /** the entry distances of the nodes in the traversal stacks */
+        private double[][] entries = new double[2][];
+        /** the level of nesting of the hierarchy that is traversed */
+        private int depth = 0;
+
+        /**
+         * constructor to initialize a hit with no intersection and no max distance
+         */
+        public Hit() {
+            reset(Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * prepares the hit for looking for the closest intersection along a new ray
+         * @param maxDistance the maximal distance of the intersection
+         * @return the hit object itself
+         */
+        public Hit reset(double maxDistance) {
+            t = maxDistance;
+            geometry = null;
+            mesh = null;
+            instance = null;
+            point = null;
+            return this;
+        }
+
+        /**
+         * checks if an intersection was found
+         * @return true if an intersection was found since the last reset
+         */
+        public boolean found() {
+            return geometry != null || mesh != null || instance != null;
+        }
+
+        /**
+         * getter method for the distance of the closest intersection
+         * @return the distance along the ray to the closest intersection, or the max distance if none was found
+         */
+        public double getT() {
+            return t;
+        }
+
+        /**
+         * getter method for the geometry of the closest intersection
+         * @return the geometry of the closest intersection, or null if none was found
+         */
+        public Geometry getGeometry() {
+            if (mesh != null) {
+                geometry = mesh.face(face);
+                mesh = null;
+            } else if (instance != null) {
+                geometry = instance.sceneGeometry(inner);
+                instance = null;
+            }
+            return geometry;
+        }
+
+        /**
+         * getter method for the point of the closest intersection
+         * @param ray the ray the intersection was found along
+         * @return the point of the closest intersection
+         */
+        public Point getPoint(Ray ray) {
+            if (point == null) {
+                point = ray.getPoint(t);
+            }
+            return point;
+        }
+
+        /**
+         * creates a GeoPoint of the closest intersection
+         * @param ray the ray the intersection was found along
+         * @return the GeoPoint of the closest intersection, or null if none was found
+         */
+        public GeoPoint toGeoPoint(Ray ray) {
+            return found() ? new GeoPoint(getGeometry(), getPoint(ray)) : null;
+        }
+
+        /**
+         * records an intersection as the closest one
+         * @param t the distance along the ray to the intersection
+         * @param geometry the geometry of the intersection
+         * @return true
+         */
+        boolean set(double t, Geometry geometry) {
+            this.t = t;
+            this.geometry = geometry;
+            mesh = null;
+            instance = null;
+            point = null;
+            return true;
+        }
+
+        /**
+         * records an intersection on a face of a mesh as the closest one. the geometry of the face is
+         * created by the mesh only if it is needed.
+         * @param t the distance along the ray to the intersection
+         * @param mesh the mesh
+         * @param face the number of the face of the mesh
+         * @return true
+         */
+        boolean set(double t, Mesh mesh, int face) {
+            this.t = t;
+            this.mesh = mesh;
+            this.face = face;
+            instance = null;
+            geometry = null;
+            point = null;
+            return true;
+        }
+
+        /**
+         * records an intersection inside the object of an instance as the closest one. the nested hit, which
+         * was taken by {@link #nested(double)}, is kept with the intersection, and the geometry of the
+         * intersection in the scene is created from it by the instance only if it is needed.
+         * @param t the distance along the ray to the intersection
+         * @param instance the instance
+         * @param nested the hit of the intersection inside the object of the instance
+         * @return true
+         */
+        boolean set(double t, Instance instance, Hit nested) {
+            this.t = t;
+            this.instance = instance;
+            mesh = null;
+            geometry = null;
+            point = null;
+            // the hit of the previous intersection inside a nested object is the next one to be reused
+            spare = inner;
+            inner = nested;
+            return true;
+        }
+
+        /**
+         * prepares a hit for looking for intersections inside a nested object, along a ray of its own,
+         * without changing the current hit. the nested hit is kept by the current hit and reused.
+         * @param maxDistance the maximal distance of the intersection along the ray of the nested object
+         * @return the nested hit
+         */
+        Hit nested(double maxDistance) {
+            if (spare == null) {
+                spare = new Hit();
+            }
+            return spare.reset(maxDistance);
+        }
+
+        /**
+         * records an intersection that was found as a GeoPoint as the closest one
+         * @param ray the ray the intersection was found along
+         * @param geoPoint the intersection
+         * @return true
+         */
+        boolean set(Ray ray, GeoPoint geoPoint) {
+            set(geoPoint.point.distance(ray.getHead()), geoPoint.geometry);
+            point = geoPoint.point;
+            return true;
+        }
+
+        /**
+         * fills the coordinates of a ray, if they weren't filled for it already
+         * @param ray the ray
+         */
+        private void prepare(Ray ray) {
+            if (ray != prepared) {
+                Point head = ray.getHead();
+                Vector dir = ray.getDirection();
+                origin[0] = head.getX();
+                origin[1] = head.getY();
+                origin[2] = head.getZ();
+                direction[0] = dir.getX();
+                direction[1] = dir.getY();
+                direction[2] = dir.getZ();
+                for (int axis = 0; axis < 3; axis++) {
+                    inverse[axis] = 1 / direction[axis];
+                }
+                prepared = ray;
+            }
+        }
+
+        /**
+         * the coordinates of the head of a ray as an array, which must not be changed
+         * @param ray the ray
+         * @return the x, y and z coordinates of the head of the ray
+         */
+        double[] origin(Ray ray) {
+            prepare(ray);
+            return origin;
+        }
+
+        /**
+         * the coordinates of the direction of a ray as an array, which must not be changed
+         * @param ray the ray
+         * @return the x, y and z coordinates of the direction of the ray
+         */
+        double[] direction(Ray ray) {
+            prepare(ray);
+            return direction;
+        }
+
+        /**
+         * the inverse of the coordinates of the direction of a ray as an array, which must not be changed
+         * @param ray the ray
+         * @return the inverse of the x, y and z coordinates of the direction of the ray
+         */
+        double[] inverse(Ray ray) {
+            prepare(ray);
+            return inverse;
+        }
+
+        /**
+         * starts the traversal of a hierarchy, which may be nested in the traversal of another hierarchy
+         * @return the level of nesting of the traversal, for getting its stack
+         */
+        int enter() {
+            if (depth == stacks.length) {
+                stacks = Arrays.copyOf(stacks, 2 * depth);
+                entries = Arrays.copyOf(entries, 2 * depth);
+            }
+            return depth++;
+        }
+
+        /**
+         * ends the traversal of a hierarchy that was started by {@link #enter()}
+         */
+        void exit() {
+            depth--;
+        }
+
+        /**
+         * the traversal stack of a level of nesting
+         * @param level the level of nesting
+         * @param size the minimal size of the stack
+         * @return the stack
+         */
+        int[] stack(int level, int size) {
+            if (stacks[level] == null || stacks[level].length < size) {
+                stacks[level] = new int[size];
+            }
+            return stacks[level];
+        }
+
+        /**
+         * the entry distances of the nodes in the traversal stack of a level of nesting
+         * @param level the level of nesting
+         * @param size the minimal size of the array
+         * @return the array of the entry distances
+         */
+        double[] entries(int level, int size) {
+            if (entries[level] == null || entries[level].length < size) {
+                entries[level] = new double[size];
+            }
+            return entries[level];
+        }
+
+        /**
+         * doubles the size of the traversal stack of a level of nesting, and keeps its content
+         * @param level the level of nesting
+         * @return the new stack
+         */
+        int[] growStack(int level) {
+            stacks[level] = Arrays.copyOf(stacks[level], 2 * stacks[level].length);
+            return stacks[level];
+        }
+
+        /**
+         * doubles the size of the entry distances of a level of nesting, and keeps their content
+         * @param level the level of nesting
+         * @return the new array of the entry distances
+         */
+        double[] growEntries(int level) {
+            entries[level] = Arrays.copyOf(entries[level], 2 * entries[level].length);
+            return entries[level];
+        }
+    }
+
     /**
      * A method that receives a ray and return a list of intersection points between the ray and the current geometry.
      * @param ray a ray that is thrown to the geometry.
@@ -114,5 +427,124 @@ public abstract class Intersectable {
         return null;
     }
 
+    /**
+     * A method that receives a ray and returns the closest intersection GeoPoint between the ray and the
+     * current geometry to the head of the ray.
+     * @param ray a ray that is thrown to the geometry.
+     * @return the closest intersection GeoPoint, or null if there are no intersections.
+     */
+    public GeoPoint findClosestGeoIntersection(Ray ray) {
+        return findClosestGeoIntersection(ray, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * A method that receives a ray and returns the closest intersection GeoPoint between the ray and the
+     * current geometry to the head of the ray, if it is closer than the maxDistance given.
+     * @param ray a ray that is thrown to the geometry.
+     * @param maxDistance the maximum distance from the head of the ray to the intersection point returned.
+     * @return the closest intersection GeoPoint that is closer to the head than the max distance,
+     * or null if there is none.
+     */
+    public final GeoPoint findClosestGeoIntersection(Ray ray, double maxDistance) {
+        Hit hit = new Hit().reset(maxDistance);
+        return findClosestHit(ray, hit) ? hit.toGeoPoint(ray) : null;
+    }
+
+    /**
+     * A method that receives a ray and a hit with the closest intersection found so far, and replaces it
+     * with the closest intersection between the ray and the current geometry, if it is not farther.
+     * @param ray a ray that is thrown to the geometry.
+     * @param hit the closest intersection found so far, or the max distance if none was found.
+     * @return true if the hit was replaced by an intersection with the current geometry.
+     */
+    public final boolean findClosestHit(Ray ray, Hit hit) {
+        if (boundaryBoxFlag && !boundaryBox.doesIntersect(ray)) {
+            return false;
+        }
+        return findClosestHitHelper(ray, hit);
+    }
+
+    /**
+     * Helper method for findClosestHit.
+     * geometries that can calculate their closest intersection directly should override it,
+     * to avoid creating a list of all the intersections.
+     * @param ray a ray that is thrown to the geometry.
+     * @param hit the closest intersection found so far, or the max distance if none was found.
+     * @return true if the hit was replaced by an intersection with the current geometry.
+     */
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray, hit.t);
+        return intersections != null && hit.set(ray, ray.findClosestGeoPoint(intersections));
+    }
+
+    /**
+     * A method that receives a ray and calculates how much light passes along it through the current geometry,
+     * up to maxDistance from the head of the ray - the product of the transparency of all the intersection points.
+     * it stops looking for intersections as soon as the transparency drops below minTransparency,
+     * so for opaque geometries it stops after the first intersection.
+     * @param ray a ray that is thrown to the geometry.
+     * @param maxDistance the maximum distance from the head of the ray to the intersection points checked.
+     * @param minTransparency the transparency under which the light is considered blocked.
+     * @return the transparency of the geometry along the ray.
+     */
+    public Double3 calcTransparency(Ray ray, double maxDistance, double minTransparency) {
+        return calcTransparency(ray, maxDistance, Double3.ONE, minTransparency);
+    }
+
+    /**
+     * A method that receives a ray and the transparency found so far along it, and multiplies it by the
+     * transparency of the current geometry up to maxDistance from the head of the ray.
+     * @param ray a ray that is thrown to the geometry.
+     * @param maxDistance the maximum distance from the head of the ray to the intersection points checked.
+     * @param ktr the transparency found so far along the ray.
+     * @param minTransparency the transparency under which the light is considered blocked.
+     * @return the transparency along the ray including the current geometry.
+     */
+    public final Double3 calcTransparency(Ray ray, double maxDistance, Double3 ktr, double minTransparency) {
+        return calcTransparency(ray, maxDistance, ktr, minTransparency, new Hit());
+    }
+
+    /**
+     * A method that receives a ray and the transparency found so far along it, and multiplies it by the
+     * transparency of the current geometry up to maxDistance from the head of the ray, using a hit that is
+     * reused for many rays instead of creating a new one.
+     * @param ray a ray that is thrown to the geometry.
+     * @param maxDistance the maximum distance from the head of the ray to the intersection points checked.
+     * @param ktr the transparency found so far along the ray.
+     * @param minTransparency the transparency under which the light is considered blocked.
+     * @param hit a hit for the intersections that are found, whose intersection is replaced.
+     * @return the transparency along the ray including the current geometry.
+     */
+    public final Double3 calcTransparency(Ray ray, double maxDistance, Double3 ktr, double minTransparency, Hit hit) {
+        if (ktr.lowerThan(minTransparency) || (boundaryBoxFlag && !boundaryBox.doesIntersect(ray))) {
+            return ktr;
+        }
+        return calcTransparencyHelper(ray, maxDistance, ktr, minTransparency, hit);
+    }
+
+    /**
+     * Helper method for calcTransparency.
+     * @param ray a ray that is thrown to the geometry.
+     * @param maxDistance the maximum distance from the head of the ray to the intersection points checked.
+     * @param ktr the transparency found so far along the ray.
+     * @param minTransparency the transparency under which the light is considered blocked.
+     * @param hit a hit for the intersections that are found, whose intersection is replaced.
+     * @return the transparency along the ray including the current geometry.
+     */
+    protected Double3 calcTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minTransparency,
+                                             Hit hit) {
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray, maxDistance);
+        if (intersections == null) {
+            return ktr;
+        }
+        for (GeoPoint geoPoint : intersections) {
+            ktr = ktr.product(geoPoint.geometry.getMaterial().kT);
+            if (ktr.lowerThan(minTransparency)) {
+                break;
+            }
+        }
+        return ktr;
+    }
+
     public abstract void calcBoundaryBox();
 }
@@ -0,0 +1,691 @@
+package geometries;
+
+import primitives.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static primitives.Util.alignZero;
+
+/**
+ * Class Mesh is a triangle mesh that keeps its vertices in one array of coordinates and its faces in
+ * an array of vertex indices, instead of a Triangle object (with its points, plane and boundary box) for
+ * every face. The faces are kept in a boundary volume hierarchy of their own, which is also made of arrays,
+ * so the whole mesh is a single intersectable in the hierarchy of the scene.
+ * Every face can have its own emission and material, chosen from a list of materials of the mesh.
+ * Unlike Triangle, the edges of the faces are part of them, so there are no gaps between neighbouring faces.
+ * @author Rachel and Tehila
+ */
+public final class Mesh extends Intersectable {
+    /** the maximal amount of faces in a leaf of the hierarchy of the faces */
+    private static final int LEAF_SIZE = 4;
+    /** the initial size of the traversal stack */
+    private static final int STACK_SIZE = 64;
+
+    /** the x, y and z coordinates of all the vertices, one vertex after the other */
+    private final double[] vertices;
+    /** the indices of the three vertices of every face, one face after the other */
+    private final int[] indices;
+    /** the emission colors the faces can have */
+    private Color[] emissions = {Color.BLACK};
+    /** the materials the faces can have */
+    private Material[] materials = {new Material()};
+    /** the index of the emission and material of every face, or null if all the faces have the first ones */
+    private int[] faceMaterials = null;
+
+    /** the numbers of the faces, ordered by the leaves of the hierarchy they are in */
+    private final int[] faces;
+    /** the boundary boxes of the nodes of the hierarchy - minX, minY, minZ, maxX, maxY, maxZ for every node */
+    private double[] bounds;
+    /** for an inner node - the index of its second child, for a leaf - the index of its first face in faces */
+    private int[] offsets;
+    /** for an inner node - 0, for a leaf - the amount of faces in it */
+    private int[] counts;
+    /** the amount of nodes in the hierarchy */
+    private int size = 0;
+    /** for every thread - a hit whose arrays are used for finding all the intersections of a ray */
+    private final ThreadLocal<Hit> scratch = ThreadLocal.withInitial(Hit::new);
+
+    /**
+     * constructor to initialize a mesh with its vertices and faces, and build the hierarchy of its faces
+     * @param vertices the x, y and z coordinates of all the vertices, one vertex after the other
+     * @param indices the indices of the three vertices of every face, one face after the other
+     * @throws IllegalArgumentException if the coordinates or indices can't be split into vertices and faces,
+     *                                  or a face uses a vertex that doesn't exist
+     */
+    public Mesh(double[] vertices, int[] indices) {
+        if (vertices.length % 3 != 0) {
+            throw new IllegalArgumentException("every vertex must have three coordinates.");
+        }
+        if (indices.length % 3 != 0) {
+            throw new IllegalArgumentException("every face must have three vertices.");
+        }
+        for (int index : indices) {
+            if (index < 0 || index >= vertices.length / 3) {
+                throw new IllegalArgumentException("a face uses a vertex that doesn't exist.");
+            }
+        }
+        this.vertices = vertices;
+        this.indices = indices;
+
+        // the hierarchy is built over the numbers of the faces, with their boxes taken straight from the vertices
+        faces = new int[faceCount()];
+        for (int face = 0; face < faces.length; face++) {
+            faces[face] = face;
+        }
+        int capacity = Math.max(1, faces.length / LEAF_SIZE * 2);
+        bounds = new double[6 * capacity];
+        offsets = new int[capacity];
+        counts = new int[capacity];
+        if (faces.length > 0) {
+            build(0, faces.length);
+        }
+        // drop the space of the nodes that weren't needed
+        bounds = Arrays.copyOf(bounds, 6 * size);
+        offsets = Arrays.copyOf(offsets, size);
+        counts = Arrays.copyOf(counts, size);
+        calcBoundaryBox();
+    }
+
+    /**
+     * constructor to initialize a mesh with a hierarchy of its faces that was already built
+     * @param vertices the x, y and z coordinates of all the vertices
+     * @param indices the indices of the three vertices of every face
+     * @param faces the numbers of the faces, ordered by the leaves of the hierarchy
+     * @param bounds the boundary boxes of the nodes of the hierarchy
+     * @param offsets the offsets of the nodes of the hierarchy
+     * @param counts the amounts of faces in the nodes of the hierarchy
+     */
+    private Mesh(double[] vertices, int[] indices, int[] faces, double[] bounds, int[] offsets, int[] counts) {
+        this.vertices = vertices;
+        this.indices = indices;
+        this.faces = faces;
+        this.bounds = bounds;
+        this.offsets = offsets;
+        this.counts = counts;
+        size = offsets.length;
+        calcBoundaryBox();
+    }
+
+    /**
+     * writes the boundary box of a face into an array
+     * @param face the number of the face
+     * @param box the array to write the minimal x, y and z, followed by the maximal x, y and z, into
+     */
+    private void faceBox(int face, double[] box) {
+        int a = 3 * indices[3 * face];
+        int b = 3 * indices[3 * face + 1];
+        int c = 3 * indices[3 * face + 2];
+        for (int axis = 0; axis < 3; axis++) {
+            box[axis] = Math.min(vertices[a + axis], Math.min(vertices[b + axis], vertices[c + axis]));
+            box[3 + axis] = Math.max(vertices[a + axis], Math.max(vertices[b + axis], vertices[c + axis]));
+        }
+    }
+
+    /**
+     * recursively builds the nodes of the faces in a range of the faces array
+     * @param start the index of the first face in the range
+     * @param end the index after the last face in the range
+     */
+    private void build(int start, int end) {
+        int node = size++;
+        if (node == offsets.length) { // the leaves are smaller than LEAF_SIZE, so more nodes are needed
+            bounds = Arrays.copyOf(bounds, 2 * bounds.length);
+            offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+            counts = Arrays.copyOf(counts, 2 * counts.length);
+        }
+        double[] box = new double[6];
+        for (int axis = 0; axis < 3; axis++) {
+            bounds[6 * node + axis] = Double.POSITIVE_INFINITY;
+            bounds[6 * node + 3 + axis] = Double.NEGATIVE_INFINITY;
+        }
+        for (int i = start; i < end; i++) {
+            faceBox(faces[i], box);
+            for (int axis = 0; axis < 3; axis++) {
+                bounds[6 * node + axis] = Math.min(bounds[6 * node + axis], box[axis]);
+                bounds[6 * node + 3 + axis] = Math.max(bounds[6 * node + 3 + axis], box[3 + axis]);
+            }
+        }
+        if (end - start <= LEAF_SIZE) {
+            offsets[node] = start;
+            counts[node] = end - start;
+            return;
+        }
+        int mid = BVHBuilder.partitionSAH(this::faceBox, faces, start, end, true);
+        build(start, mid); // the first child is the next node
+        offsets[node] = size;
+        build(mid, end);
+    }
+
+    /**
+     * return the amount of faces in the mesh
+     * @return the amount of faces
+     */
+    public int faceCount() {
+        return indices.length / 3;
+    }
+
+    /**
+     * return the amount of vertices in the mesh
+     * @return the amount of vertices
+     */
+    public int vertexCount() {
+        return vertices.length / 3;
+    }
+
+    /**
+     * setter method for the emission color of all the faces of the mesh
+     * @param emission the emission color
+     * @return the mesh object itself
+     */
+    public Mesh setEmission(Color emission) {
+        emissions = new Color[]{emission};
+        materials = new Material[]{materials[0]};
+        faceMaterials = null;
+        return this;
+    }
+
+    /**
+     * setter method for the material of all the faces of the mesh
+     * @param material the material
+     * @return the mesh object itself
+     */
+    public Mesh setMaterial(Material material) {
+        materials = new Material[]{material};
+        emissions = new Color[]{emissions[0]};
+        faceMaterials = null;
+        return this;
+    }
+
+    /**
+     * setter method for a different emission color and material for every face of the mesh
+     * @param faceMaterials the index of the emission color and material of every face
+     * @param emissions the emission colors the faces can have
+     * @param materials the materials the faces can have, in the same order as the emission colors
+     * @return the mesh object itself
+     * @throws IllegalArgumentException if there isn't an index for every face, the emission colors and
+     *                                  materials don't match or a face uses an index that doesn't exist
+     */
+    public Mesh setFaceMaterials(int[] faceMaterials, Color[] emissions, Material[] materials) {
+        if (faceMaterials.length != faceCount()) {
+            throw new IllegalArgumentException("every face must have a material.");
+        }
+        if (emissions.length != materials.length) {
+            throw new IllegalArgumentException("every material must have an emission color.");
+        }
+        for (int index : faceMaterials) {
+            if (index < 0 || index >= materials.length) {
+                throw new IllegalArgumentException("a face uses a material that doesn't exist.");
+            }
+        }
+        this.faceMaterials = faceMaterials;
+        this.emissions = emissions;
+        this.materials = materials;
+        return this;
+    }
+
+    /**
+     * the index of the emission color and material of a face
+     * @param face the number of the face
+     * @return the index of the emission color and material
+     */
+    private int materialIndex(int face) {
+        return faceMaterials == null ? 0 : faceMaterials[face];
+    }
+
+    /**
+     * the size of the mesh when it is written by {@link #write(ByteBuffer)}
+     * @return the size in bytes
+     */
+    public long byteSize() {
+        return (long) Double.BYTES * (vertices.length + bounds.length + 15L * materials.length)
+                + (long) Integer.BYTES * (5 + indices.length + faces.length + offsets.length + counts.length
+                + materials.length + (faceMaterials == null ? 0 : faceMaterials.length));
+    }
+
+    /**
+     * writes the mesh, with its materials and the hierarchy of its faces, into a buffer, so it can be read
+     * by {@link #read(ByteBuffer)} without building the hierarchy again
+     * @param buffer the buffer, with at least {@link #byteSize()} bytes remaining
+     */
+    public void write(ByteBuffer buffer) {
+        buffer.putInt(vertices.length).putInt(indices.length).putInt(size).putInt(materials.length)
+                .putInt(faceMaterials == null ? 0 : 1);
+        putDoubles(buffer, vertices);
+        putDoubles(buffer, bounds);
+        for (int i = 0; i < materials.length; i++) {
+            Double3[] values = {emissions[i].getRgb(), materials[i].kD, materials[i].kS, materials[i].kT,
+                    materials[i].kR};
+            for (Double3 value : values) {
+                buffer.putDouble(value.getD1()).putDouble(value.getD2()).putDouble(value.getD3());
+            }
+        }
+        putInts(buffer, indices);
+        putInts(buffer, faces);
+        putInts(buffer, offsets);
+        putInts(buffer, counts);
+        for (Material material : materials) {
+            buffer.putInt(material.nShininess);
+        }
+        if (faceMaterials != null) {
+            putInts(buffer, faceMaterials);
+        }
+    }
+
+    /**
+     * reads a mesh that was written by {@link #write(ByteBuffer)}
+     * @param buffer the buffer, at the position the mesh was written at
+     * @return the mesh
+     * @throws IllegalArgumentException if the buffer doesn't contain a valid mesh
+     */
+    public static Mesh read(ByteBuffer buffer) {
+        if (buffer.remaining() < 5 * Integer.BYTES) {
+            throw new IllegalArgumentException("the mesh data is incomplete.");
+        }
+        int vertexLength = buffer.getInt();
+        int indexLength = buffer.getInt();
+        int nodes = buffer.getInt();
+        int materialCount = buffer.getInt();
+        boolean hasFaceMaterials = buffer.getInt() != 0;
+        if (vertexLength < 0 || vertexLength % 3 != 0 || indexLength < 0 || indexLength % 3 != 0 || nodes < 0
+                || materialCount < 1) {
+            throw new IllegalArgumentException("the mesh data is invalid.");
+        }
+        int faceCount = indexLength / 3;
+        long expected = (long) Double.BYTES * (vertexLength + 6L * nodes + 15L * materialCount)
+                + (long) Integer.BYTES * (indexLength + faceCount + 2L * nodes + materialCount
+                + (hasFaceMaterials ? faceCount : 0));
+        if (buffer.remaining() < expected) {
+            throw new IllegalArgumentException("the mesh data is incomplete.");
+        }
+
+        double[] vertices = getDoubles(buffer, vertexLength);
+        double[] bounds = getDoubles(buffer, 6 * nodes);
+        Color[] emissions = new Color[materialCount];
+        Material[] materials = new Material[materialCount];
+        for (int i = 0; i < materialCount; i++) {
+            emissions[i] = new Color(buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+            materials[i] = new Material()
+                    .setKd(new Double3(buffer.getDouble(), buffer.getDouble(), buffer.getDouble()))
+                    .setKs(new Double3(buffer.getDouble(), buffer.getDouble(), buffer.getDouble()))
+                    .setKt(new Double3(buffer.getDouble(), buffer.getDouble(), buffer.getDouble()))
+                    .setKr(new Double3(buffer.getDouble(), buffer.getDouble(), buffer.getDouble()));
+        }
+        int[] indices = getInts(buffer, indexLength);
+        int[] faces = getInts(buffer, faceCount);
+        int[] offsets = getInts(buffer, nodes);
+        int[] counts = getInts(buffer, nodes);
+        for (Material material : materials) {
+            material.setShininess(buffer.getInt());
+        }
+        int[] faceMaterials = hasFaceMaterials ? getInts(buffer, faceCount) : null;
+
+        // a damaged mesh would fail while rays are traced, so it is rejected here
+        for (int index : indices) {
+            if (index < 0 || index >= vertexLength / 3) {
+                throw new IllegalArgumentException("the mesh data is invalid.");
+            }
+        }
+        for (int face : faces) {
+            if (face < 0 || face >= faceCount) {
+                throw new IllegalArgumentException("the mesh data is invalid.");
+            }
+        }
+        for (int node = 0; node < nodes; node++) {
+            if (counts[node] == 0 ? offsets[node] <= node || offsets[node] >= nodes
+                    : counts[node] < 0 || offsets[node] < 0 || offsets[node] > faceCount - counts[node]) {
+                throw new IllegalArgumentException("the mesh data is invalid.");
+            }
+        }
+        if (faceMaterials != null) {
+            for (int index : faceMaterials) {
+                if (index < 0 || index >= materialCount) {
+                    throw new IllegalArgumentException("the mesh data is invalid.");
+                }
+            }
+        }
+
+        Mesh mesh = new Mesh(vertices, indices, faces, bounds, offsets, counts);
+        mesh.emissions = emissions;
+        mesh.materials = materials;
+        mesh.faceMaterials = faceMaterials;
+        return mesh;
+    }
+
+    /**
+     * writes an array of numbers into a buffer, in a single copy
+     * @param buffer the buffer
+     * @param values the numbers
+     */
+    private static void putDoubles(ByteBuffer buffer, double[] values) {
+        buffer.asDoubleBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Double.BYTES);
+    }
+
+    /**
+     * writes an array of integers into a buffer, in a single copy
+     * @param buffer the buffer
+     * @param values the integers
+     */
+    private static void putInts(ByteBuffer buffer, int[] values) {
+        buffer.asIntBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Integer.BYTES);
+    }
+
+    /**
+     * reads an array of numbers from a buffer, in a single copy
+     * @param buffer the buffer
+     * @param length the amount of numbers
+     * @return the numbers
+     */
+    private static double[] getDoubles(ByteBuffer buffer, int length) {
+        double[] values = new double[length];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + length * Double.BYTES);
+        return values;
+    }
+
+    /**
+     * reads an array of integers from a buffer, in a single copy
+     * @param buffer the buffer
+     * @param length the amount of integers
+     * @return the integers
+     */
+    private static int[] getInts(ByteBuffer buffer, int length) {
+        int[] values = new int[length];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + length * Integer.BYTES);
+        return values;
+    }
+
+    @Override
+    public void calcBoundaryBox() {
+        if (size > 0) {
+            boundaryBox = new BoundaryBox(bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]);
+            boundaryBoxFlag = true;
+        }
+    }
+
+    /**
+     * calculates the distance along a ray to its intersection with a face, using the Möller–Trumbore algorithm
+     * @param face the number of the face
+     * @param origin the x, y and z coordinates of the head of the ray
+     * @param direction the x, y and z coordinates of the direction of the ray
+     * @return the distance to the intersection, or NaN if the ray doesn't intersect the face
+     */
+    private double intersect(int face, double[] origin, double[] direction) {
+        int a = 3 * indices[3 * face];
+        int b = 3 * indices[3 * face + 1];
+        int c = 3 * indices[3 * face + 2];
+        double e1x = vertices[b] - vertices[a], e1y = vertices[b + 1] - vertices[a + 1];
+        double e1z = vertices[b + 2] - vertices[a + 2];
+        double e2x = vertices[c] - vertices[a], e2y = vertices[c + 1] - vertices[a + 1];
+        double e2z = vertices[c + 2] - vertices[a + 2];
+
+        // p = direction x e2
+        double px = direction[1] * e2z - direction[2] * e2y;
+        double py = direction[2] * e2x - direction[0] * e2z;
+        double pz = direction[0] * e2y - direction[1] * e2x;
+        double determinant = alignZero(e1x * px + e1y * py + e1z * pz);
+        if (determinant == 0) { // the ray is parallel to the face
+            return Double.NaN;
+        }
+        double inverse = 1 / determinant;
+        double sx = origin[0] - vertices[a], sy = origin[1] - vertices[a + 1], sz = origin[2] - vertices[a + 2];
+        double u = (sx * px + sy * py + sz * pz) * inverse;
+        if (u < 0 || u > 1) {
+            return Double.NaN;
+        }
+        // q = s x e1
+        double qx = sy * e1z - sz * e1y;
+        double qy = sz * e1x - sx * e1z;
+        double qz = sx * e1y - sy * e1x;
+        double v = (direction[0] * qx + direction[1] * qy + direction[2] * qz) * inverse;
+        if (v < 0 || u + v > 1) {
+            return Double.NaN;
+        }
+        double t = alignZero((e2x * qx + e2y * qy + e2z * qz) * inverse);
+        return t > 0 ? t : Double.NaN;
+    }
+
+    /**
+     * a visitor of the faces the hierarchy finds along a ray
+     */
+    private interface FaceVisitor {
+        /**
+         * checks the intersection of the ray with a face
+         * @param face the number of the face
+         * @param t the distance to the intersection
+         * @return true if the traversal should stop
+         */
+        boolean visit(int face, double t);
+    }
+
+    /**
+     * goes through the nodes of the hierarchy the ray passes through, and visits every face the ray intersects
+     * closer than the max distance
+     * @param ray the ray
+     * @param maxDistance the maximal distance of the intersections
+     * @param hit a hit whose arrays are used for the traversal
+     * @param visitor the visitor of the intersected faces
+     */
+    private void traverse(Ray ray, double maxDistance, Hit hit, FaceVisitor visitor) {
+        if (size == 0) {
+            return;
+        }
+        double[] origin = hit.origin(ray);
+        double[] direction = hit.direction(ray);
+        double[] inverse = hit.inverse(ray);
+        int level = hit.enter();
+        int[] stack = hit.stack(level, STACK_SIZE);
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (BVHBuilder.entryDistance(bounds, node, origin, inverse, maxDistance) == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            if (counts[node] == 0) {
+                if (top + 2 > stack.length) {
+                    stack = hit.growStack(level);
+                }
+                stack[top++] = offsets[node];
+                stack[top++] = node + 1;
+                continue;
+            }
+            for (int i = offsets[node]; i < offsets[node] + counts[node]; i++) {
+                double t = intersect(faces[i], origin, direction);
+                if (alignZero(t - maxDistance) <= 0 && visitor.visit(faces[i], t)) {
+                    hit.exit();
+                    return;
+                }
+            }
+        }
+        hit.exit();
+    }
+
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = new LinkedList<>();
+        traverse(ray, maxDistance, scratch.get(), (face, t) -> {
+            intersections.add(new GeoPoint(new Face(face), ray.getPoint(t)));
+            return false;
+        });
+        return intersections.isEmpty() ? null : intersections;
+    }
+
+    /**
+     * {@inheritDoc}
+     * the children of every node are visited from the nearest to the farthest, and nodes that the ray enters
+     * after the closest intersection found so far are skipped.
+     * the hit records the number of the face, and the geometry of the face is created only if it is needed.
+     */
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        if (size == 0) {
+            return false;
+        }
+        double[] origin = hit.origin(ray);
+        double[] direction = hit.direction(ray);
+        double[] inverse = hit.inverse(ray);
+        int closestFace = -1;
+        double closestDistance = hit.t;
+
+        double entry = BVHBuilder.entryDistance(bounds, 0, origin, inverse, closestDistance);
+        if (entry == Double.POSITIVE_INFINITY) {
+            return false;
+        }
+        int level = hit.enter();
+        int[] stack = hit.stack(level, STACK_SIZE);
+        double[] entries = hit.entries(level, stack.length);
+        int top = 0;
+        stack[top] = 0;
+        entries[top++] = entry;
+        while (top > 0) {
+            int node = stack[--top];
+            if (entries[top] > closestDistance) { // the closest intersection is before this node
+                continue;
+            }
+            if (counts[node] == 0) {
+                int first = node + 1;
+                int second = offsets[node];
+                double firstEntry = BVHBuilder.entryDistance(bounds, first, origin, inverse, closestDistance);
+                double secondEntry = BVHBuilder.entryDistance(bounds, second, origin, inverse, closestDistance);
+                if (top + 2 > stack.length) {
+                    stack = hit.growStack(level);
+                    entries = hit.growEntries(level);
+                }
+                // push the farther child first, so the nearer one is visited first
+                if (firstEntry > secondEntry) {
+                    int temp = first;
+                    first = second;
+                    second = temp;
+                    double tempEntry = firstEntry;
+                    firstEntry = secondEntry;
+                    secondEntry = tempEntry;
+                }
+                if (secondEntry != Double.POSITIVE_INFINITY) {
+                    stack[top] = second;
+                    entries[top++] = secondEntry;
+                }
+                if (firstEntry != Double.POSITIVE_INFINITY) {
+                    stack[top] = first;
+                    entries[top++] = firstEntry;
+                }
+                continue;
+            }
+            for (int i = offsets[node]; i < offsets[node] + counts[node]; i++) {
+                double t = intersect(faces[i], origin, direction);
+                if (alignZero(t - closestDistance) <= 0) {
+                    closestFace = faces[i];
+                    closestDistance = t;
+                }
+            }
+        }
+        hit.exit();
+        return closestFace != -1 && hit.set(closestDistance, this, closestFace);
+    }
+
+    /**
+     * creates the geometry of a face of the mesh, for an intersection that was recorded by its number
+     * @param index the number of the face
+     * @return the face
+     */
+    Geometry face(int index) {
+        return new Face(index);
+    }
+
+    @Override
+    protected Double3 calcTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minTransparency,
+                                             Hit hit) {
+        Double3[] transparency = {ktr};
+        traverse(ray, maxDistance, hit, (face, t) -> {
+            transparency[0] = transparency[0].product(materials[materialIndex(face)].kT);
+            return transparency[0].lowerThan(minTransparency);
+        });
+        return transparency[0];
+    }
+
+    /**
+     * the coordinates of a point as an array
+     * @param point the point
+     * @return the x, y and z coordinates of the point
+     */
+    private static double[] coordinates(Point point) {
+        return new double[]{point.getX(), point.getY(), point.getZ()};
+    }
+
+    /**
+     * Class Face is a single face of the mesh as a geometry. it is created only for an intersection with the mesh,
+     * with the emission and material of the face.
+     */
+    private class Face extends Geometry {
+        /** the number of the face */
+        private final int face;
+
+        /**
+         * constructor to initialize a face of the mesh with its emission and material
+         * @param face the number of the face
+         */
+        Face(int face) {
+            this.face = face;
+            emission = emissions[materialIndex(face)];
+            setMaterial(materials[materialIndex(face)]);
+        }
+
+        /**
+         * the point of one of the vertices of the face
+         * @param vertex the index of the vertex in the face (0, 1 or 2)
+         * @return the point of the vertex
+         */
+        private Point vertex(int vertex) {
+            int index = 3 * indices[3 * face + vertex];
+            return new Point(vertices[index], vertices[index + 1], vertices[index + 2]);
+        }
+
+        @Override
+        public Vector getNormal(Point p1) {
+            Point a = vertex(0);
+            return vertex(1).subtract(a).crossProduct(vertex(2).subtract(a)).normalize();
+        }
+
+        @Override
+        public void calcBoundaryBox() {
+            double[] box = new double[6];
+            faceBox(face, box);
+            boundaryBox = new BoundaryBox(box[0], box[1], box[2], box[3], box[4], box[5]);
+            boundaryBoxFlag = true;
+        }
+
+        @Override
+        protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+            double t = intersect(face, coordinates(ray.getHead()), coordinates(ray.getDirection()));
+            return alignZero(t - maxDistance) <= 0 ? List.of(new GeoPoint(this, ray.getPoint(t))) : null;
+        }
+
+        /**
+         * the mesh of the face
+         * @return the mesh
+         */
+        private Mesh mesh() {
+            return Mesh.this;
+        }
+
+        // a face is created for every intersection with it, so the faces of two intersections are equal if
+        // they are the same face of the same mesh
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            return (obj instanceof Face other)
+                    && other.mesh() == Mesh.this
+                    && other.face == face;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(Mesh.this) + face;
+        }
+    }
+}
@@ -6,7 +6,6 @@ import primitives.Ray;
 import primitives.Vector;
 
 import java.util.List;
-import java.util.MissingResourceException;
 
 import static primitives.Util.alignZero;
 
@@ -57,31 +56,47 @@ public class Plane extends Geometry {
         return normal;
     }
 
-    @Override
-    public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+    /**
+     * calculates the distance along a ray to its intersection with the plane, without creating any objects
+     * @param ray the ray
+     * @param maxDistance the maximal distance of the intersection
+     * @return the distance t along the ray to the intersection, or NaN if there is no intersection closer
+     * than the max distance
+     */
+    private double intersect(Ray ray, double maxDistance) {
         Vector direction = ray.getDirection();
         Point head = ray.getHead();
         double dotProduct = alignZero(direction.dotProduct(normal));
         if (dotProduct == 0) {
-            return null;
+            return Double.NaN;
         }
         if (q.equals(head)) {
-            return null;
-        }
-        double t = alignZero(normal.dotProduct(q.subtract(head)) / dotProduct);
-        if (alignZero(t - maxDistance) > 0 || t <= 0) {
-            return null;
-        } else {
-            return List.of(new GeoPoint(this, ray.getPoint(t)));
+            return Double.NaN;
         }
+        // normal * (q - head), calculated without creating a vector
+        double t = alignZero((normal.getX() * (q.getX() - head.getX()) + normal.getY() * (q.getY() - head.getY())
+                + normal.getZ() * (q.getZ() - head.getZ())) / dotProduct);
+        return t > 0 && alignZero(t - maxDistance) <= 0 ? t : Double.NaN;
+    }
+
+    @Override
+    public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        double t = intersect(ray, maxDistance);
+        return Double.isNaN(t) ? null : List.of(new GeoPoint(this, ray.getPoint(t)));
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        double t = intersect(ray, hit.t);
+        return !Double.isNaN(t) && hit.set(t, this);
     }
 
     @Override
     public void calcBoundaryBox() {
         if (boundaryBox == null) {
-            throw new MissingResourceException("default boundary box for plane not provided.",
-                    "Plane",
-                    "boundaryBox");
+            // the plane is infinite, so without a box it is kept out of the hierarchy and tested directly
+            boundaryBoxFlag = false;
+            return;
         }
         boundaryBoxFlag = true;
         //reducing the default boundary box in the cases that the plane is orthogonal to one of the axes
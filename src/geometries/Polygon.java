@@ -2,6 +2,7 @@ package geometries;
 
 import java.util.List;
 
+import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
 import primitives.Point;
@@ -27,6 +28,22 @@ public class Polygon extends Geometry {
      * The size of the polygon - the amount of the vertices in the polygon
      */
     private final int size;
+    /**
+     * The first of the two axes (0 - x, 1 - y, 2 - z) the polygon is projected on for the inside test -
+     * the axis in which the normal is the largest is dropped, so the projection is as large as possible
+     */
+    private int uAxis;
+    /**
+     * The second axis the polygon is projected on for the inside test
+     */
+    private int vAxis;
+    /**
+     * The lines of the projected edges - a, b and c of every edge, so that a*u + b*v + c is the (projected)
+     * distance of a point from the edge, which is positive inside the polygon, or null if they weren't
+     * calculated yet. they are calculated on the first intersection, so a Triangle, which has an intersection
+     * of its own, never holds them
+     */
+    private volatile double[] edges;
 
     /**
      * Polygon constructor based on vertices list. The list must be ordered by edge
@@ -58,6 +75,7 @@ public class Polygon extends Geometry {
         // Generate the plane according to the first three vertices and associate the polygon with this plane.
         // The plane holds the invariant normal (orthogonal unit) vector to the polygon
         plane = new Plane(vertices[0], vertices[1], vertices[2]);
+
         if (size == 3) return; // no need for more tests for a Triangle
 
         Vector n = plane.getNormal();
@@ -91,11 +109,111 @@ public class Polygon extends Geometry {
         return plane.getNormal();
     }
 
+    /**
+     * One of the coordinates of a point
+     *
+     * @param point the point
+     * @param axis  the axis of the coordinate (0 - x, 1 - y, 2 - z)
+     * @return the coordinate
+     */
+    private static double coordinate(Point point, int axis) {
+        return axis == 0 ? point.getX() : axis == 1 ? point.getY() : point.getZ();
+    }
+
+    /**
+     * The lines of the projected edges, which are calculated on the first call
+     *
+     * @return the a, b and c of every edge
+     */
+    private double[] edges() {
+        double[] edges = this.edges;
+        if (edges != null) {
+            return edges;
+        }
+        Vector normal = plane.getNormal();
+        double[] abs = {Math.abs(normal.getX()), Math.abs(normal.getY()), Math.abs(normal.getZ())};
+        int dropped = abs[0] > abs[1] ? (abs[0] > abs[2] ? 0 : 2) : (abs[1] > abs[2] ? 1 : 2);
+        int uAxis = (dropped + 1) % 3;
+        int vAxis = (dropped + 2) % 3;
+        edges = new double[3 * size];
+        // the direction of the edges around the projected polygon, so the lines are positive inside it
+        double orientation = coordinate(normal, dropped) > 0 ? 1 : -1;
+        for (var i = 0; i < size; ++i) {
+            Point start = vertices.get(i);
+            Point end = vertices.get((i + 1) % size);
+            double a = coordinate(start, vAxis) - coordinate(end, vAxis);
+            double b = coordinate(end, uAxis) - coordinate(start, uAxis);
+            double length = orientation * Math.sqrt(a * a + b * b);
+            edges[3 * i] = a / length;
+            edges[3 * i + 1] = b / length;
+            edges[3 * i + 2] = -(a * coordinate(start, uAxis) + b * coordinate(start, vAxis)) / length;
+        }
+        // the axes are written before the lines, so a thread that sees the lines sees the axes too
+        this.uAxis = uAxis;
+        this.vAxis = vAxis;
+        this.edges = edges;
+        return edges;
+    }
+
+    /**
+     * calculates the distance along a ray to its intersection with the polygon, without creating any objects.
+     * the ray is intersected with the plane of the polygon, and the intersection is projected on the
+     * two axes of the polygon and tested against the lines of the edges. like a triangle, the vertices
+     * and edges aren't part of the polygon.
+     *
+     * @param ray         the ray
+     * @param maxDistance the maximal distance of the intersection
+     * @return the distance t along the ray to the intersection, or NaN if there is no intersection closer
+     * than the max distance
+     */
+    private double intersect(Ray ray, double maxDistance) {
+        Vector normal = plane.getNormal();
+        Vector direction = ray.getDirection();
+        double denominator = normal.dotProduct(direction);
+        if (isZero(denominator)) { // the ray is parallel to the polygon
+            return Double.NaN;
+        }
+        Point head = ray.getHead();
+        Point first = vertices.get(0);
+        double numerator = normal.getX() * (first.getX() - head.getX())
+                + normal.getY() * (first.getY() - head.getY())
+                + normal.getZ() * (first.getZ() - head.getZ());
+        double t = alignZero(numerator / denominator);
+        if (t <= 0 || alignZero(t - maxDistance) > 0) {
+            return Double.NaN;
+        }
+        double[] edges = edges();
+        double u = coordinate(head, uAxis) + t * coordinate(direction, uAxis);
+        double v = coordinate(head, vAxis) + t * coordinate(direction, vAxis);
+        for (var i = 0; i < size; ++i) {
+            if (alignZero(edges[3 * i] * u + edges[3 * i + 1] * v + edges[3 * i + 2]) <= 0) {
+                return Double.NaN;
+            }
+        }
+        return t;
+    }
+
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
-        return null;
+        double t = intersect(ray, maxDistance);
+        return Double.isNaN(t) ? null : List.of(new GeoPoint(this, ray.getPoint(t)));
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        double t = intersect(ray, hit.t);
+        return !Double.isNaN(t) && hit.set(t, this);
     }
 
     @Override
-    public void calcBoundaryBox() {}
+    public void calcBoundaryBox() {
+        boundaryBoxFlag = true;
+        if (boundaryBox == null) {
+            boundaryBox = new BoundaryBox(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+            for (Point vertex : vertices) {
+                double x = vertex.getX(), y = vertex.getY(), z = vertex.getZ();
+                boundaryBox.add(new BoundaryBox(x, y, z, x, y, z));
+            }
+        }
+    }
 }
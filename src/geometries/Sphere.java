@@ -68,6 +68,33 @@ public class Sphere extends RadialGeometry {
         }
     }
 
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        Point head = ray.getHead();
+        Vector direction = ray.getDirection();
+        double maxDistance = hit.t;
+
+        if(head.equals(center)) {
+            return alignZero(radius - maxDistance) <= 0 && hit.set(radius, this);
+        }
+        // u = center - head, calculated without creating a vector
+        double ux = center.getX() - head.getX();
+        double uy = center.getY() - head.getY();
+        double uz = center.getZ() - head.getZ();
+        double tm = alignZero(direction.getX() * ux + direction.getY() * uy + direction.getZ() * uz);
+        double d = alignZero(Math.sqrt(ux * ux + uy * uy + uz * uz - tm * tm));
+        if (d >= radius) {
+            return false;
+        }
+        double th = alignZero(Math.sqrt(radius * radius - d * d));
+        double t1 = alignZero(tm - th);
+        if (t1 > 0) { // the first intersection is in front of the head, so it is the closest one
+            return alignZero(t1 - maxDistance) <= 0 && hit.set(t1, this);
+        }
+        double t2 = alignZero(tm + th);
+        return t2 > 0 && alignZero(t2 - maxDistance) <= 0 && hit.set(t2, this);
+    }
+
     @Override
     public void calcBoundaryBox() {
         boundaryBoxFlag = true;
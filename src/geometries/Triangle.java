@@ -1,6 +1,5 @@
 package geometries;
 
-import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -9,6 +8,7 @@ import java.util.List;
 
 import static java.lang.Math.max;
 import static java.lang.Math.min;
+import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
 /**
@@ -18,6 +18,12 @@ import static primitives.Util.isZero;
  * @author Rachel and Tehila
  */
 public class Triangle extends Polygon {
+    /** the coordinates of the first vertex of the triangle */
+    private final double ax, ay, az;
+    /** the coordinates of the edge from the first vertex to the second one */
+    private final double e1x, e1y, e1z;
+    /** the coordinates of the edge from the first vertex to the third one */
+    private final double e2x, e2y, e2z;
 
     /**
      * Constructor to initialize a triangle based on the polygon constructor
@@ -29,6 +35,15 @@ public class Triangle extends Polygon {
      */
     public Triangle(Point p1, Point p2, Point p3) {
         super(p1, p2, p3);
+        ax = p1.getX();
+        ay = p1.getY();
+        az = p1.getZ();
+        e1x = p2.getX() - ax;
+        e1y = p2.getY() - ay;
+        e1z = p2.getZ() - az;
+        e2x = p3.getX() - ax;
+        e2y = p3.getY() - ay;
+        e2z = p3.getZ() - az;
     }
 
     @Override
@@ -36,39 +51,92 @@ public class Triangle extends Polygon {
         return super.getNormal(point);
     }
 
-    @Override
-    public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
-        List<GeoPoint> intersections = plane.findGeoIntersections(ray, maxDistance);
-        if (intersections == null) {
+    /**
+     * calculates the intersection of a ray with the triangle using the Möller–Trumbore algorithm,
+     * creating only the array of the result, and only when there is an intersection.
+     * the intersection point is the first vertex + u * (second vertex - first vertex)
+     * + v * (third vertex - first vertex).
+     * like the other intersections of the triangle, its vertices and edges aren't part of it.
+     *
+     * @param ray the ray
+     * @param maxDistance the maximal distance of the intersection
+     * @return the distance t along the ray to the intersection and its barycentric coordinates u and v,
+     * or null if there is no intersection closer than the max distance
+     */
+    public double[] findBarycentricIntersection(Ray ray, double maxDistance) {
+        double t = intersect(ray, maxDistance);
+        if (Double.isNaN(t)) {
             return null;
         }
+        // the barycentric coordinates are calculated again only on an intersection, by solving
+        // point - first vertex = u * e1 + v * e2 with the dot products of both sides with the edges
         Point head = ray.getHead();
         Vector direction = ray.getDirection();
+        double wx = head.getX() + t * direction.getX() - ax;
+        double wy = head.getY() + t * direction.getY() - ay;
+        double wz = head.getZ() + t * direction.getZ() - az;
+        double e11 = e1x * e1x + e1y * e1y + e1z * e1z;
+        double e12 = e1x * e2x + e1y * e2y + e1z * e2z;
+        double e22 = e2x * e2x + e2y * e2y + e2z * e2z;
+        double w1 = wx * e1x + wy * e1y + wz * e1z;
+        double w2 = wx * e2x + wy * e2y + wz * e2z;
+        double inverse = 1 / (e11 * e22 - e12 * e12);
+        return new double[]{t, (e22 * w1 - e12 * w2) * inverse, (e11 * w2 - e12 * w1) * inverse};
+    }
 
-        Point p1 = vertices.get(0);
-        Point p2 = vertices.get(1);
-        Point p3 = vertices.get(2);
-
-        Vector v1 = p1.subtract(head);
-        Vector v2 = p2.subtract(head);
-        Vector v3 = p3.subtract(head);
-
-        Vector n1 = v1.crossProduct(v2).normalize();
-        Vector n2 = v2.crossProduct(v3).normalize();
-        Vector n3 = v3.crossProduct(v1).normalize();
+    /**
+     * calculates the distance along a ray to its intersection with the triangle using the Möller–Trumbore
+     * algorithm, without creating any objects
+     *
+     * @param ray the ray
+     * @param maxDistance the maximal distance of the intersection
+     * @return the distance t along the ray to the intersection, or NaN if there is no intersection closer
+     * than the max distance
+     */
+    private double intersect(Ray ray, double maxDistance) {
+        Point head = ray.getHead();
+        Vector direction = ray.getDirection();
+        double dx = direction.getX(), dy = direction.getY(), dz = direction.getZ();
 
-        double dotProduct1 = direction.dotProduct(n1);
-        double dotProduct2 = direction.dotProduct(n2);
-        double dotProduct3 = direction.dotProduct(n3);
-        if(isZero(dotProduct1) || isZero(dotProduct2) || isZero(dotProduct3)) {
-            return null;
+        // p = direction x e2
+        double px = dy * e2z - dz * e2y;
+        double py = dz * e2x - dx * e2z;
+        double pz = dx * e2y - dy * e2x;
+        double determinant = e1x * px + e1y * py + e1z * pz;
+        if (isZero(determinant)) { // the ray is parallel to the triangle
+            return Double.NaN;
         }
-        if ((dotProduct1 > 0 && dotProduct2 > 0 && dotProduct3 > 0)
-                || (dotProduct1 < 0 && dotProduct2 < 0 && dotProduct3 < 0)) {
-            return List.of(new GeoPoint(this, intersections.getFirst().point));
-        } else {
-            return null;
+        double inverse = 1 / determinant;
+        double sx = head.getX() - ax, sy = head.getY() - ay, sz = head.getZ() - az;
+        double u = (sx * px + sy * py + sz * pz) * inverse;
+        if (alignZero(u) <= 0 || alignZero(u - 1) >= 0) {
+            return Double.NaN;
         }
+        // q = s x e1
+        double qx = sy * e1z - sz * e1y;
+        double qy = sz * e1x - sx * e1z;
+        double qz = sx * e1y - sy * e1x;
+        double v = (dx * qx + dy * qy + dz * qz) * inverse;
+        if (alignZero(v) <= 0 || alignZero(u + v - 1) >= 0) {
+            return Double.NaN;
+        }
+        double t = alignZero((e2x * qx + e2y * qy + e2z * qz) * inverse);
+        if (t <= 0 || alignZero(t - maxDistance) > 0) {
+            return Double.NaN;
+        }
+        return t;
+    }
+
+    @Override
+    public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        double t = intersect(ray, maxDistance);
+        return Double.isNaN(t) ? null : List.of(new GeoPoint(this, ray.getPoint(t)));
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        double t = intersect(ray, hit.t);
+        return !Double.isNaN(t) && hit.set(t, this);
     }
 
     @Override
@@ -9,7 +9,6 @@ import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
 import java.util.List;
-import java.util.MissingResourceException;
 
 import static java.lang.Math.sqrt;
 
@@ -94,9 +93,9 @@ public class Tube extends RadialGeometry {
     @Override
     public void calcBoundaryBox() {
         if (boundaryBox == null) {
-            throw new MissingResourceException("default boundary box for tube not provided.",
-                    "Tube",
-                    "boundaryBox");
+            // the tube is infinite, so without a box it is kept out of the hierarchy and tested directly
+            boundaryBoxFlag = false;
+            return;
         }
         boundaryBoxFlag = true;
         //reducing the boundary box in the cases that the rube is orthogonal to one or more axes
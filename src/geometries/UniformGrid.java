@@ -0,0 +1,623 @@
+package geometries;
+
+import primitives.Double3;
+import primitives.Ray;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class UniformGrid is an acceleration structure that divides the boundary box of the geometries into
+ * equal voxels (cells), each holding the geometries whose boundary boxes overlap it.
+ * A ray visits only the cells it passes through, from the nearest to the farthest, using the 3D-DDA algorithm.
+ * A geometry that overlaps several cells is checked only once for every ray (mailboxing).
+ * It works best for dense geometries that are spread evenly, such as triangle meshes.
+ * Geometries that are much larger than the rest (like a floor plane under a small model) would make the grid
+ * cover mostly empty space, so they are kept out of the cells and checked against every ray instead.
+ * After geometries move, only the moved geometries are taken out of their old cells and put in their new ones.
+ * @author Rachel and Tehila
+ */
+public final class UniformGrid extends CompiledStructure {
+    /** the average amount of geometries in a cell the resolution of the grid is chosen by */
+    private static final double DENSITY = 3;
+    /** the maximal amount of cells along each axis */
+    private static final int MAX_RESOLUTION = 128;
+    /** how many times larger than the median geometry a geometry must be to be kept out of the cells */
+    private static final double LARGE_FACTOR = 64;
+
+    /** the geometries in the cells of the grid */
+    private final Intersectable[] primitives;
+    /** the geometries that are too large for the cells or have no boundary box, which are checked against every ray */
+    private final Intersectable[] large;
+    /** the minimal x, y and z coordinates of the grid */
+    private final double[] min = new double[3];
+    /** the maximal x, y and z coordinates of the grid */
+    private final double[] max = new double[3];
+    /** the size of a cell along each axis */
+    private final double[] cellSize = new double[3];
+    /** the amount of cells along each axis */
+    private final int[] resolution = new int[3];
+    /** the index in cellItems of the first geometry of each cell (and the total amount at the end) */
+    private final int[] cellStart;
+    /**
+     * the indices of the geometries of all the cells, one cell after the other. the geometries of a cell are at
+     * the beginning of its part, and the rest of the part is left empty by geometries that moved out of the cell.
+     */
+    private final int[] cellItems;
+    /** the amount of geometries of each cell in its part of cellItems */
+    private final int[] cellCount;
+    /**
+     * the geometries that moved into each cell after its part of cellItems was full, null until a geometry
+     * does, and null for every cell without such geometries. the first item is the amount of geometries.
+     */
+    private int[][] overflow = null;
+    /** the first and last cell along the x, y and z axes of every geometry in the cells, one after the other */
+    private final int[] ranges;
+    /** the total amount of geometries in all the cells */
+    private int entries;
+    /**
+     * the index of every geometry in the primitives array, or the bitwise complement of its index in the large
+     * array, null until the grid is first refitted
+     */
+    private Map<Intersectable, Integer> indices = null;
+    /** for every thread - the last ray each geometry was checked against */
+    private final ThreadLocal<Mailbox> mailboxes;
+    /** for every thread - a hit whose arrays are used for finding all the intersections of a ray */
+    private final ThreadLocal<Hit> scratch = ThreadLocal.withInitial(Hit::new);
+
+    /**
+     * Class Mailbox saves for one thread the last ray each geometry of the grid was checked against
+     */
+    private static class Mailbox {
+        /** for each geometry - the number of the last ray it was checked against */
+        final int[] stamps;
+        /** the number of the current ray */
+        int ray = 0;
+
+        /**
+         * constructor to initialize a mailbox for the geometries of a grid
+         * @param size the amount of geometries in the grid
+         */
+        Mailbox(int size) {
+            stamps = new int[size];
+        }
+
+        /**
+         * starts a new ray, so that all the geometries can be checked again
+         */
+        void nextRay() {
+            if (++ray == 0) { // the numbers wrapped around, so the old stamps are no longer valid
+                Arrays.fill(stamps, 0);
+                ray = 1;
+            }
+        }
+
+        /**
+         * checks if a geometry wasn't checked against the current ray yet, and marks it as checked
+         * @param index the index of the geometry
+         * @return true if the geometry wasn't checked against the current ray yet
+         */
+        boolean firstVisit(int index) {
+            if (stamps[index] == ray) {
+                return false;
+            }
+            stamps[index] = ray;
+            return true;
+        }
+    }
+
+    /**
+     * a constructor to build a uniform grid from a list of geometries, with a resolution that is calculated
+     * automatically from the amount of geometries and the volume of their boundary box.
+     * nested Geometries objects are flattened, so only the geometries themselves are in the cells.
+     * geometries without a boundary box are kept out of the cells with the large geometries.
+     * @param geometries the geometries in the grid
+     */
+    public UniformGrid(List<Intersectable> geometries) {
+        List<Intersectable> all = new LinkedList<>();
+        for (Intersectable geometry : geometries) {
+            Geometries.collectPrimitives(geometry, all);
+        }
+        double[] extents = new double[all.size()];
+        int count = 0;
+        int bounded = 0;
+        for (Intersectable primitive : all) {
+            primitive.calcBoundaryBox();
+            if (primitive.boundaryBoxFlag && primitive.boundaryBox != null) {
+                extents[count++] = extent(primitive.boundaryBox);
+                bounded++;
+            } else {
+                extents[count++] = Double.NaN;
+            }
+        }
+        double[] sorted = extents.clone();
+        Arrays.sort(sorted); // the extents of NaN are sorted after all the others
+        double median = bounded == 0 ? 0 : sorted[bounded / 2];
+        double largest = median > 0 ? LARGE_FACTOR * median : Double.POSITIVE_INFINITY;
+        List<Intersectable> small = new LinkedList<>();
+        List<Intersectable> big = new LinkedList<>();
+        count = 0;
+        for (Intersectable primitive : all) {
+            double extent = extents[count++];
+            // geometries without a boundary box have an extent of NaN, so they are kept out of the cells too
+            if (extent <= largest) {
+                small.add(primitive);
+            } else {
+                big.add(primitive);
+            }
+        }
+        primitives = small.toArray(new Intersectable[0]);
+        large = big.toArray(new Intersectable[0]);
+        mailboxes = ThreadLocal.withInitial(() -> new Mailbox(primitives.length));
+
+        BoundaryBox box = new BoundaryBox(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+        for (Intersectable primitive : primitives) {
+            box.add(primitive.boundaryBox);
+        }
+        if (primitives.length == 0) {
+            cellStart = new int[1];
+            cellItems = new int[0];
+            cellCount = new int[0];
+            ranges = new int[0];
+            calcBoundaryBox();
+            return;
+        }
+
+        // enlarge the grid a little so flat geometries and geometries on its sides are inside the cells
+        double margin = extent(box) * 1e-6 + 1e-9;
+        double volume = 1;
+        for (int axis = 0; axis < 3; axis++) {
+            min[axis] = box.getMin(axis) - margin;
+            max[axis] = box.getMax(axis) + margin;
+            volume *= max[axis] - min[axis];
+        }
+        double cellsPerUnit = Math.cbrt(DENSITY * primitives.length / volume);
+        int cells = 1;
+        for (int axis = 0; axis < 3; axis++) {
+            double cellsAlongAxis = (max[axis] - min[axis]) * cellsPerUnit;
+            resolution[axis] = (int) Math.max(1, Math.min(MAX_RESOLUTION, Math.round(cellsAlongAxis)));
+            cellSize[axis] = (max[axis] - min[axis]) / resolution[axis];
+            cells *= resolution[axis];
+        }
+
+        // count the geometries of each cell, and then fill the cells
+        cellStart = new int[cells + 1];
+        cellCount = new int[cells];
+        ranges = new int[6 * primitives.length];
+        for (int i = 0; i < primitives.length; i++) {
+            System.arraycopy(cellRange(primitives[i].boundaryBox), 0, ranges, 6 * i, 6);
+            forEachCell(ranges, 6 * i, cell -> cellStart[cell + 1]++);
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        cellItems = new int[cellStart[cells]];
+        entries = cellItems.length;
+        for (int i = 0; i < primitives.length; i++) {
+            int index = i;
+            forEachCell(ranges, 6 * i, cell -> cellItems[cellStart[cell] + cellCount[cell]++] = index);
+        }
+        calcBoundaryBox();
+    }
+
+    /**
+     * calculates the size of a boundary box along its longest axis
+     * @param box the boundary box
+     * @return the largest distance between the sides of the box along one of the axes
+     */
+    private static double extent(BoundaryBox box) {
+        double extent = 0;
+        for (int axis = 0; axis < 3; axis++) {
+            extent = Math.max(extent, box.getMax(axis) - box.getMin(axis));
+        }
+        return extent;
+    }
+
+    /**
+     * calculates the range of the cells a boundary box overlaps
+     * @param box the boundary box
+     * @return the first and last cell index along the x, y and z axes
+     */
+    private int[] cellRange(BoundaryBox box) {
+        int[] range = new int[6];
+        for (int axis = 0; axis < 3; axis++) {
+            range[axis] = cellIndex(box.getMin(axis), axis);
+            range[3 + axis] = cellIndex(box.getMax(axis), axis);
+        }
+        return range;
+    }
+
+    /**
+     * an action that is done on a cell of the grid
+     */
+    private interface CellAction {
+        /**
+         * does the action on a cell
+         * @param cell the index of the cell
+         */
+        void apply(int cell);
+    }
+
+    /**
+     * does an action on all the cells in a range
+     * @param range an array with the first and last cell index along the x, y and z axes
+     * @param offset the index of the range in the array
+     * @param action the action
+     */
+    private void forEachCell(int[] range, int offset, CellAction action) {
+        for (int z = range[offset + 2]; z <= range[offset + 5]; z++) {
+            for (int y = range[offset + 1]; y <= range[offset + 4]; y++) {
+                for (int x = range[offset]; x <= range[offset + 3]; x++) {
+                    action.apply(cell(x, y, z));
+                }
+            }
+        }
+    }
+
+    /**
+     * calculates the index of the cell that contains a coordinate along an axis
+     * @param coordinate the coordinate
+     * @param axis the axis
+     * @return the index of the cell along the axis
+     */
+    private int cellIndex(double coordinate, int axis) {
+        int index = (int) Math.floor((coordinate - min[axis]) / cellSize[axis]);
+        return Math.max(0, Math.min(resolution[axis] - 1, index));
+    }
+
+    /**
+     * calculates the index of a cell in the cell arrays
+     * @param x the index of the cell along the x-axis
+     * @param y the index of the cell along the y-axis
+     * @param z the index of the cell along the z-axis
+     * @return the index of the cell
+     */
+    private int cell(int x, int y, int z) {
+        return (z * resolution[1] + y) * resolution[0] + x;
+    }
+
+    /**
+     * return the amount of cells along each of the axes
+     * @return the amount of cells along the x, y and z axes
+     */
+    public int[] getResolution() {
+        return resolution.clone();
+    }
+
+    /**
+     * return the amount of geometries that are kept out of the cells because they are too large or unbounded
+     * @return the amount of large geometries
+     */
+    public int largeCount() {
+        return large.length;
+    }
+
+    @Override
+    boolean replace(Intersectable geometry, Intersectable replacement) {
+        mapIndices();
+        Integer index = indices.remove(geometry);
+        if (index == null || replacement instanceof Geometries) {
+            return false;
+        }
+        if (index >= 0) {
+            primitives[index] = replacement;
+        } else {
+            large[~index] = replacement;
+        }
+        indices.put(replacement, index);
+        return true;
+    }
+
+    @Override
+    boolean refit(List<Intersectable> moved) {
+        mapIndices();
+        for (Intersectable geometry : moved) {
+            Integer index = indices.get(geometry);
+            if (index == null) {
+                return false;
+            }
+            if (index < 0) { // a large geometry isn't in the cells
+                continue;
+            }
+            BoundaryBox box = geometry.boundaryBox;
+            for (int axis = 0; axis < 3; axis++) {
+                // the rays don't reach cells outside the grid
+                if (box.getMin(axis) < min[axis] || box.getMax(axis) > max[axis]) {
+                    return false;
+                }
+            }
+            int[] range = cellRange(box);
+            int offset = 6 * index;
+            if (Arrays.equals(range, 0, 6, ranges, offset, offset + 6)) {
+                continue;
+            }
+            forEachCell(ranges, offset, cell -> removeFromCell(cell, index));
+            forEachCell(range, 0, cell -> addToCell(cell, index));
+            System.arraycopy(range, 0, ranges, offset, 6);
+        }
+        calcBoundaryBox();
+        return entries <= Geometries.REBUILD_RATIO * cellItems.length;
+    }
+
+    /**
+     * saves the index of every geometry of the grid, if it wasn't saved yet
+     */
+    private void mapIndices() {
+        if (indices != null) {
+            return;
+        }
+        indices = new IdentityHashMap<>(2 * (primitives.length + large.length));
+        for (int i = 0; i < primitives.length; i++) {
+            indices.put(primitives[i], i);
+        }
+        for (int i = 0; i < large.length; i++) {
+            indices.put(large[i], ~i);
+        }
+    }
+
+    /**
+     * takes a geometry out of a cell
+     * @param cell the index of the cell
+     * @param index the index of the geometry
+     */
+    private void removeFromCell(int cell, int index) {
+        int start = cellStart[cell];
+        for (int i = start; i < start + cellCount[cell]; i++) {
+            if (cellItems[i] == index) {
+                cellItems[i] = cellItems[start + --cellCount[cell]];
+                entries--;
+                return;
+            }
+        }
+        int[] items = overflow[cell];
+        for (int i = 1; i <= items[0]; i++) {
+            if (items[i] == index) {
+                items[i] = items[items[0]--];
+                entries--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * puts a geometry in a cell, in the part of the cell in cellItems if it isn't full
+     * @param cell the index of the cell
+     * @param index the index of the geometry
+     */
+    private void addToCell(int cell, int index) {
+        entries++;
+        if (cellStart[cell] + cellCount[cell] < cellStart[cell + 1]) {
+            cellItems[cellStart[cell] + cellCount[cell]++] = index;
+            return;
+        }
+        if (overflow == null) {
+            overflow = new int[cellCount.length][];
+        }
+        int[] items = overflow[cell];
+        if (items == null) {
+            items = overflow[cell] = new int[4];
+        } else if (items[0] + 1 == items.length) {
+            items = overflow[cell] = Arrays.copyOf(items, 2 * items.length);
+        }
+        items[++items[0]] = index;
+    }
+
+    @Override
+    public void calcBoundaryBox() {
+        if (primitives.length == 0 && large.length == 0) {
+            return;
+        }
+        boundaryBox = primitives.length == 0
+                ? new BoundaryBox(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY)
+                : new BoundaryBox(min[0], min[1], min[2], max[0], max[1], max[2]);
+        for (Intersectable geometry : large) {
+            if (!geometry.boundaryBoxFlag || geometry.boundaryBox == null) { // the grid is unbounded too
+                boundaryBox = null;
+                boundaryBoxFlag = false;
+                return;
+            }
+            boundaryBox.add(geometry.boundaryBox);
+        }
+        boundaryBoxFlag = true;
+    }
+
+    /**
+     * starts going through the cells along a ray from the nearest to the farthest using 3D-DDA, by filling the
+     * state of the traversal for {@link #nextCell(int[], double[])}
+     * @param origin the x, y and z coordinates of the head of the ray
+     * @param direction the x, y and z coordinates of the direction of the ray
+     * @param inverse the inverse of the x, y and z coordinates of the direction of the ray
+     * @param maxDistance the maximum distance along the ray to go through
+     * @param cells for the state - the index of the current cell along each axis, and the step along each axis
+     * @param distances for the state - the distance along the ray to the next cell along each axis,
+     * the distance between the cells along each axis, and the distance in which the ray leaves the grid
+     * @return the index of the first cell, or -1 if the ray doesn't pass through the grid
+     */
+    private int firstCell(double[] origin, double[] direction, double[] inverse, double maxDistance,
+                          int[] cells, double[] distances) {
+        if (primitives.length == 0) {
+            return -1;
+        }
+        // the distances in which the ray enters and leaves the grid
+        double tEnter = 0;
+        double tExit = maxDistance;
+        for (int axis = 0; axis < 3; axis++) {
+            if (Double.isInfinite(inverse[axis])) { // the ray is parallel to this axis
+                if (origin[axis] < min[axis] || origin[axis] > max[axis]) {
+                    return -1;
+                }
+                continue;
+            }
+            double t1 = (min[axis] - origin[axis]) * inverse[axis];
+            double t2 = (max[axis] - origin[axis]) * inverse[axis];
+            tEnter = Math.max(tEnter, Math.min(t1, t2));
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        if (tEnter > tExit) {
+            return -1;
+        }
+        for (int axis = 0; axis < 3; axis++) {
+            cells[axis] = cellIndex(origin[axis] + direction[axis] * tEnter, axis);
+            if (Double.isInfinite(inverse[axis])) {
+                cells[3 + axis] = 0;
+                distances[axis] = Double.POSITIVE_INFINITY;
+                distances[3 + axis] = Double.POSITIVE_INFINITY;
+            } else {
+                cells[3 + axis] = direction[axis] > 0 ? 1 : -1;
+                double boundary = min[axis] + (cells[axis] + (cells[3 + axis] > 0 ? 1 : 0)) * cellSize[axis];
+                distances[axis] = (boundary - origin[axis]) * inverse[axis];
+                distances[3 + axis] = cellSize[axis] * Math.abs(inverse[axis]);
+            }
+        }
+        distances[6] = tExit;
+        return cell(cells[0], cells[1], cells[2]);
+    }
+
+    /**
+     * the distance along the ray in which it leaves the current cell of a traversal
+     * @param distances the state of the traversal
+     * @return the distance in which the ray leaves the current cell
+     */
+    private static double cellExit(double[] distances) {
+        return Math.min(distances[0], Math.min(distances[1], distances[2]));
+    }
+
+    /**
+     * moves a traversal that was started by {@link #firstCell} to the next cell along the ray
+     * @param cells the state of the traversal - the indices of the cell and the steps
+     * @param distances the state of the traversal - the distances
+     * @return the index of the next cell, or -1 if the ray leaves the grid or passes its maximum distance
+     */
+    private int nextCell(int[] cells, double[] distances) {
+        int axis = distances[0] < distances[1]
+                ? (distances[0] < distances[2] ? 0 : 2)
+                : (distances[1] < distances[2] ? 1 : 2);
+        if (distances[axis] > distances[6]) {
+            return -1;
+        }
+        cells[axis] += cells[3 + axis];
+        if (cells[axis] < 0 || cells[axis] >= resolution[axis]) {
+            return -1;
+        }
+        distances[axis] += distances[3 + axis];
+        return cell(cells[0], cells[1], cells[2]);
+    }
+
+    /**
+     * the amount of geometries in a cell, including the geometries that moved into it
+     * @param cell the index of the cell
+     * @return the amount of geometries in the cell
+     */
+    private int itemCount(int cell) {
+        int[] moved = overflow == null ? null : overflow[cell];
+        return cellCount[cell] + (moved == null ? 0 : moved[0]);
+    }
+
+    /**
+     * one of the geometries of a cell
+     * @param cell the index of the cell
+     * @param i the number of the geometry in the cell, less than {@link #itemCount(int)}
+     * @return the index of the geometry in the primitives array
+     */
+    private int item(int cell, int i) {
+        return i < cellCount[cell] ? cellItems[cellStart[cell] + i] : overflow[cell][i - cellCount[cell] + 1];
+    }
+
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = new LinkedList<>();
+        for (Intersectable geometry : large) {
+            List<GeoPoint> geometryIntersections = geometry.findGeoIntersections(ray, maxDistance);
+            if (geometryIntersections != null) {
+                intersections.addAll(geometryIntersections);
+            }
+        }
+        Hit hit = scratch.get();
+        int level = hit.enter();
+        int[] cells = hit.stack(level, 6);
+        double[] distances = hit.entries(level, 7);
+        Mailbox mailbox = mailboxes.get();
+        mailbox.nextRay();
+        int cell = firstCell(hit.origin(ray), hit.direction(ray), hit.inverse(ray), maxDistance, cells, distances);
+        for (; cell >= 0; cell = nextCell(cells, distances)) {
+            for (int i = 0; i < itemCount(cell); i++) {
+                int item = item(cell, i);
+                if (mailbox.firstVisit(item)) {
+                    List<GeoPoint> geometryIntersections =
+                            primitives[item].findGeoIntersectionsHelper(ray, maxDistance);
+                    if (geometryIntersections != null) {
+                        intersections.addAll(geometryIntersections);
+                    }
+                }
+            }
+        }
+        hit.exit();
+        return intersections.isEmpty() ? null : intersections;
+    }
+
+    /**
+     * {@inheritDoc}
+     * the traversal stops at the first cell that the closest intersection found so far is inside.
+     */
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        boolean found = false;
+        for (Intersectable geometry : large) {
+            // only intersections that are not farther than the closest one found so far replace it
+            found |= geometry.findClosestHitHelper(ray, hit);
+        }
+        int level = hit.enter();
+        int[] cells = hit.stack(level, 6);
+        double[] distances = hit.entries(level, 7);
+        Mailbox mailbox = mailboxes.get();
+        mailbox.nextRay();
+        int cell = firstCell(hit.origin(ray), hit.direction(ray), hit.inverse(ray), hit.t, cells, distances);
+        for (; cell >= 0; cell = nextCell(cells, distances)) {
+            for (int i = 0; i < itemCount(cell); i++) {
+                int item = item(cell, i);
+                if (mailbox.firstVisit(item)) {
+                    found |= primitives[item].findClosestHitHelper(ray, hit);
+                }
+            }
+            if (hit.t <= cellExit(distances)) { // the geometries in the next cells can't have closer intersections
+                break;
+            }
+        }
+        hit.exit();
+        return found;
+    }
+
+    @Override
+    protected Double3 calcTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minTransparency,
+                                             Hit hit) {
+        for (Intersectable geometry : large) {
+            ktr = geometry.calcTransparency(ray, maxDistance, ktr, minTransparency, hit);
+            if (ktr.lowerThan(minTransparency)) {
+                return ktr;
+            }
+        }
+        int level = hit.enter();
+        int[] cells = hit.stack(level, 6);
+        double[] distances = hit.entries(level, 7);
+        Mailbox mailbox = mailboxes.get();
+        mailbox.nextRay();
+        int cell = firstCell(hit.origin(ray), hit.direction(ray), hit.inverse(ray), maxDistance, cells, distances);
+        for (; cell >= 0; cell = nextCell(cells, distances)) {
+            for (int i = 0; i < itemCount(cell); i++) {
+                int item = item(cell, i);
+                if (mailbox.firstVisit(item)) {
+                    ktr = primitives[item].calcTransparencyHelper(ray, maxDistance, ktr, minTransparency, hit);
+                    if (ktr.lowerThan(minTransparency)) { // the light is blocked, no need to look any further
+                        hit.exit();
+                        return ktr;
+                    }
+                }
+            }
+        }
+        hit.exit();
+        return ktr;
+    }
+}
@@ -1,5 +1,7 @@
 package primitives;
 
+import static primitives.Util.isZero;
+
 /**
  * Class Point is the basic class representing a point of Euclidean geometry in Cartesian
  * 3-Dimensional coordinate system.
@@ -7,17 +9,20 @@ package primitives;
  */
 public class Point {
     /** a point that represents the center of the 3-Dimensional coordinate system */
-    public static final Point ZERO = new Point(Double3.ZERO);
+    public static final Point ZERO = new Point(0, 0, 0);
 
-    /** a double3 representing the x, y, and z coordinates */
-    protected final Double3 xyz;
+    /**
+     * the x, y and z coordinates. they are kept in the point itself rather than in a double3, so a point is a
+     * single object and the arithmetic of points and vectors allocates only its result.
+     */
+    protected final double x, y, z;
 
     /**
      * a getter method for the X value of the point
      * @return the X value of the point
      */
     public double getX() {
-        return getXyz().d1;
+        return x;
     }
 
     /**
@@ -25,7 +30,7 @@ public class Point {
      * @return the Y value of the point
      */
     public double getY() {
-        return getXyz().d2;
+        return y;
     }
 
     /**
@@ -33,7 +38,7 @@ public class Point {
      * @return the Z value of the point
      */
     public double getZ() {
-        return getXyz().d3;
+        return z;
     }
 
     /**
@@ -43,7 +48,9 @@ public class Point {
      * @param z z coordinate
      */
     public Point(double x, double y, double z) {
-        xyz = new Double3(x, y, z);
+        this.x = x;
+        this.y = y;
+        this.z = z;
     }
 
     /**
@@ -51,7 +58,7 @@ public class Point {
      * @param xyz the three coordinates of the point
      */
     public Point(Double3 xyz) {
-        this.xyz = xyz;
+        this(xyz.d1, xyz.d2, xyz.d3);
     }
 
     /**
@@ -60,7 +67,7 @@ public class Point {
      * @return a new vector between p1 and the current point
      */
     public Vector subtract(Point p1) {
-        return new Vector(xyz.subtract(p1.xyz));
+        return new Vector(x - p1.x, y - p1.y, z - p1.z);
     }
 
     /**
@@ -69,15 +76,15 @@ public class Point {
      * @return a new point
      */
     public Point add(Vector v1) {
-        return new Point(xyz.add(v1.xyz));
+        return new Point(x + v1.x, y + v1.y, z + v1.z);
     }
 
     /**
      * a get method for the three coordinates of the point
-     * @return the three coordinates of the point
+     * @return a new double3 of the three coordinates of the point
      */
     public Double3 getXyz() {
-        return xyz;
+        return new Double3(x, y, z);
     }
 
     /**
@@ -86,9 +93,10 @@ public class Point {
      * @return the squared distance between the current point and parameter point
      */
     public double distanceSquared(Point p1) {
-        return (xyz.d1 - p1.xyz.d1) * (xyz.d1 - p1.xyz.d1) +
-                (xyz.d2 - p1.xyz.d2) * (xyz.d2 - p1.xyz.d2) +
-                (xyz.d3 - p1.xyz.d3) * (xyz.d3 - p1.xyz.d3);
+        double dx = x - p1.x;
+        double dy = y - p1.y;
+        double dz = z - p1.z;
+        return dx * dx + dy * dy + dz * dz;
     }
 
     /**
@@ -104,13 +112,15 @@ public class Point {
     public boolean equals(Object obj) {
         if (this == obj) return true;
         return (obj instanceof Point other)
-                && this.xyz.equals(other.xyz);
+                && isZero(x - other.x)
+                && isZero(y - other.y)
+                && isZero(z - other.z);
     }
 
     @Override
     public String toString() {
         return "Point{" +
-                "xyz=" + xyz +
+                "xyz=(" + x + "," + y + "," + z + ")" +
                 '}';
     }
 }
@@ -27,7 +27,7 @@ public class Ray {
      */
     public Ray(Point head, Vector direction) {
         this.head = head;
-        this.direction = direction.normalize();
+        this.direction = direction.isNormalized() ? direction : direction.normalize();
     }
 
     /**
@@ -38,7 +38,7 @@ public class Ray {
      */
     public Ray(Point head, Vector direction, Vector normal) {
         this.head = head.add(normal.scale(normal.dotProduct(direction) > 0 ? DELTA : -DELTA));
-        this.direction = direction.normalize();
+        this.direction = direction.isNormalized() ? direction : direction.normalize();
     }
 
     /**
@@ -107,11 +107,12 @@ public class Ray {
         }
 
         GeoPoint closest = geoPoints.getFirst(); // the closest point to the head
-        double closestDistance = closest.point.distance(head); // the distance between the head and the closest point
-        double distance; //a temporary variable of the distance between the point that is checked and the head
+        // the squared distance between the head and the closest point - comparing squared distances is enough
+        double closestDistance = closest.point.distanceSquared(head);
+        double distance; //a temporary variable of the squared distance between the point that is checked and the head
 
         for(GeoPoint geoPoint : geoPoints) { // go through all of the points and find the closest one
-            distance = geoPoint.point.distance(head);
+            distance = geoPoint.point.distanceSquared(head);
             if(distance < closestDistance) {
                 closest = geoPoint;
                 closestDistance = distance;
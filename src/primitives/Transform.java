@@ -0,0 +1,230 @@
+package primitives;
+
+import static primitives.Util.isZero;
+
+/**
+ * Class Transform is the basic class representing an affine transformation of the 3-Dimensional space -
+ * a linear transformation (rotation, scaling or shearing) followed by a translation.
+ * The transformation is saved as a 3x4 matrix together with the matrix of its inverse.
+ * @author Rachel and Tehila
+ */
+public class Transform {
+    /** the transformation that doesn't change anything */
+    public static final Transform IDENTITY = new Transform(new double[]{1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0});
+
+    /** the rows of the matrix of the transformation - the linear part and then the translation of every row */
+    private final double[] matrix;
+    /** the rows of the matrix of the inverse transformation */
+    private final double[] inverse;
+
+    /**
+     * constructor to initialize a transformation with its matrix, calculating the inverse matrix
+     * @param matrix the three rows of the 3x4 matrix, one after the other
+     * @throws IllegalArgumentException if the transformation can't be inverted
+     */
+    private Transform(double[] matrix) {
+        this(matrix, invert(matrix));
+    }
+
+    /**
+     * constructor to initialize a transformation with its matrix and the matrix of its inverse
+     * @param matrix the three rows of the 3x4 matrix, one after the other
+     * @param inverse the three rows of the 3x4 matrix of the inverse transformation
+     */
+    private Transform(double[] matrix, double[] inverse) {
+        this.matrix = matrix;
+        this.inverse = inverse;
+    }
+
+    /**
+     * creates a transformation that moves every point by a vector
+     * @param offset the vector to move the points by
+     * @return the translation
+     */
+    public static Transform translation(Vector offset) {
+        return new Transform(
+                new double[]{1, 0, 0, offset.getX(), 0, 1, 0, offset.getY(), 0, 0, 1, offset.getZ()},
+                new double[]{1, 0, 0, -offset.getX(), 0, 1, 0, -offset.getY(), 0, 0, 1, -offset.getZ()});
+    }
+
+    /**
+     * creates a transformation that scales every point from the origin by the same factor along all the axes
+     * @param factor the scaling factor
+     * @return the scaling
+     * @throws IllegalArgumentException if the factor is 0
+     */
+    public static Transform scaling(double factor) {
+        return scaling(factor, factor, factor);
+    }
+
+    /**
+     * creates a transformation that scales every point from the origin by a different factor along every axis
+     * @param x the scaling factor along the x-axis
+     * @param y the scaling factor along the y-axis
+     * @param z the scaling factor along the z-axis
+     * @return the scaling
+     * @throws IllegalArgumentException if one of the factors is 0
+     */
+    public static Transform scaling(double x, double y, double z) {
+        return new Transform(new double[]{x, 0, 0, 0, 0, y, 0, 0, 0, 0, z, 0});
+    }
+
+    /**
+     * creates a transformation that rotates every point around an axis that goes through the origin,
+     * counterclockwise when looking from the direction the axis points to
+     * @param axis the direction of the axis of the rotation
+     * @param angle the angle of the rotation in degrees
+     * @return the rotation
+     */
+    public static Transform rotation(Vector axis, double angle) {
+        Vector u = axis.normalize();
+        double x = u.getX(), y = u.getY(), z = u.getZ();
+        double radians = Math.toRadians(angle);
+        double cos = Math.cos(radians);
+        double sin = Math.sin(radians);
+        double t = 1 - cos;
+        double[] matrix = {
+                t * x * x + cos, t * x * y - sin * z, t * x * z + sin * y, 0,
+                t * x * y + sin * z, t * y * y + cos, t * y * z - sin * x, 0,
+                t * x * z - sin * y, t * y * z + sin * x, t * z * z + cos, 0};
+        // the inverse of a rotation is its transpose
+        double[] inverse = {
+                matrix[0], matrix[4], matrix[8], 0,
+                matrix[1], matrix[5], matrix[9], 0,
+                matrix[2], matrix[6], matrix[10], 0};
+        return new Transform(matrix, inverse);
+    }
+
+    /**
+     * creates the transformation of doing this transformation and then another one
+     * @param next the transformation to do after this one
+     * @return the combined transformation
+     */
+    public Transform then(Transform next) {
+        return new Transform(multiply(next.matrix, matrix), multiply(inverse, next.inverse));
+    }
+
+    /**
+     * return the inverse transformation, which cancels this transformation
+     * @return the inverse transformation
+     */
+    public Transform inverse() {
+        return new Transform(inverse, matrix);
+    }
+
+    /**
+     * transforms a point
+     * @param point the point
+     * @return the transformed point
+     */
+    public Point transform(Point point) {
+        double x = point.getX(), y = point.getY(), z = point.getZ();
+        return new Point(
+                matrix[0] * x + matrix[1] * y + matrix[2] * z + matrix[3],
+                matrix[4] * x + matrix[5] * y + matrix[6] * z + matrix[7],
+                matrix[8] * x + matrix[9] * y + matrix[10] * z + matrix[11]);
+    }
+
+    /**
+     * transforms a direction vector - only the linear part of the transformation is used, so it isn't moved.
+     * the vector isn't normalized, so its length changes if the transformation scales it.
+     * @param vector the vector
+     * @return the transformed vector
+     */
+    public Vector transform(Vector vector) {
+        double x = vector.getX(), y = vector.getY(), z = vector.getZ();
+        return new Vector(
+                matrix[0] * x + matrix[1] * y + matrix[2] * z,
+                matrix[4] * x + matrix[5] * y + matrix[6] * z,
+                matrix[8] * x + matrix[9] * y + matrix[10] * z);
+    }
+
+    /**
+     * transforms a normal of a surface, so it is a normal of the transformed surface.
+     * unlike a direction vector, a normal is transformed by the transpose of the inverse matrix.
+     * the normal isn't normalized.
+     * @param normal the normal
+     * @return the transformed normal
+     */
+    public Vector transformNormal(Vector normal) {
+        double x = normal.getX(), y = normal.getY(), z = normal.getZ();
+        return new Vector(
+                inverse[0] * x + inverse[4] * y + inverse[8] * z,
+                inverse[1] * x + inverse[5] * y + inverse[9] * z,
+                inverse[2] * x + inverse[6] * y + inverse[10] * z);
+    }
+
+    /**
+     * transforms a box that is aligned to the axes, and finds the box aligned to the axes that contains it
+     * @param min the minimal x, y and z coordinates of the box
+     * @param max the maximal x, y and z coordinates of the box
+     * @return the minimal x, y and z coordinates of the transformed box, followed by the maximal ones
+     */
+    public double[] transformBox(double[] min, double[] max) {
+        double[] box = new double[6];
+        for (int row = 0; row < 3; row++) {
+            // every coordinate of the transformed box is a sum of the contributions of the original coordinates
+            double low = matrix[4 * row + 3];
+            double high = matrix[4 * row + 3];
+            for (int column = 0; column < 3; column++) {
+                double a = matrix[4 * row + column] * min[column];
+                double b = matrix[4 * row + column] * max[column];
+                low += Math.min(a, b);
+                high += Math.max(a, b);
+            }
+            box[row] = low;
+            box[3 + row] = high;
+        }
+        return box;
+    }
+
+    /**
+     * multiplies two affine matrices
+     * @param left the matrix on the left
+     * @param right the matrix on the right
+     * @return the product, which is the transformation of doing right and then left
+     */
+    private static double[] multiply(double[] left, double[] right) {
+        double[] product = new double[12];
+        for (int row = 0; row < 3; row++) {
+            for (int column = 0; column < 4; column++) {
+                double sum = column == 3 ? left[4 * row + 3] : 0;
+                for (int k = 0; k < 3; k++) {
+                    sum += left[4 * row + k] * right[4 * k + column];
+                }
+                product[4 * row + column] = sum;
+            }
+        }
+        return product;
+    }
+
+    /**
+     * calculates the inverse of an affine matrix
+     * @param m the matrix
+     * @return the inverse matrix
+     * @throws IllegalArgumentException if the matrix can't be inverted
+     */
+    private static double[] invert(double[] m) {
+        // the cofactors of the linear part
+        double c00 = m[5] * m[10] - m[6] * m[9];
+        double c01 = m[6] * m[8] - m[4] * m[10];
+        double c02 = m[4] * m[9] - m[5] * m[8];
+        double determinant = m[0] * c00 + m[1] * c01 + m[2] * c02;
+        if (isZero(determinant)) {
+            throw new IllegalArgumentException("the transformation can't be inverted.");
+        }
+        double[] inverse = {
+                c00, m[2] * m[9] - m[1] * m[10], m[1] * m[6] - m[2] * m[5], 0,
+                c01, m[0] * m[10] - m[2] * m[8], m[2] * m[4] - m[0] * m[6], 0,
+                c02, m[1] * m[8] - m[0] * m[9], m[0] * m[5] - m[1] * m[4], 0};
+        for (int i = 0; i < 12; i++) {
+            inverse[i] /= determinant;
+        }
+        // the translation of the inverse cancels the translation after the linear part is inverted
+        for (int row = 0; row < 3; row++) {
+            inverse[4 * row + 3] = -(inverse[4 * row] * m[3] + inverse[4 * row + 1] * m[7]
+                    + inverse[4 * row + 2] * m[11]);
+        }
+        return inverse;
+    }
+}
@@ -26,9 +26,7 @@ public class Vector extends Point {
      * @throws IllegalArgumentException if the vector is a zero vector - if x, y and z are 0
      */
     public Vector(double x, double y, double z) {
-        super(x, y, z);
-        if (xyz.equals(Double3.ZERO))
-            throw new IllegalArgumentException("Vector cannot be zero vector.");
+        this(x, y, z, true);
     }
 
     /**
@@ -38,8 +36,23 @@ public class Vector extends Point {
      * @throws IllegalArgumentException if the vector is a zero vector - if xyz is (0,0,0)
      */
     public Vector(Double3 xyz) {
-        super(xyz);
-        if (xyz.equals(Double3.ZERO))
+        this(xyz.d1, xyz.d2, xyz.d3, true);
+    }
+
+    /**
+     * Constructor to initialize a vector with the three coordinates of its direction, which checks that it
+     * isn't a zero vector only if asked to. the check is skipped for vectors that can't be zero vectors -
+     * such as the normalization of a vector - which are calculated in the hot paths of the rendering.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param z z coordinate
+     * @param checked whether to check that the vector isn't a zero vector
+     * @throws IllegalArgumentException if the vector is checked and is a zero vector
+     */
+    Vector(double x, double y, double z, boolean checked) {
+        super(x, y, z);
+        if (checked && isZero(x) && isZero(y) && isZero(z))
             throw new IllegalArgumentException("Vector cannot be zero vector.");
     }
 
@@ -50,7 +63,7 @@ public class Vector extends Point {
      * @return a vector that is the sum of the current vector and v1
      */
     public Vector add(Vector v1) {
-        return new Vector(xyz.add(v1.xyz));
+        return new Vector(x + v1.x, y + v1.y, z + v1.z);
     }
 
     /**
@@ -60,7 +73,7 @@ public class Vector extends Point {
      * @return a new vector that is the multiplication of the vector and the number
      */
     public Vector scale(double num) {
-        return new Vector(xyz.scale(num));
+        return new Vector(x * num, y * num, z * num);
     }
 
     /**
@@ -71,7 +84,7 @@ public class Vector extends Point {
      * corresponding coordinate in v1
      */
     public double dotProduct(Vector v1) {
-        return xyz.d1 * v1.xyz.d1 + xyz.d2 * v1.xyz.d2 + xyz.d3 * v1.xyz.d3;
+        return x * v1.x + y * v1.y + z * v1.z;
     }
 
     /**
@@ -81,7 +94,7 @@ public class Vector extends Point {
      * @return the squared length of the vector
      */
     public double lengthSquared() {
-        return xyz.d1 * xyz.d1 + xyz.d2 * xyz.d2 + xyz.d3 * xyz.d3;
+        return x * x + y * y + z * z;
         //return dotProduct(this);
     }
 
@@ -100,7 +113,20 @@ public class Vector extends Point {
      *
      * @return a normalized vector of the original
      */
-    public Vector normalize() { return scale(1 / length()); }
+    public Vector normalize() {
+        double scale = 1 / length();
+        // a vector is never a zero vector, so neither is its normalization
+        return new Vector(x * scale, y * scale, z * scale, false);
+    }
+
+    /**
+     * checks if the vector is already normalized, so it doesn't need to be normalized again
+     *
+     * @return true if the length of the vector is one, false if it isn't
+     */
+    boolean isNormalized() {
+        return isZero(lengthSquared() - 1);
+    }
 
     /**
      * calculates a vector that is orthogonal to both the current and parameter vector
@@ -110,9 +136,9 @@ public class Vector extends Point {
      * @return a vector that is orthogonal to the current vector and parameter vector
      */
     public Vector crossProduct(Vector v1) {
-        return new Vector(xyz.d2 * v1.xyz.d3 - xyz.d3 * v1.xyz.d2,
-                xyz.d3 * v1.xyz.d1 - xyz.d1 * v1.xyz.d3,
-                xyz.d1 * v1.xyz.d2 - xyz.d2 * v1.xyz.d1);
+        return new Vector(y * v1.z - z * v1.y,
+                z * v1.x - x * v1.z,
+                x * v1.y - y * v1.x);
     }
 
     /**
@@ -129,7 +155,7 @@ public class Vector extends Point {
     @Override
     public String toString() {
         return "Vector{" +
-                "xyz=" + xyz +
+                "xyz=(" + x + "," + y + "," + z + ")" +
                 '}';
     }
 
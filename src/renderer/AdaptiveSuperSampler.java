@@ -0,0 +1,288 @@
+package renderer;
+
+import primitives.*;
+
+import java.util.Arrays;
+
+/**
+ * class AdaptiveSuperSampler represents an antialiasing super sampler that samples a pixel adaptively.
+ * it traces rays through the corners of the pixel, and divides the pixel into four quarters only if the colors
+ * of its corners are too different, and so on for every quarter until a maximum depth - so a pixel of a flat
+ * region of the image is sampled by its four corners alone, and more samples are traced only near the edges.
+ * the corners are points of a grid over the view plane, and the values of the corners are kept, so
+ * neighbouring pixels (and quarters) trace their shared corners only once.
+ * @author Rachel and Tehila
+ */
+public class AdaptiveSuperSampler extends AntiAliasingSuperSampler {
+    /** the number of corner values that a thread keeps before it clears them */
+    private static final int CACHE_SIZE = 1 << 16;
+
+    /** the maximum number of times a pixel is divided into quarters */
+    private int maxDepth = 3;
+    /** the largest difference between the color components of the corners of a square that isn't divided */
+    private double threshold = 10;
+    /** the number of the current render, which the values a thread keeps belong to */
+    private volatile int generation = 0;
+    /** the center of the view plane, which the grid of the corners starts from */
+    private Point viewPlaneCenter = null;
+
+    /**
+     * the corner values a thread keeps. they are kept per thread, since the neighbouring pixels are rendered
+     * by the same thread, so the threads never wait for each other.
+     */
+    private final ThreadLocal<Cache> caches = ThreadLocal.withInitial(() -> new Cache(4 * CACHE_SIZE));
+
+    /**
+     * the corner values a thread keeps, by the column and row of the corner in the grid over the view plane.
+     * the values are kept in a hash table with open addressing, so the keys aren't boxed. the table is cleared
+     * if it becomes half full while a pixel is sampled, so it never fills up.
+     */
+    private static class Cache {
+        /** the keys of the values - the column and row of the corner */
+        private final long[] keys;
+        /** the values of the corners, null in the empty places of the table */
+        private final Double3[] values;
+        /** the number of values in the table */
+        private int size = 0;
+        /** the render the values belong to */
+        private int generation = -1;
+
+        /**
+         * constructor to initialize an empty cache
+         * @param capacity the size of the table, which must be a power of 2
+         */
+        Cache(int capacity) {
+            keys = new long[capacity];
+            values = new Double3[capacity];
+        }
+
+        /**
+         * the place in the table a key is looked for from
+         * @param key the key
+         * @return the index of the place
+         */
+        private int slot(long key) {
+            return (int) (key * 0x9E3779B97F4A7C15L >>> 32) & (keys.length - 1);
+        }
+
+        /**
+         * the value of a corner
+         * @param key the column and row of the corner
+         * @return the value, or null if it isn't kept
+         */
+        Double3 get(long key) {
+            for (int i = slot(key); values[i] != null; i = (i + 1) & (keys.length - 1)) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * keeps the value of a corner that isn't kept yet
+         * @param key the column and row of the corner
+         * @param value the value
+         */
+        void put(long key, Double3 value) {
+            if (2 * size >= keys.length) {
+                clear();
+            }
+            int i = slot(key);
+            while (values[i] != null) {
+                i = (i + 1) & (keys.length - 1);
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+
+        /**
+         * removes all the values
+         */
+        void clear() {
+            if (size > 0) {
+                Arrays.fill(values, null);
+                size = 0;
+            }
+        }
+    }
+
+    /**
+     * an empty constructor to initialize an adaptive super sampler object
+     */
+    public AdaptiveSuperSampler() {
+        super();
+    }
+
+    /**
+     * setter method for the maximum depth of the super sampler
+     * @param maxDepth the maximum number of times a pixel is divided into quarters - a pixel is sampled by a grid
+     *                 of at most (2^maxDepth+1)x(2^maxDepth+1) points
+     * @return the AdaptiveSuperSampler object
+     * @throws IllegalArgumentException if the maximum depth isn't between 1 and 10
+     */
+    public AdaptiveSuperSampler setMaxDepth(int maxDepth) {
+        if (maxDepth < 1 || maxDepth > 10) {
+            throw new IllegalArgumentException("maximum depth must be between 1 and 10.");
+        }
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * setter method for the threshold of the super sampler
+     * @param threshold the largest difference between the color components of the corners of a square that
+     *                  isn't divided into quarters
+     * @return the AdaptiveSuperSampler object
+     * @throws IllegalArgumentException if the threshold is negative
+     */
+    public AdaptiveSuperSampler setThreshold(double threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold must not be negative.");
+        }
+        this.threshold = threshold;
+        return this;
+    }
+
+    /**
+     * setter method for the center of the view plane. the grid of the corners starts from it, so the same
+     * corner is always traced through the same point, no matter which pixel traces it first.
+     * @param viewPlaneCenter the center of the view plane
+     * @return the AdaptiveSuperSampler object
+     */
+    public AdaptiveSuperSampler setViewPlaneCenter(Point viewPlaneCenter) {
+        this.viewPlaneCenter = viewPlaneCenter;
+        return this;
+    }
+
+    @Override
+    public void clearCache() {
+        generation++;
+    }
+
+    @Override
+    public Double3 calculateValue(Point convergence, Point targetAreaCenter) {
+        Cache cache = caches.get();
+        if (cache.generation != generation || cache.size > CACHE_SIZE) {
+            cache.clear();
+            cache.generation = generation;
+        }
+        // the grid divides every pixel into 2^maxDepth x 2^maxDepth squares
+        int cells = 1 << maxDepth;
+        double cellWidth = targetArea.width / cells;
+        double cellHeight = targetArea.height / cells;
+        // without the center of the view plane, the grid starts from the pixel and its corners aren't shared
+        Point origin = viewPlaneCenter == null ? targetAreaCenter : viewPlaneCenter;
+        double dx = targetAreaCenter.getX() - origin.getX();
+        double dy = targetAreaCenter.getY() - origin.getY();
+        double dz = targetAreaCenter.getZ() - origin.getZ();
+        long column = Math.round((dx * right.getX() + dy * right.getY() + dz * right.getZ()) / cellWidth);
+        long row = Math.round((dx * up.getX() + dy * up.getY() + dz * up.getZ()) / cellHeight);
+        Grid grid = new Grid(convergence, origin, cellWidth, cellHeight, column, row, viewPlaneCenter == null
+                ? new Cache(Math.min(2 * CACHE_SIZE, 4 * Integer.highestOneBit((cells + 1) * (cells + 1))))
+                : cache);
+
+        int half = cells / 2;
+        return sample(grid, -half, -half, cells,
+                corner(grid, -half, -half), corner(grid, half, -half),
+                corner(grid, -half, half), corner(grid, half, half), 0);
+    }
+
+    /**
+     * the grid of corners around a pixel that is sampled
+     * @param convergence the point where all the sample rays converge
+     * @param origin the point the grid starts from
+     * @param cellWidth the width of a square of the grid
+     * @param cellHeight the height of a square of the grid
+     * @param column the column of the center of the pixel in the grid
+     * @param row the row of the center of the pixel in the grid
+     * @param cache the corner values of the thread
+     */
+    private record Grid(Point convergence, Point origin, double cellWidth, double cellHeight, long column,
+                        long row, Cache cache) {
+    }
+
+    /**
+     * the value of a corner of the grid around a pixel, which is traced only if it isn't kept
+     * @param grid the grid around the pixel
+     * @param x the column of the corner, relative to the center of the pixel
+     * @param y the row of the corner, relative to the center of the pixel
+     * @return the value of the ray through the corner
+     */
+    private Double3 corner(Grid grid, int x, int y) {
+        long column = grid.column + x;
+        long row = grid.row + y;
+        long key = column << 32 ^ row & 0xFFFFFFFFL;
+        Double3 value = grid.cache.get(key);
+        if (value == null) {
+            double right = column * grid.cellWidth;
+            double up = row * grid.cellHeight;
+            Point origin = grid.origin;
+            Point point = new Point(origin.getX() + this.right.getX() * right + this.up.getX() * up,
+                    origin.getY() + this.right.getY() * right + this.up.getY() * up,
+                    origin.getZ() + this.right.getZ() * right + this.up.getZ() * up);
+            value = traceRayValue(new Ray(grid.convergence, point.subtract(grid.convergence)));
+            grid.cache.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * samples a square of the grid around a pixel. if the colors of its corners are too different, and it
+     * isn't at the maximum depth, it is divided into four quarters that are sampled the same way.
+     * @param grid the grid around the pixel
+     * @param x the column of the bottom left corner of the square, relative to the center of the pixel
+     * @param y the row of the bottom left corner of the square, relative to the center of the pixel
+     * @param size the number of columns and rows of the grid in the square
+     * @param bottomLeft the value of the bottom left corner
+     * @param bottomRight the value of the bottom right corner
+     * @param topLeft the value of the top left corner
+     * @param topRight the value of the top right corner
+     * @param depth the number of times the pixel was divided into quarters
+     * @return the average value of the square
+     */
+    private Double3 sample(Grid grid, int x, int y, int size, Double3 bottomLeft, Double3 bottomRight,
+                           Double3 topLeft, Double3 topRight, int depth) {
+        if (depth == maxDepth || !differ(bottomLeft, bottomRight, topLeft, topRight)) {
+            return bottomLeft.add(bottomRight).add(topLeft).add(topRight).reduce(4);
+        }
+        int half = size / 2;
+        Double3 bottom = corner(grid, x + half, y);
+        Double3 left = corner(grid, x, y + half);
+        Double3 middle = corner(grid, x + half, y + half);
+        Double3 rightSide = corner(grid, x + size, y + half);
+        Double3 top = corner(grid, x + half, y + size);
+        return sample(grid, x, y, half, bottomLeft, bottom, left, middle, depth + 1)
+                .add(sample(grid, x + half, y, half, bottom, bottomRight, middle, rightSide, depth + 1))
+                .add(sample(grid, x, y + half, half, left, middle, topLeft, top, depth + 1))
+                .add(sample(grid, x + half, y + half, half, middle, rightSide, top, topRight, depth + 1))
+                .reduce(4);
+    }
+
+    /**
+     * checks if the values of the corners of a square are too different
+     * @param a the value of the first corner
+     * @param b the value of the second corner
+     * @param c the value of the third corner
+     * @param d the value of the fourth corner
+     * @return true if two of the values differ in a component by more than the threshold, false if they don't
+     */
+    private boolean differ(Double3 a, Double3 b, Double3 c, Double3 d) {
+        return spread(a.getD1(), b.getD1(), c.getD1(), d.getD1()) > threshold
+                || spread(a.getD2(), b.getD2(), c.getD2(), d.getD2()) > threshold
+                || spread(a.getD3(), b.getD3(), c.getD3(), d.getD3()) > threshold;
+    }
+
+    /**
+     * the difference between the largest and smallest of four numbers
+     * @param a the first number
+     * @param b the second number
+     * @param c the third number
+     * @param d the fourth number
+     * @return the difference between the largest and smallest number
+     */
+    private static double spread(double a, double b, double c, double d) {
+        return Math.max(Math.max(a, b), Math.max(c, d)) - Math.min(Math.min(a, b), Math.min(c, d));
+    }
+}
@@ -11,11 +11,11 @@ import java.util.List;
  */
 public class AntiAliasingSuperSampler extends SuperSampler {
     /** a ray tracer the super sampler uses to calculate the color received from each sample ray */
-    private RayTracerBase rayTracer = null;
+    protected RayTracerBase rayTracer = null;
     /** a vector represents the up direction of the target area */
-    private Vector up;
+    protected Vector up;
     /** a vector represents the right direction of the target area */
-    private Vector right;
+    protected Vector right;
 
     /**
      * an empty constructor to initialize an antialiasing super sampler object
@@ -1,9 +1,17 @@
 package renderer;
 
+import geometries.Geometry;
+import geometries.Intersectable.GeoPoint;
 import primitives.*;
 
-import java.util.LinkedList;
+import java.io.Serial;
+import java.util.Iterator;
+import java.util.List;
 import java.util.MissingResourceException;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
 import static primitives.Util.isZero;
 
 /**
@@ -36,23 +44,58 @@ public class Camera implements Cloneable {
 
     /** a super sampler for antialiasing */
     private AntiAliasingSuperSampler antiAliasingSuperSampler = null;
+    /**
+     * a flag to represent whether the antialiasing is done only at the edges of the image - the pixels where the
+     * geometry, the normal or the color changes from a neighbouring pixel
+     */
+    private boolean edgeAntiAliasing = false;
     /***/
     private boolean boundaryVolumeOn = false;
+    /** a flag to represent whether the geometries of the scene are compiled into a uniform grid before rendering */
+    private boolean uniformGridOn = false;
 
 
-    /** Pixel manager for supporting:
+    /** Tile scheduler for supporting:
      * <ul>
      * <li>multi-threading</li>
-     * <li>debug print of progress percentage in Console window/tab</li>
+     * <li>following the progress of the render</li>
      * <ul>
      */
-    private PixelManager pixelManager;
+    private TileScheduler tileScheduler;
+    /** the number of rows and columns of pixels of the tiles the image is rendered in */
+    private int tileSize = 16;
+    /** the order in which the tiles of the image are rendered */
+    private TileOrder tileOrder = TileOrder.ROWS;
+    /** the listener the progress of the render is reported to, null if it isn't reported */
+    private RenderListener renderListener = null;
+    /** the interval between reports of the progress of the render, in seconds */
+    private double progressInterval = 1;
 
 
     /**
      * Amount of threads for multi threading, if not set is 0, so no multi threading is done
      */
     private int numOfThreads = 0;
+    /**
+     * the pool of threads that was given to the camera for rendering, which can be shared by several cameras
+     * and renders, or null if the camera makes a pool of its own by the number of threads for every render
+     */
+    private ForkJoinPool renderPool = null;
+    /** the pool of threads of the current render, null if it is rendered in the thread of the camera */
+    private ForkJoinPool pool = null;
+    /**
+     * the time in nanoseconds after which a thread that still renders a tile gives the rest of its rows to
+     * threads that are idle
+     */
+    private static final long SPLIT_TIME = 5_000_000L;
+    /** the size of the blocks of pixels that the first pass of a progressive render traces a single ray for */
+    private static final int PROGRESSIVE_BLOCK = 8;
+    /** the number of passes in which a progressive render adds the samples of the antialiasing */
+    private static final int ANTI_ALIASING_PASSES = 4;
+    /** the smallest cosine of the angle between the normals of neighbouring pixels that aren't an edge */
+    private static final double EDGE_NORMAL_COSINE = 0.95;
+    /** the largest difference between a color component of neighbouring pixels that aren't an edge */
+    private static final int EDGE_COLOR_DIFFERENCE = 24;
 
     /**
      * private constructor for camera
@@ -164,70 +207,456 @@ public class Camera implements Cloneable {
      * @return the camera object
      */
     public Camera renderImage() {
-        if (boundaryVolumeOn){
-            rayTracer.scene.geometries.calcBoundaryBox();
+        prepareScene();
+        int nx = imageWriter.getNx();
+        int ny = imageWriter.getNy();
+        startPool();
+        try {
+            if (antiAliasingSuperSampler != null && edgeAntiAliasing) {
+                renderEdges(nx, ny);
+            } else {
+                renderPass(nx, ny, (j, i) -> castRay(nx, ny, j, i).getColor().getRGB(), null);
+            }
+        } finally {
+            stopPool();
+        }
+        return this;
+    }
+
+    /**
+     * chooses the pool of threads of a render - the pool that was given to the camera, or a pool of its own if
+     * a number of threads was set
+     */
+    private void startPool() {
+        pool = renderPool != null ? renderPool : numOfThreads > 0 ? new ForkJoinPool(numOfThreads) : null;
+    }
+
+    /**
+     * ends the pool of threads of a render, if the camera made it
+     */
+    private void stopPool() {
+        if (pool != null && pool != renderPool) {
+            pool.shutdown();
         }
+        pool = null;
+    }
+
+    /**
+     * creates the image in two passes, so the antialiasing is done only where it is seen. the first pass casts
+     * a single ray through every pixel and keeps the geometry it hits and its normal there, and the second pass
+     * casts the whole beam of the super sampler only through the pixels of the edges, and keeps the color of
+     * the first pass for the rest.
+     * @param nX the number of columns on the view plane
+     * @param nY the number of rows on the view plane
+     */
+    private void renderEdges(int nX, int nY) {
+        int[] colors = new int[nX * nY];
+        Geometry[] geometries = new Geometry[nX * nY];
+        Vector[] normals = new Vector[nX * nY];
+        renderPass(nX, nY, (j, i) -> {
+            Ray ray = constructRay(nX, nY, j, i);
+            GeoPoint closest = rayTracer.findClosestIntersection(ray);
+            if (closest != null) {
+                geometries[i * nX + j] = closest.geometry;
+                normals[i * nX + j] = closest.geometry.getNormal(closest.point);
+            }
+            return rayTracer.traceRay(ray, closest).getColor().getRGB();
+        }, colors);
+
+        boolean[] edges = findEdges(nX, nY, colors, geometries, normals);
+        renderPass(nX, nY, (j, i) -> edges[i * nX + j] ? castRay(nX, nY, j, i).getColor().getRGB()
+                : colors[i * nX + j], null);
+    }
+
+    /**
+     * finds the pixels of the edges of the image - every pixel that its geometry, normal or color is too different
+     * from the pixel to its right or below it is an edge, and so is that neighbouring pixel
+     * @param nX the number of columns on the view plane
+     * @param nY the number of rows on the view plane
+     * @param colors the packed RGB colors of the pixels, row after row
+     * @param geometries the geometries the rays through the pixels hit, null where they hit nothing
+     * @param normals the normals of the geometries where the rays through the pixels hit them
+     * @return whether every pixel is an edge, row after row
+     */
+    static boolean[] findEdges(int nX, int nY, int[] colors, Geometry[] geometries, Vector[] normals) {
+        boolean[] edges = new boolean[nX * nY];
+        for (int i = 0; i < nY; i++) {
+            for (int j = 0; j < nX; j++) {
+                int pixel = i * nX + j;
+                if (j + 1 < nX && isEdge(pixel, pixel + 1, colors, geometries, normals)) {
+                    edges[pixel] = edges[pixel + 1] = true;
+                }
+                if (i + 1 < nY && isEdge(pixel, pixel + nX, colors, geometries, normals)) {
+                    edges[pixel] = edges[pixel + nX] = true;
+                }
+            }
+        }
+        return edges;
+    }
 
+    /**
+     * checks if there is an edge between two pixels
+     * @param a the index of the first pixel
+     * @param b the index of the second pixel
+     * @param colors the packed RGB colors of the pixels
+     * @param geometries the geometries the rays through the pixels hit
+     * @param normals the normals of the geometries where the rays through the pixels hit them
+     * @return true if the pixels hit different geometries, at normals or in colors that are too different
+     */
+    private static boolean isEdge(int a, int b, int[] colors, Geometry[] geometries, Vector[] normals) {
+        if (!Objects.equals(geometries[a], geometries[b])) {
+            return true;
+        }
+        if (normals[a] != null && normals[b] != null
+                && normals[a].dotProduct(normals[b]) < EDGE_NORMAL_COSINE) {
+            return true;
+        }
+        for (int shift = 0; shift <= 16; shift += 8) {
+            if (Math.abs((colors[a] >> shift & 0xFF) - (colors[b] >> shift & 0xFF)) > EDGE_COLOR_DIFFERENCE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * creates the image progressively, in passes that each refine the previous one, and shows every pass to a
+     * listener. the first pass traces a single ray for every block of {@value #PROGRESSIVE_BLOCK}x
+     * {@value #PROGRESSIVE_BLOCK} pixels, and every following pass halves the blocks, tracing only the pixels
+     * that weren't traced before, until every pixel is traced. if antialiasing is used, the samples of every
+     * pixel are then added in {@value #ANTI_ALIASING_PASSES} more passes - or in a single pass by an
+     * {@link AdaptiveSuperSampler}, which chooses its samples by the samples it traced before. the final image
+     * is the same as the image of {@link #renderImage()} if the sample points of the antialiasing are seeded.
+     * the samples of every pixel are taken from the same beam in all the passes, so sample points that aren't
+     * seeded are seeded by a random seed for the render.
+     * @param listener the listener that receives the image after every pass
+     * @return the camera object
+     */
+    public Camera renderProgressive(PreviewListener listener) {
+        prepareScene();
         int nx = imageWriter.getNx();
         int ny = imageWriter.getNy();
+        // the colors of the pixels that were traced, and the image that is shown after every pass
+        int[] colors = new int[nx * ny];
+        int[] framebuffer = new int[nx * ny];
+        int antiAliasingPasses = antiAliasingSuperSampler == null ? 0
+                : antiAliasingSuperSampler instanceof AdaptiveSuperSampler ? 1 : ANTI_ALIASING_PASSES;
+        int passes = Integer.numberOfTrailingZeros(PROGRESSIVE_BLOCK) + 1 + antiAliasingPasses;
+        int pass = 0;
+        // the beam of a pixel is generated again in every pass, so it is the same beam only if it is seeded
+        TargetAreaBase targetArea = antiAliasingPasses == ANTI_ALIASING_PASSES
+                ? antiAliasingSuperSampler.getTargetArea() : null;
+        boolean seedTargetArea = targetArea != null && !targetArea.isSeeded();
+        if (seedTargetArea) {
+            targetArea.setSeed(ThreadLocalRandom.current().nextLong());
+        }
 
-        pixelManager = new PixelManager(ny, nx, 0);
-
-        //if not using multi threads
-        if (numOfThreads == 0) {
-            //goes through every pixel in view plane  and casts ray, meaning creates a ray for every pixel and sets the color
-            for (int j = 0; j < nx; j++) {
+        startPool();
+        try {
+            for (int block = PROGRESSIVE_BLOCK; block >= 1; block /= 2) {
+                int size = block;
+                int larger = block * 2;
+                // the corners of the larger blocks of the previous passes are kept
+                renderPass(nx, ny, (j, i) -> j % size != 0 || i % size != 0
+                        || (size < PROGRESSIVE_BLOCK && j % larger == 0 && i % larger == 0)
+                        ? colors[i * nx + j]
+                        : rayTracer.traceRay(constructRay(nx, ny, j, i)).getColor().getRGB(), colors);
+                // every block is colored by the pixel of its corner
                 for (int i = 0; i < ny; i++) {
-                    castRay(nx, ny, j, i);
+                    for (int j = 0; j < nx; j++) {
+                        framebuffer[i * nx + j] = colors[(i - i % size) * nx + j - j % size];
+                    }
+                }
+                imageWriter.writeTile(0, 0, nx, ny, framebuffer);
+                listener.preview(++pass, passes, framebuffer);
+            }
+
+            // the sums of the values of the samples of every pixel
+            double[] sums = antiAliasingPasses == ANTI_ALIASING_PASSES ? new double[3 * nx * ny] : null;
+            for (int round = 0; round < antiAliasingPasses; round++) {
+                int part = round;
+                renderPass(nx, ny, sums == null ? (j, i) -> castRay(nx, ny, j, i).getColor().getRGB()
+                        : (j, i) -> addSamples(nx, ny, j, i, part, sums, framebuffer), framebuffer);
+                imageWriter.writeTile(0, 0, nx, ny, framebuffer);
+                listener.preview(++pass, passes, framebuffer);
+            }
+        } finally {
+            stopPool();
+            if (seedTargetArea) {
+                targetArea.clearSeed();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * traces a part of the antialiasing samples of a pixel and adds their values to the sums of the pixel. the
+     * values are summed in the same order as by {@link SuperSampler#calculateValue(Point, Point)}, so after
+     * the last part the color of the pixel is exactly the color the super sampler calculates.
+     * @param nX the number of columns on the view plane
+     * @param nY the number of rows on the view plane
+     * @param j the index of the column of the pixel on the view plane
+     * @param i the index of the row of the pixel on the view plane
+     * @param part the part of the samples, out of {@value #ANTI_ALIASING_PASSES} parts
+     * @param sums the sums of the values of the samples of every pixel
+     * @param framebuffer the image of the previous pass
+     * @return the color of the pixel from the samples that were traced so far, or its color in the previous
+     * pass if the part has no samples
+     */
+    private int addSamples(int nX, int nY, int j, int i, int part, double[] sums, int[] framebuffer) {
+        List<Ray> beam = antiAliasingSuperSampler.generateBeamOfRays(p0, getPixelCenter(nX, nY, j, i));
+        int first = beam.size() * part / ANTI_ALIASING_PASSES;
+        int last = beam.size() * (part + 1) / ANTI_ALIASING_PASSES;
+        if (first == last) {
+            return framebuffer[i * nX + j];
+        }
+        int index = 3 * (i * nX + j);
+        double r = sums[index], g = sums[index + 1], b = sums[index + 2];
+        Iterator<Ray> rays = beam.listIterator(first);
+        for (int k = first; k < last; k++) {
+            Double3 value = antiAliasingSuperSampler.traceRayValue(rays.next());
+            r += value.getD1();
+            g += value.getD2();
+            b += value.getD3();
+        }
+        sums[index] = r;
+        sums[index + 1] = g;
+        sums[index + 2] = b;
+        return new Color(new Double3(r, g, b).reduce(last)).getColor().getRGB();
+    }
+
+    /**
+     * prepares the geometries of the scene for rendering
+     */
+    private void prepareScene() {
+        // only the boxes of geometries that moved since the last frame are updated. the grid is compiled once,
+        // and also in place of a flat hierarchy the scene was compiled into before
+        if (uniformGridOn && !rayTracer.scene.geometries.isGrid()) {
+            rayTracer.scene.geometries.compileGrid();
+        } else if (uniformGridOn || boundaryVolumeOn){
+            rayTracer.scene.geometries.refit();
+        }
+        // the samples kept from an earlier render may have changed with the scene
+        if (antiAliasingSuperSampler != null) {
+            antiAliasingSuperSampler.clearCache();
+        }
+    }
+
+    /**
+     * colors a single pixel in a pass over the image
+     */
+    @FunctionalInterface
+    private interface PixelPass {
+        /**
+         * calculates the color of a pixel
+         * @param j the index of the column of the pixel on the view plane
+         * @param i the index of the row of the pixel on the view plane
+         * @return the packed RGB color of the pixel
+         */
+        int color(int j, int i);
+    }
+
+    /**
+     * colors every pixel of the image, tile after tile, in the threads of the camera
+     * @param nX the number of columns on the view plane
+     * @param nY the number of rows on the view plane
+     * @param pass the pass that colors the pixels
+     * @param target the packed RGB colors of the image, row after row, that the pass colors, or null to color
+     *               the pixels of the image writer
+     */
+    private void renderPass(int nX, int nY, PixelPass pass, int[] target) {
+        tileScheduler = new TileScheduler(nX, nY, tileSize, tileOrder);
+
+        // the progress is reported from a thread of its own while the image is rendered, and once more at the end
+        ProgressReporter reporter = renderListener == null ? null
+                : new ProgressReporter(tileScheduler, renderListener, progressInterval);
+        try {
+            //if not using multi threads
+            if (pool == null) {
+                int[] buffer = new int[tileSize * tileSize];
+                TileScheduler.Tile tile;
+                // allocate tiles in loop until there are no more tiles
+                while ((tile = tileScheduler.nextTile()) != null) {
+                    int index = 0;
+                    for (int i = tile.y(); i < tile.y() + tile.height(); i++) {
+                        for (int j = tile.x(); j < tile.x() + tile.width(); j++) {
+                            buffer[index++] = pass.color(j, i);
+                        }
+                    }
+                    write(target, nX, tile.x(), tile.y(), tile.width(), tile.height(), buffer);
+                    tileScheduler.tileDone(tile);
                 }
+
+            //if using multi threads
+            } else {
+                pool.invoke(new TilesTask(nX, pass, target, 0, tileScheduler.tileCount()));
             }
+        } finally {
+            if (reporter != null) {
+                reporter.close();
+            }
+        }
+    }
 
-        //if using multi threads
+    /**
+     * writes the colors of a rectangle of pixels at once
+     * @param target the packed RGB colors of the image, or null to write into the image writer
+     * @param nX the number of columns on the view plane
+     * @param x the index of the first column of the rectangle
+     * @param y the index of the first row of the rectangle
+     * @param width the number of columns of the rectangle
+     * @param height the number of rows of the rectangle
+     * @param buffer the packed RGB colors of the rectangle, row after row
+     */
+    private void write(int[] target, int nX, int x, int y, int width, int height, int[] buffer) {
+        if (target == null) {
+            imageWriter.writeTile(x, y, width, height, buffer);
         } else {
-            int threadsCount = numOfThreads;
-            var threads = new LinkedList<Thread>(); // list of threads
-            while (threadsCount-- > 0) // add appropriate number of threads
-                threads.add(new Thread(() -> { // add a thread with its code
-                    PixelManager.Pixel pixel; // current pixel(row,col)
-                    // allocate pixel(row,col) in loop until there are no more pixels
-                    while ((pixel = pixelManager.nextPixel()) != null)
-                        // cast ray through pixel (and color it – inside castRay)
-                        castRay(nx, ny, pixel.col(), pixel.row());
-                }));
+            for (int row = 0; row < height; row++) {
+                System.arraycopy(buffer, row * width, target, (y + row) * nX + x, width);
+            }
+        }
+    }
+
+    /**
+     * a task that renders a range of tiles in the order of the tile scheduler. it splits the range in two until
+     * every task renders a single tile, so the threads of the pool steal the halves of the image that weren't
+     * started yet. since the tile orders keep neighbouring tiles close in the order, the tiles each thread
+     * steals are close to each other too.
+     */
+    private class TilesTask extends RecursiveAction {
+        /** the version of the task for serialization, which the tasks of a render don't need */
+        @Serial
+        private static final long serialVersionUID = 1L;
+        /** the number of columns on the view plane */
+        private final int nX;
+        /** the pass that colors the pixels */
+        private final transient PixelPass pass;
+        /** the colors the pass colors, or null to color the pixels of the image writer */
+        private final int[] target;
+        /** the place of the first tile of the range in the order of the tiles */
+        private final int first;
+        /** the place after the last tile of the range in the order of the tiles */
+        private final int last;
 
-            // start all the threads
-            for (Thread thread : threads)
-                thread.start();
+        /**
+         * constructor to initialize a task for a range of tiles
+         * @param nX the number of columns on the view plane
+         * @param pass the pass that colors the pixels
+         * @param target the colors the pass colors, or null to color the pixels of the image writer
+         * @param first the place of the first tile of the range in the order of the tiles
+         * @param last the place after the last tile of the range in the order of the tiles
+         */
+        TilesTask(int nX, PixelPass pass, int[] target, int first, int last) {
+            this.nX = nX;
+            this.pass = pass;
+            this.target = target;
+            this.first = first;
+            this.last = last;
+        }
 
-            // wait until all the threads have finished
-            try {
-                for (Thread thread : threads)
-                    thread.join();
-            } catch (InterruptedException ignore) {
+        @Override
+        protected void compute() {
+            if (last - first > 1) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new TilesTask(nX, pass, target, first, middle),
+                        new TilesTask(nX, pass, target, middle, last));
+            } else if (last > first) {
+                TileScheduler.Tile tile = tileScheduler.tile(first);
+                new RowsTask(nX, pass, target, tile.x(), tile.width(), tile.y(), tile.y() + tile.height())
+                        .compute();
+                tileScheduler.tileDone(tile);
             }
+        }
+    }
 
+    /**
+     * a task that renders rows of a tile. when the rows take longer than {@link #SPLIT_TIME} while other threads
+     * of the pool are idle, the task gives the second half of its remaining rows to a new task that an idle
+     * thread can steal, so a slow part of the image - such as a reflective region - is rendered by several
+     * threads at the end of the render instead of by a single one.
+     */
+    private class RowsTask extends RecursiveAction {
+        /** the version of the task for serialization, which the tasks of a render don't need */
+        @Serial
+        private static final long serialVersionUID = 1L;
+        /** the number of columns on the view plane */
+        private final int nX;
+        /** the pass that colors the pixels */
+        private final transient PixelPass pass;
+        /** the colors the pass colors, or null to color the pixels of the image writer */
+        private final int[] target;
+        /** the index of the first column of the tile */
+        private final int x;
+        /** the number of columns of the tile */
+        private final int width;
+        /** the index of the first row of the task */
+        private final int top;
+        /** the index of the row after the last row of the task */
+        private final int bottom;
+
+        /**
+         * constructor to initialize a task for rows of a tile
+         * @param nX the number of columns on the view plane
+         * @param pass the pass that colors the pixels
+         * @param target the colors the pass colors, or null to color the pixels of the image writer
+         * @param x the index of the first column of the tile
+         * @param width the number of columns of the tile
+         * @param top the index of the first row of the task
+         * @param bottom the index of the row after the last row of the task
+         */
+        RowsTask(int nX, PixelPass pass, int[] target, int x, int width, int top, int bottom) {
+            this.nX = nX;
+            this.pass = pass;
+            this.target = target;
+            this.x = x;
+            this.width = width;
+            this.top = top;
+            this.bottom = bottom;
+        }
+
+        @Override
+        protected void compute() {
+            int[] buffer = new int[width * (bottom - top)];
+            int end = bottom;
+            RowsTask rest = null;
+            long start = System.nanoTime();
+            int row = top;
+            for (; row < end; row++) {
+                for (int j = x; j < x + width; j++) {
+                    buffer[(row - top) * width + j - x] = pass.color(j, row);
+                }
+                // the split rows are left to the thread that finds them in the queue
+                if (rest == null && end - row > 2 && System.nanoTime() - start > SPLIT_TIME
+                        && getSurplusQueuedTaskCount() <= 0) {
+                    int middle = (row + 1 + end) >>> 1;
+                    rest = new RowsTask(nX, pass, target, x, width, middle, end);
+                    rest.fork();
+                    end = middle;
+                }
+            }
+            write(target, nX, x, top, width, end - top, buffer);
+            if (rest != null) {
+                rest.join();
+            }
         }
-        return this;
     }
 
     /**
-     * colors a pixel by casting a ray through it and calculating the appropriate color
+     * calculates the color of a pixel by casting a ray through it
      * @param nX the number of columns on the view plane
      * @param nY the number of rows on the view plane
      * @param j the index of the column of the pixel on the view plane
      * @param i the index of the row of the pixel on the view plane
+     * @return the color of the pixel
      */
-    private void castRay(int nX, int nY, int j, int i) {
-        Color color;
+    private Color castRay(int nX, int nY, int j, int i) {
         if (antiAliasingSuperSampler == null) {
             Ray ray = constructRay(nX, nY, j, i);
-            color = rayTracer.traceRay(ray);
-        } else {
-            Point pixelCenter = getPixelCenter(nX,nY,j,i);
-            color = antiAliasingSuperSampler.calculateColor(p0, pixelCenter);
+            return rayTracer.traceRay(ray);
         }
-        imageWriter.writePixel(j, i, color);
-        pixelManager.pixelDone();
+        Point pixelCenter = getPixelCenter(nX,nY,j,i);
+        return antiAliasingSuperSampler.calculateColor(p0, pixelCenter);
     }
 
     /**
@@ -367,8 +796,21 @@ public class Camera implements Cloneable {
         }
 
         /**
-         * setter for number of threads in use
-         * @param numOfThreads the number of threads
+         * a setter function for the flag of the edge antialiasing - when it is on, the beam of the antialiasing
+         * super sampler is cast only through the pixels of the edges of the image, which are found by a first
+         * pass of a single ray through every pixel. it is ignored by a progressive render.
+         * @param edgeAntiAliasing the edgeAntiAliasing value
+         * @return the camera object with the updated edgeAntiAliasing value
+         */
+        public Builder setEdgeAntiAliasing(boolean edgeAntiAliasing) {
+            camera.edgeAntiAliasing = edgeAntiAliasing;
+            return this;
+        }
+
+        /**
+         * setter for number of threads in use. a pool of this number of threads is made for every render,
+         * unless a pool is given by {@link #setRenderPool(ForkJoinPool)}
+         * @param numOfThreads the number of threads, or 0 to render in the thread of the camera
          * @return the camera object
          */
         public Builder setNumOfThreads(int numOfThreads) {
@@ -376,6 +818,57 @@ public class Camera implements Cloneable {
             return this;
         }
 
+        /**
+         * setter for a pool of threads that renders the image, which can be shared by several cameras and renders.
+         * when it is set, the number of threads is ignored.
+         * @param renderPool the pool of threads, or null to render in the threads of the camera
+         * @return the camera object
+         */
+        public Builder setRenderPool(ForkJoinPool renderPool) {
+            camera.renderPool = renderPool;
+            return this;
+        }
+
+        /**
+         * a setter function for the listener the progress of the render is reported to
+         * @param listener the listener, or null if the progress isn't reported
+         * @param interval the interval between reports in seconds
+         * @return the camera object with the updated listener
+         * @throws IllegalArgumentException if the interval is not positive
+         */
+        public Builder setRenderListener(RenderListener listener, double interval) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException("Progress interval must be a positive number.");
+            }
+            camera.renderListener = listener;
+            camera.progressInterval = interval;
+            return this;
+        }
+
+        /**
+         * a setter function for the size of the tiles the image is rendered in
+         * @param tileSize the number of rows and columns of pixels of each tile
+         * @return the camera object with the updated tile size
+         * @throws IllegalArgumentException if the tile size is not positive
+         */
+        public Builder setTileSize(int tileSize) {
+            if (tileSize <= 0) {
+                throw new IllegalArgumentException("Tile size must be a positive number.");
+            }
+            camera.tileSize = tileSize;
+            return this;
+        }
+
+        /**
+         * a setter function for the order in which the tiles of the image are rendered
+         * @param tileOrder the order of the tiles
+         * @return the camera object with the updated tile order
+         */
+        public Builder setTileOrder(TileOrder tileOrder) {
+            camera.tileOrder = tileOrder;
+            return this;
+        }
+
         /**
          * a setter function for the flag of the boundary volume improvement
          * @param boundaryVolumeOn the boundaryVolumeOn value
@@ -386,6 +879,17 @@ public class Camera implements Cloneable {
             return this;
         }
 
+        /**
+         * a setter function for the flag of the uniform grid improvement - when it is on, the geometries of
+         * the scene are compiled into a uniform grid before rendering, instead of using their boundary boxes
+         * @param uniformGridOn the uniformGridOn value
+         * @return the camera object with the updated uniformGridOn value
+         */
+        public Builder setUniformGridOn(boolean uniformGridOn) {
+            camera.uniformGridOn = uniformGridOn;
+            return this;
+        }
+
         /***
          * checks that all the necessary data is set for the camera and is valid, and calculates the missing data
          * @return a copy of the camera object that was built
@@ -447,6 +951,9 @@ public class Camera implements Cloneable {
                         .getTargetArea()
                         .setHeight(camera.viewPlaneHeight / camera.imageWriter.getNy())
                         .setWidth(camera.viewPlaneWidth / camera.imageWriter.getNx());
+                if (camera.antiAliasingSuperSampler instanceof AdaptiveSuperSampler adaptive) {
+                    adaptive.setViewPlaneCenter(camera.pc);
+                }
             }
             try{
                 return (Camera) camera.clone();
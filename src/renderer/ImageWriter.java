@@ -78,5 +78,25 @@ public class ImageWriter {
       image.setRGB(xIndex, yIndex, color.getColor().getRGB());
    }
 
+   /** The function readPixel reads the color of a specific pixel from pixel color
+    * matrix
+    * @param xIndex X axis index of the pixel
+    * @param yIndex Y axis index of the pixel
+    * @return the packed RGB color of the pixel */
+   int readPixel(int xIndex, int yIndex) {
+      return image.getRGB(xIndex, yIndex) & 0xFFFFFF;
+   }
+
+   /** The function writeTile writes the colors of a rectangle of pixels into pixel
+    * color matrix at once
+    * @param xIndex X axis index of the top left pixel of the rectangle
+    * @param yIndex Y axis index of the top left pixel of the rectangle
+    * @param width  the amount of pixels by width of the rectangle
+    * @param height the amount of pixels by height of the rectangle
+    * @param rgb    the packed RGB colors of the pixels, row after row */
+   public void writeTile(int xIndex, int yIndex, int width, int height, int[] rgb) {
+      image.setRGB(xIndex, yIndex, width, height, rgb, 0, width);
+   }
+
 }
 
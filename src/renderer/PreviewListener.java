@@ -0,0 +1,18 @@
+package renderer;
+
+/**
+ * PreviewListener receives the image of a progressive render after every pass of the render
+ * @author Rachel and Tehila
+ */
+@FunctionalInterface
+public interface PreviewListener {
+    /**
+     * receives the image after a pass of the render. the image is also written into the image writer of the
+     * camera, so it can be saved from the listener.
+     * @param pass the number of the pass, starting from 1
+     * @param passes the number of passes of the render
+     * @param framebuffer the packed RGB colors of the image, row after row. it is changed by the next passes,
+     *                    so it must be copied to be kept.
+     */
+    void preview(int pass, int passes, int[] framebuffer);
+}
@@ -0,0 +1,60 @@
+package renderer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProgressReporter is a background thread that reports the progress of a render to a listener at a fixed
+ * interval. it reads the counters of the tile scheduler, so the rendering threads only add to their counters
+ * and never wait for the listener.
+ * @author Rachel and Tehila
+ */
+class ProgressReporter implements AutoCloseable {
+    /** the scheduler of the tiles of the render */
+    private final TileScheduler scheduler;
+    /** the listener the progress is reported to */
+    private final RenderListener listener;
+    /** the thread that reports the progress */
+    private final Thread thread;
+
+    /**
+     * constructor that starts reporting the progress of a render
+     * @param scheduler the scheduler of the tiles of the render
+     * @param listener the listener the progress is reported to
+     * @param interval the interval between reports in seconds
+     * @throws IllegalArgumentException if the interval isn't positive
+     */
+    ProgressReporter(TileScheduler scheduler, RenderListener listener, double interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("progress interval must be positive.");
+        }
+        this.scheduler = scheduler;
+        this.listener = listener;
+        long nanos = (long) (interval * 1e9);
+        thread = new Thread(() -> {
+            try {
+                while (true) {
+                    TimeUnit.NANOSECONDS.sleep(nanos);
+                    listener.progress(scheduler.progress());
+                }
+            } catch (InterruptedException ignore) {
+                // the render ended
+            }
+        }, "render progress");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * stops reporting and reports the final progress of the render
+     */
+    @Override
+    public void close() {
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        listener.progress(scheduler.progress());
+    }
+}
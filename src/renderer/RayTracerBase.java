@@ -1,5 +1,6 @@
 package renderer;
 
+import geometries.Intersectable.GeoPoint;
 import primitives.Color;
 import primitives.Ray;
 import scene.Scene;
@@ -27,4 +28,25 @@ public abstract class RayTracerBase {
      * @return the appropriate color according to the ray and the scene
      */
     public abstract Color traceRay(Ray ray);
+
+    /**
+     * finds the closest intersection of a ray with the scene
+     * @param ray the ray
+     * @return the closest intersection of the ray with the scene, or null if there are no intersections
+     */
+    public GeoPoint findClosestIntersection(Ray ray) {
+        return scene.geometries.findClosestGeoIntersection(ray);
+    }
+
+    /**
+     * calculates the color of a ray whose closest intersection with the scene was already found, so the caller
+     * can use the intersection too - for example to detect the edges of the geometries in the image - without
+     * finding it again
+     * @param ray the ray that is sent through the scene
+     * @param closest the closest intersection of the ray with the scene, or null if there are no intersections
+     * @return the appropriate color according to the ray and the scene
+     */
+    public Color traceRay(Ray ray, GeoPoint closest) {
+        return traceRay(ray);
+    }
 }
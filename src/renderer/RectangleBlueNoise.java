@@ -0,0 +1,110 @@
+package renderer;
+
+import primitives.Point;
+import primitives.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * class RectangleBlueNoise represents a rectangular target area that creates sample points with a blue noise
+ * pattern - random points that are never too close to each other, so there are neither clusters nor gaps.
+ * the pattern is made once for every number of samples by Mitchell's best candidate algorithm, on a torus so it
+ * can wrap around the sides of the target area, and every target area shifts it by a random offset of its own,
+ * so neighbouring target areas don't have the same pattern.
+ * @author Rachel and Tehila
+ */
+public class RectangleBlueNoise extends TargetAreaBase {
+    /** the number of candidates for a point of the pattern, for every point that was chosen before it */
+    private static final int CANDIDATES = 10;
+    /** the seed of the pattern, so every render has the same pattern */
+    private static final long PATTERN_SEED = 0x5EED;
+
+    /**
+     * the positions of the points of the pattern in the unit square, x after y, or null if it wasn't made yet.
+     * it is made again when the number of samples changes.
+     */
+    private volatile double[] pattern;
+
+    /**
+     * an empty constructor to create a RectangleBlueNoise
+     */
+    public RectangleBlueNoise() {}
+
+    /**
+     * a constructor to initialize a RectangleBlueNoise
+     * @param numberOfSamples the number of sample points the target area generates
+     * @param height the height of the target area
+     * @param width the width of the target area
+     */
+    public RectangleBlueNoise(int numberOfSamples, double height, double width) {
+        super(numberOfSamples, height, width);
+    }
+
+    @Override
+    public List<Point> generateSamples(Point center, Vector vUp, Vector vRight) {
+        double[] pattern = this.pattern;
+        if (pattern == null || pattern.length != 2 * numberOfSamples) {
+            // threads that make the pattern at the same time make the same one
+            this.pattern = pattern = makePattern(numberOfSamples);
+        }
+        RandomGenerator random = random(center);
+        double shiftX = random.nextDouble();
+        double shiftY = random.nextDouble();
+        List<Point> targets = new ArrayList<>(numberOfSamples);
+        for (int i = 0; i < numberOfSamples; i++) {
+            double u = pattern[2 * i] + shiftX;
+            double v = pattern[2 * i + 1] + shiftY;
+            targets.add(point(center, vUp, vRight, u < 1 ? u : u - 1, v < 1 ? v : v - 1));
+        }
+        return targets;
+    }
+
+    /**
+     * makes a blue noise pattern in the unit square by Mitchell's best candidate algorithm - every point is the
+     * candidate that is farthest from the points before it, out of several random candidates
+     * @param size the number of points of the pattern
+     * @return the positions of the points, x after y
+     */
+    static double[] makePattern(int size) {
+        SplittableRandom random = new SplittableRandom(PATTERN_SEED);
+        double[] pattern = new double[2 * size];
+        pattern[0] = random.nextDouble();
+        pattern[1] = random.nextDouble();
+        for (int i = 1; i < size; i++) {
+            double bestDistance = -1;
+            for (int c = 0; c < CANDIDATES * i; c++) {
+                double x = random.nextDouble();
+                double y = random.nextDouble();
+                double distance = Double.POSITIVE_INFINITY;
+                for (int k = 0; k < i && distance > bestDistance; k++) {
+                    distance = Math.min(distance, torusDistanceSquared(x, y, pattern[2 * k], pattern[2 * k + 1]));
+                }
+                if (distance > bestDistance) {
+                    bestDistance = distance;
+                    pattern[2 * i] = x;
+                    pattern[2 * i + 1] = y;
+                }
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * the squared distance between two points of the unit square, when its opposite sides are joined
+     * @param x1 the x of the first point
+     * @param y1 the y of the first point
+     * @param x2 the x of the second point
+     * @param y2 the y of the second point
+     * @return the squared distance
+     */
+    static double torusDistanceSquared(double x1, double y1, double x2, double y2) {
+        double dx = Math.abs(x1 - x2);
+        double dy = Math.abs(y1 - y2);
+        dx = Math.min(dx, 1 - dx);
+        dy = Math.min(dy, 1 - dy);
+        return dx * dx + dy * dy;
+    }
+}
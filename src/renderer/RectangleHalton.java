@@ -0,0 +1,65 @@
+package renderer;
+
+import primitives.Point;
+import primitives.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * class RectangleHalton represents a rectangular target area that creates sample points from the halton
+ * sequence of the bases 2 and 3. every 2^a x 3^b first points put a single point in every rectangle of a grid of
+ * 2^a x 3^b rectangles, and the sequence keeps filling the largest gaps for any number of samples. the digits
+ * of the sequence are scrambled by a seed of its own for every target area, so neighbouring target areas don't
+ * have the same pattern.
+ * @author Rachel and Tehila
+ */
+public class RectangleHalton extends TargetAreaBase {
+    /** the number of digits in base 3 of the second dimension - enough for the precision of a double */
+    private static final int DIGITS = 33;
+    /** all the permutations of the digits in base 3 */
+    private static final int[][] PERMUTATIONS = {
+            {0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+
+    /**
+     * an empty constructor to create a RectangleHalton
+     */
+    public RectangleHalton() {}
+
+    /**
+     * a constructor to initialize a RectangleHalton
+     * @param numberOfSamples the number of sample points the target area generates
+     * @param height the height of the target area
+     * @param width the width of the target area
+     */
+    public RectangleHalton(int numberOfSamples, double height, double width) {
+        super(numberOfSamples, height, width);
+    }
+
+    @Override
+    public List<Point> generateSamples(Point center, Vector vUp, Vector vRight) {
+        RandomGenerator random = random(center);
+        int seedX = random.nextInt();
+        // every digit in base 3 is permuted by a random permutation of its own
+        int[][] digits = new int[DIGITS][];
+        for (int d = 0; d < DIGITS; d++) {
+            digits[d] = PERMUTATIONS[random.nextInt(PERMUTATIONS.length)];
+        }
+        List<Point> targets = new ArrayList<>(numberOfSamples);
+        for (int i = 0; i < numberOfSamples; i++) {
+            // the first dimension in base 2 is the index with its binary digits reversed
+            double u = toUnit(owenScramble(Integer.reverse(i), seedX));
+            double v = 0;
+            double scale = 1d / 3;
+            int index = i;
+            for (int d = 0; d < DIGITS; d++) {
+                v += digits[d][index % 3] * scale;
+                index /= 3;
+                scale /= 3;
+            }
+            targets.add(point(center, vUp, vRight, u, v));
+        }
+        return targets;
+    }
+}
@@ -5,9 +5,9 @@ import primitives.Vector;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 import static java.lang.Math.*;
-import static java.lang.Math.random;
 
 /**
  * class RectangleJitteredTargetArea represents a rectangular target area that creates sample points
@@ -59,6 +59,7 @@ public class RectangleJitteredGrid extends TargetAreaBase{
         double rowHeight = height / n;
         Point corner = center.add(vUp.scale(-height/2)).add(vRight.scale(-width/2));
         LinkedList<Point> targets = new LinkedList<>();
+        RandomGenerator random = random(center);
         double scaleUp;
         double scaleRight;
         Point point;
@@ -66,8 +67,8 @@ public class RectangleJitteredGrid extends TargetAreaBase{
             for (int j = 0; j < n; j++) {
                 //generate a random point in a rectangle around the center of the target area
                 //the rectangle is half the height and width of the target area
-                scaleUp = (i + random()/2 + 0.25) * rowHeight;
-                scaleRight = (j + random()/2 + 0.25) * columnWidth;
+                scaleUp = (i + random.nextDouble()/2 + 0.25) * rowHeight;
+                scaleRight = (j + random.nextDouble()/2 + 0.25) * columnWidth;
                 point = corner.add(vUp.scale(scaleUp)).add(vRight.scale(scaleRight));
                 targets.add(point);
             }
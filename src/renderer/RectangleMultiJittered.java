@@ -0,0 +1,114 @@
+package renderer;
+
+import primitives.Point;
+import primitives.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * class RectangleMultiJittered represents a rectangular target area that creates sample points using the
+ * correlated multi-jittered pattern of Kensler's "Correlated Multi-Jittered Sampling". the target area is
+ * divided into a grid of m x n cells of about the proportions of the target area, with a single point in every
+ * cell, and also a single point in each of the m x n columns and each of the m x n rows - for any number of
+ * samples, which isn't rounded to a square. the columns and rows of the grid are shuffled by a seed of its own
+ * for every target area, so neighbouring target areas don't have the same pattern.
+ * @author Rachel and Tehila
+ */
+public class RectangleMultiJittered extends TargetAreaBase {
+
+    /**
+     * an empty constructor to create a RectangleMultiJittered
+     */
+    public RectangleMultiJittered() {}
+
+    /**
+     * a constructor to initialize a RectangleMultiJittered
+     * @param numberOfSamples the number of sample points the target area generates
+     * @param height the height of the target area
+     * @param width the width of the target area
+     */
+    public RectangleMultiJittered(int numberOfSamples, double height, double width) {
+        super(numberOfSamples, height, width);
+    }
+
+    @Override
+    public List<Point> generateSamples(Point center, Vector vUp, Vector vRight) {
+        int pattern = random(center).nextInt();
+        int total = numberOfSamples;
+        int columns = Math.max(1, (int) Math.sqrt(total * width / height));
+        int rows = (total + columns - 1) / columns;
+        List<Point> targets = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            int s = permute(i, total, pattern * 0x51633e2d);
+            int column = permute(s % columns, columns, pattern * 0x68bc21eb);
+            int row = permute(s / columns, rows, pattern * 0x02e5be93);
+            double jitterX = randomUnit(s, pattern * 0x967a889b);
+            double jitterY = randomUnit(s, pattern * 0x368cc8b7);
+            // the cells of a column are shuffled together, and so are the cells of a row
+            double u = (column + (row + jitterX) / rows) / columns;
+            double v = (s + jitterY) / total;
+            targets.add(point(center, vUp, vRight, u, v));
+        }
+        return targets;
+    }
+
+    /**
+     * a random permutation of the numbers from 0 to length-1, by a hash that is reversible within every power
+     * of 2, so it is a permutation without keeping a table of the numbers
+     * @param i the number to permute
+     * @param length the number of numbers
+     * @param pattern the seed of the permutation
+     * @return the place of the number in the permutation
+     */
+    private static int permute(int i, int length, int pattern) {
+        int mask = length - 1;
+        mask |= mask >>> 1;
+        mask |= mask >>> 2;
+        mask |= mask >>> 4;
+        mask |= mask >>> 8;
+        mask |= mask >>> 16;
+        // the numbers beyond the length are permuted again until they fall inside it
+        do {
+            i ^= pattern;
+            i *= 0xe170893d;
+            i ^= pattern >>> 16;
+            i ^= (i & mask) >>> 4;
+            i ^= pattern >>> 8;
+            i *= 0x0929eb3f;
+            i ^= pattern >>> 23;
+            i ^= (i & mask) >>> 1;
+            i *= 1 | pattern >>> 27;
+            i *= 0x6935fa69;
+            i ^= (i & mask) >>> 11;
+            i *= 0x74dcb303;
+            i ^= (i & mask) >>> 2;
+            i *= 0x9e501cc3;
+            i ^= (i & mask) >>> 2;
+            i *= 0xc860a3df;
+            i &= mask;
+            i ^= i >>> 5;
+        } while (Integer.compareUnsigned(i, length) >= 0);
+        return Integer.remainderUnsigned(i + pattern, length);
+    }
+
+    /**
+     * a random number between 0 and 1 by a hash of a number
+     * @param i the number
+     * @param pattern the seed of the hash
+     * @return the random number
+     */
+    private static double randomUnit(int i, int pattern) {
+        i ^= pattern;
+        i ^= i >>> 17;
+        i ^= i >>> 10;
+        i *= 0xb36534e5;
+        i ^= i >>> 12;
+        i ^= i >>> 21;
+        i *= 0x93fc4795;
+        i ^= 0xdf6e307f;
+        i ^= i >>> 17;
+        i *= 1 | pattern >>> 18;
+        return toUnit(i);
+    }
+}
@@ -0,0 +1,63 @@
+package renderer;
+
+import primitives.Point;
+import primitives.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * class RectangleSobol represents a rectangular target area that creates sample points from the first two
+ * dimensions of the sobol sequence. every power of 2 of its first points puts a single point in every rectangle
+ * of the same area of a grid of 2^k x 2^(n-k) rectangles, for every k - so the samples are spread evenly in
+ * every direction. the sequence is owen scrambled by a seed of its own for every target area, so neighbouring
+ * target areas don't have the same pattern. the number of samples is best a power of 2.
+ * @author Rachel and Tehila
+ */
+public class RectangleSobol extends TargetAreaBase {
+    /** the direction numbers of the second dimension of the sobol sequence, for every binary digit of the index */
+    private static final int[] DIRECTIONS = new int[32];
+
+    static {
+        DIRECTIONS[0] = 1 << 31;
+        for (int k = 1; k < 32; k++) {
+            DIRECTIONS[k] = DIRECTIONS[k - 1] ^ (DIRECTIONS[k - 1] >>> 1);
+        }
+    }
+
+    /**
+     * an empty constructor to create a RectangleSobol
+     */
+    public RectangleSobol() {}
+
+    /**
+     * a constructor to initialize a RectangleSobol
+     * @param numberOfSamples the number of sample points the target area generates
+     * @param height the height of the target area
+     * @param width the width of the target area
+     */
+    public RectangleSobol(int numberOfSamples, double height, double width) {
+        super(numberOfSamples, height, width);
+    }
+
+    @Override
+    public List<Point> generateSamples(Point center, Vector vUp, Vector vRight) {
+        RandomGenerator random = random(center);
+        int seedX = random.nextInt();
+        int seedY = random.nextInt();
+        List<Point> targets = new ArrayList<>(numberOfSamples);
+        for (int i = 0; i < numberOfSamples; i++) {
+            // the first dimension is the index with its binary digits reversed
+            int x = Integer.reverse(i);
+            int y = 0;
+            for (int k = 0, index = i; index != 0; k++, index >>>= 1) {
+                if ((index & 1) != 0) {
+                    y ^= DIRECTIONS[k];
+                }
+            }
+            targets.add(point(center, vUp, vRight, toUnit(owenScramble(x, seedX)), toUnit(owenScramble(y, seedY))));
+        }
+        return targets;
+    }
+}
@@ -0,0 +1,24 @@
+package renderer;
+
+/**
+ * RenderListener is notified of the progress of a render. it is called from a reporter thread of the render at
+ * a fixed interval, and once more when the render ends, so it never slows down the rendering threads - but it
+ * shouldn't take longer than the interval.
+ * @author Rachel and Tehila
+ */
+@FunctionalInterface
+public interface RenderListener {
+    /**
+     * receives the progress of the render
+     * @param progress a snapshot of the progress
+     */
+    void progress(RenderProgress progress);
+
+    /**
+     * a listener that prints the progress in the console window, over the previous progress line
+     * @return the listener
+     */
+    static RenderListener console() {
+        return progress -> System.out.print(progress + (progress.isDone() ? "\n" : "\r"));
+    }
+}
@@ -0,0 +1,59 @@
+package renderer;
+
+import java.time.Duration;
+
+/**
+ * RenderProgress is a snapshot of the progress of a render, which is given to a {@link RenderListener}
+ * @param pixelsDone the number of pixels that were rendered
+ * @param totalPixels the number of pixels of the image
+ * @param tilesDone the number of tiles that were rendered
+ * @param totalTiles the number of tiles of the image
+ * @param elapsed the time since the render started
+ * @author Rachel and Tehila
+ */
+public record RenderProgress(long pixelsDone, long totalPixels, int tilesDone, int totalTiles, Duration elapsed) {
+    /**
+     * the part of the image that was rendered
+     * @return a number between 0 and 1
+     */
+    public double fraction() {
+        return totalPixels == 0 ? 1 : (double) pixelsDone / totalPixels;
+    }
+
+    /**
+     * checks if the whole image was rendered
+     * @return true if all the pixels were rendered, false if they weren't
+     */
+    public boolean isDone() {
+        return pixelsDone == totalPixels;
+    }
+
+    /**
+     * the average rate of the render since it started
+     * @return the number of pixels rendered per second
+     */
+    public double pixelsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : pixelsDone * 1e9 / nanos;
+    }
+
+    /**
+     * estimates the time until the render ends, assuming the rest of the image is rendered at the average
+     * rate of the render so far
+     * @return the estimated remaining time, or null if no pixel was rendered yet
+     */
+    public Duration remaining() {
+        if (pixelsDone == 0) {
+            return null;
+        }
+        return Duration.ofNanos((long) ((double) elapsed.toNanos() * (totalPixels - pixelsDone) / pixelsDone));
+    }
+
+    @Override
+    public String toString() {
+        Duration remaining = remaining();
+        return String.format("%5.1f%% %d/%d tiles %.0f pixels/s elapsed %.1fs remaining %s",
+                fraction() * 100, tilesDone, totalTiles, pixelsPerSecond(), elapsed.toMillis() / 1000d,
+                remaining == null ? "?" : String.format("%.1fs", remaining.toMillis() / 1000d));
+    }
+}
@@ -1,12 +1,11 @@
 package renderer;
 
 import geometries.Intersectable.GeoPoint;
+import geometries.Intersectable.Hit;
 import lighting.LightSource;
 import primitives.*;
 import scene.Scene;
 
-import java.util.List;
-
 import static java.lang.Math.*;
 import static primitives.Util.alignZero;
 
@@ -22,6 +21,9 @@ public class SimpleRayTracer extends RayTracerBase {
     /** the initial value of k (the level of effects the color calculation has on the image) */
     private static final Double3 INITIAL_K = Double3.ONE;
 
+    /** the hit every rendering thread reuses for finding the intersections of its rays */
+    private final ThreadLocal<Hit> hits = ThreadLocal.withInitial(Hit::new);
+
     /**
      * a constructor for SimpleRayTracer
      * @param scene the scene the rays that the class is tracing go through
@@ -32,8 +34,12 @@ public class SimpleRayTracer extends RayTracerBase {
 
     @Override
     public Color traceRay(Ray ray) {
-        GeoPoint closestPoint = findClosestIntersection(ray);
-        return closestPoint == null ? scene.background : calcColor(closestPoint, ray);
+        return traceRay(ray, findClosestIntersection(ray));
+    }
+
+    @Override
+    public Color traceRay(Ray ray, GeoPoint closest) {
+        return closest == null ? scene.background : calcColor(closest, ray);
     }
 
     /**
@@ -119,11 +125,10 @@ public class SimpleRayTracer extends RayTracerBase {
      * @param ray the ray
      * @return the closest intersection geoPoint the ray has with the scene and null if there are no intersections
      */
-    protected GeoPoint findClosestIntersection(Ray ray) {
-        List<GeoPoint> intersections = scene.geometries.findGeoIntersections(ray);
-        return intersections == null
-                ? null
-                : ray.findClosestGeoPoint(intersections);
+    @Override
+    public GeoPoint findClosestIntersection(Ray ray) {
+        Hit hit = hits.get().reset(Double.POSITIVE_INFINITY);
+        return scene.geometries.findClosestHit(ray, hit) ? hit.toGeoPoint(ray) : null;
     }
 
     /**
@@ -186,6 +191,7 @@ public class SimpleRayTracer extends RayTracerBase {
     /**
      * calculates the transparency of all the intersection points between the light source and the geoPoint
      * and return how much from the light should affect to the point.
+     * the search for intersections stops as soon as the light is blocked.
      * @param gp the point
      * @param ls the light source
      * @param l  the vector between the light source and the point
@@ -195,14 +201,8 @@ public class SimpleRayTracer extends RayTracerBase {
     private Double3 transparency(GeoPoint gp, LightSource ls, Vector l, Vector n) {
         Vector lightDirection = l.scale(-1); // vector from point to light source
         Ray ray = new Ray(gp.point, lightDirection, n);
-        List<GeoPoint> intersections = scene.geometries.findGeoIntersections(ray, ls.getDistance(gp.point));
-        Double3 ktr = Double3.ONE;
-        if (intersections == null)
-            return ktr;
-        for (GeoPoint geoPoint : intersections) {
-            ktr = ktr.product(geoPoint.geometry.getMaterial().kT);
-        }
-        return ktr;
+        return scene.geometries.calcTransparency(ray, ls.getDistance(gp.point), Double3.ONE, MIN_CALC_COLOR_K,
+                hits.get());
     }
 
 }
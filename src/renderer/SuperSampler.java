@@ -44,6 +44,13 @@ public abstract class SuperSampler {
         return this;
     }
 
+    /**
+     * clears the values the super sampler keeps between target areas, if it keeps any. it is called before every
+     * render, since the values of an earlier render may be different after the scene was changed.
+     */
+    public void clearCache() {
+    }
+
     /**
      * calculates the average of the colors that are calculated for all the sample rays
      * @param convergence the point where all the sample rays converge
@@ -4,6 +4,9 @@ import primitives.Point;
 import primitives.Vector;
 
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * TargetAreaBase is a basic class representing an object that can generate for a target point
@@ -17,6 +20,10 @@ public abstract class TargetAreaBase {
     protected double height;
     /** the width of the target area */
     protected double width;
+    /** whether the random sample points are generated from {@link #seed} */
+    private boolean seeded = false;
+    /** the seed of the random sample points, if they are seeded */
+    private long seed;
 
     /**
      * an empty constructor to create a TargetAreaBase
@@ -72,6 +79,101 @@ public abstract class TargetAreaBase {
         return this;
     }
 
+    /**
+     * setter function for the seed of the random sample points. when the sample points are seeded, the sample
+     * points of every target area are generated from the seed and the center of the target area, so every
+     * render of the same scene with the same seed is the same - no matter in which order or by which threads
+     * the target areas are sampled.
+     * @param seed the seed of the random sample points
+     * @return the TargetAreaBase object
+     */
+    public TargetAreaBase setSeed(long seed) {
+        this.seeded = true;
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * checks if the random sample points are seeded
+     * @return true if the sample points are generated from a seed
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * stops seeding the random sample points, so they are generated by the random generator of the current
+     * thread again
+     * @return the TargetAreaBase object
+     */
+    TargetAreaBase clearSeed() {
+        seeded = false;
+        return this;
+    }
+
+    /**
+     * the random generator of the sample points of a target area. it is seeded by the seed of the target areas
+     * and the center of the target area if the sample points are seeded, and is the random generator of the
+     * current thread if they aren't.
+     * @param center the center of the target area
+     * @return the random generator
+     */
+    protected RandomGenerator random(Point center) {
+        if (!seeded) {
+            return ThreadLocalRandom.current();
+        }
+        long hash = seed;
+        hash = hash * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(center.getX());
+        hash = hash * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(center.getY());
+        hash = hash * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(center.getZ());
+        return new SplittableRandom(hash);
+    }
+
+    /**
+     * the point of the target area at a position in it
+     * @param center the center of the target area
+     * @param vUp a vector represents the up direction of the target area
+     * @param vRight a vector represents the right direction of the target area
+     * @param u the position along the width of the target area, from 0 at its left side to 1 at its right side
+     * @param v the position along the height of the target area, from 0 at its bottom to 1 at its top
+     * @return the point of the target area
+     */
+    protected Point point(Point center, Vector vUp, Vector vRight, double u, double v) {
+        double right = (u - 0.5) * width;
+        double up = (v - 0.5) * height;
+        return new Point(center.getX() + vRight.getX() * right + vUp.getX() * up,
+                center.getY() + vRight.getY() * right + vUp.getY() * up,
+                center.getZ() + vRight.getZ() * right + vUp.getZ() * up);
+    }
+
+    /**
+     * scrambles the binary digits of a number between 0 and 1 by a random owen scrambling - every digit is
+     * flipped or not by a hash of the digits before it. the scrambled numbers of a low discrepancy sequence are
+     * as evenly spread as the numbers of the sequence, but the scrambled sequences of different seeds don't
+     * repeat the same pattern. (the hash is the one of Burley's "Practical Hash-based Owen Scrambling")
+     * @param bits the binary digits of the number, from the most significant
+     * @param seed the seed of the scrambling
+     * @return the binary digits of the scrambled number
+     */
+    protected static int owenScramble(int bits, int seed) {
+        int x = Integer.reverse(bits);
+        x += seed;
+        x ^= x * 0x6c50b47c;
+        x ^= x * 0xb82f1e52;
+        x ^= x * 0xc7afe638;
+        x ^= x * 0x8d22f6e6;
+        return Integer.reverse(x);
+    }
+
+    /**
+     * the number between 0 and 1 of 32 binary digits
+     * @param bits the binary digits of the number, from the most significant
+     * @return the number
+     */
+    protected static double toUnit(int bits) {
+        return Integer.toUnsignedLong(bits) * 0x1p-32;
+    }
+
     /**
      * generates sample points in a rectangular target area
      * @param center the center of the target area
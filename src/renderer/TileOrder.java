@@ -0,0 +1,17 @@
+package renderer;
+
+/**
+ * TileOrder is the order in which the tiles of an image are handed out to the rendering threads
+ * @author Rachel and Tehila
+ */
+public enum TileOrder {
+    /** row after row of tiles, from the top left corner of the image */
+    ROWS,
+    /**
+     * along a hilbert curve, so consecutive tiles are always neighbours and the tiles that are rendered at the
+     * same time are close to each other, and trace rays through the same parts of the scene
+     */
+    HILBERT,
+    /** in a square spiral from the center of the image outwards, so the center of the image is rendered first */
+    SPIRAL
+}
@@ -0,0 +1,209 @@
+package renderer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TileScheduler hands out the tiles of an image - rectangles of pixels - to the rendering threads, and follows
+ * the progress of the rendering.<br/>
+ * The tiles are made once, in the order they are handed out, and the next tile is taken by incrementing an
+ * atomic counter, so the threads never wait for each other and a tile is never allocated while rendering.
+ * The progress is counted per tile, in counters that the threads add to without waiting for each other, and is
+ * read by a {@link ProgressReporter}.
+ * @author Rachel and Tehila
+ */
+class TileScheduler {
+    /**
+     * a rectangle of pixels of the image
+     * @param x the column of the top left pixel of the tile
+     * @param y the row of the top left pixel of the tile
+     * @param width the number of columns of the tile
+     * @param height the number of rows of the tile
+     */
+    record Tile(int x, int y, int width, int height) {
+    }
+
+    /** the tiles of the image, in the order they are handed out */
+    private final Tile[] tiles;
+    /** Total amount of pixels in the generated image */
+    private final long totalPixels;
+    /** the index of the next tile that is handed out */
+    private final AtomicInteger next = new AtomicInteger();
+    /** Amount of tiles that have been rendered */
+    private final LongAdder tilesDone = new LongAdder();
+    /** Amount of pixels that have been rendered */
+    private final LongAdder pixelsDone = new LongAdder();
+    /** the time the render started, in nanoseconds */
+    private final long start = System.nanoTime();
+
+    /**
+     * constructor to divide an image into tiles
+     * @param nX the number of columns of the image
+     * @param nY the number of rows of the image
+     * @param tileSize the number of rows and columns of the tiles. the tiles at the right and bottom edges of
+     *                 the image are smaller if the image isn't divided evenly.
+     * @param order the order in which the tiles are handed out
+     * @throws IllegalArgumentException if the size of the tiles isn't positive
+     */
+    TileScheduler(int nX, int nY, int tileSize, TileOrder order) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("tile size must be positive.");
+        }
+        int columns = (nX + tileSize - 1) / tileSize;
+        int rows = (nY + tileSize - 1) / tileSize;
+        int[] indices = switch (order) {
+            case ROWS -> rowsOrder(columns, rows);
+            case HILBERT -> hilbertOrder(columns, rows);
+            case SPIRAL -> spiralOrder(columns, rows);
+        };
+        tiles = new Tile[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            int x = indices[i] % columns * tileSize;
+            int y = indices[i] / columns * tileSize;
+            tiles[i] = new Tile(x, y, Math.min(tileSize, nX - x), Math.min(tileSize, nY - y));
+        }
+        totalPixels = (long) nX * nY;
+    }
+
+    /**
+     * the indices of the tiles row after row
+     * @param columns the number of columns of tiles
+     * @param rows the number of rows of tiles
+     * @return the indices of the tiles (row * columns + column) in the order they are handed out
+     */
+    private static int[] rowsOrder(int columns, int rows) {
+        int[] indices = new int[columns * rows];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+
+    /**
+     * the indices of the tiles along a hilbert curve. the curve covers the smallest square of a power of two
+     * tiles that contains all the tiles, and the tiles outside the image are skipped.
+     * @param columns the number of columns of tiles
+     * @param rows the number of rows of tiles
+     * @return the indices of the tiles (row * columns + column) in the order they are handed out
+     */
+    private static int[] hilbertOrder(int columns, int rows) {
+        int n = Integer.highestOneBit(Math.max(columns, rows) * 2 - 1);
+        int[] indices = new int[columns * rows];
+        int count = 0;
+        for (long d = 0; count < indices.length; d++) {
+            // converts the distance along the curve to a column and row, a quadrant at a time
+            int x = 0, y = 0;
+            long t = d;
+            for (int s = 1; s < n; s *= 2) {
+                int rx = (int) (t / 2) & 1;
+                int ry = (int) (t ^ rx) & 1;
+                if (ry == 0) {
+                    if (rx == 1) {
+                        x = s - 1 - x;
+                        y = s - 1 - y;
+                    }
+                    int swap = x;
+                    x = y;
+                    y = swap;
+                }
+                x += s * rx;
+                y += s * ry;
+                t /= 4;
+            }
+            if (x < columns && y < rows) {
+                indices[count++] = y * columns + x;
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * the indices of the tiles in a square spiral from the center tile outwards. the spiral goes on around the
+     * image until it went through all the tiles, and the places it goes through outside the image are skipped.
+     * @param columns the number of columns of tiles
+     * @param rows the number of rows of tiles
+     * @return the indices of the tiles (row * columns + column) in the order they are handed out
+     */
+    private static int[] spiralOrder(int columns, int rows) {
+        int[] indices = new int[columns * rows];
+        int x = (columns - 1) / 2, y = (rows - 1) / 2;
+        int[] dx = {1, 0, -1, 0};
+        int[] dy = {0, 1, 0, -1};
+        indices[0] = y * columns + x;
+        int count = 1;
+        // the sides of the spiral are 1, 1, 2, 2, 3, 3... tiles long
+        for (int side = 0; count < indices.length; side++) {
+            for (int step = 0; step < side / 2 + 1; step++) {
+                x += dx[side % 4];
+                y += dy[side % 4];
+                if (x >= 0 && x < columns && y >= 0 && y < rows) {
+                    indices[count++] = y * columns + x;
+                }
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * hands out the next tile that wasn't rendered. it is safe to call from several threads at once.
+     * @return the next tile, or null if all the tiles were handed out
+     */
+    Tile nextTile() {
+        int index = next.getAndIncrement();
+        return index < tiles.length ? tiles[index] : null;
+    }
+
+    /**
+     * a tile by its place in the order the tiles are handed out, for renderers that divide the tiles between
+     * the threads themselves instead of taking the next tile
+     * @param index the place of the tile in the order
+     * @return the tile
+     */
+    Tile tile(int index) {
+        return tiles[index];
+    }
+
+    /**
+     * the number of tiles of the image
+     * @return the number of tiles
+     */
+    int tileCount() {
+        return tiles.length;
+    }
+
+    /**
+     * the number of tiles that were rendered
+     * @return the number of tiles that were rendered
+     */
+    int tilesDone() {
+        return tilesDone.intValue();
+    }
+
+    /**
+     * the number of pixels that were rendered
+     * @return the number of pixels that were rendered
+     */
+    long pixelsDone() {
+        return pixelsDone.sum();
+    }
+
+    /**
+     * a snapshot of the progress of the render. the counters are read while the threads may still add to them,
+     * so the tiles and the pixels of the snapshot may differ by the tiles that are just being finished.
+     * @return the progress of the render
+     */
+    RenderProgress progress() {
+        return new RenderProgress(pixelsDone(), totalPixels, tilesDone(), tiles.length,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Finish tile processing by adding it to the progress
+     * @param tile the tile that was rendered
+     */
+    void tileDone(Tile tile) {
+        tilesDone.increment();
+        pixelsDone.add((long) tile.width() * tile.height());
+    }
+}
@@ -0,0 +1,862 @@
+package scene;
+
+import geometries.Mesh;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+/**
+ * MeshLoader is a helper class for loading triangle meshes from OBJ files and binary PLY files.
+ * The file is memory-mapped and parsed in parallel chunks on the common fork/join pool straight into the arrays
+ * of the vertices and faces of a {@link Mesh}, without creating a point or a triangle object for every
+ * vertex or face.
+ * Faces with more than three vertices are split into a fan of triangles, so they must be convex.
+ * Only the positions of the vertices are loaded - normals, texture coordinates and materials are ignored.
+ * @author Rachel and Tehila
+ */
+public final class MeshLoader {
+    /** the size in bytes of the chunks an OBJ file is split into */
+    private static final int OBJ_CHUNK_SIZE = 1 << 22;
+    /** the amount of vertices or faces in the chunks the elements of a PLY file are split into */
+    private static final int PLY_CHUNK_SIZE = 1 << 16;
+    /** the powers of ten that are exactly represented as a double */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /** Don't let anyone instantiate this class. */
+    private MeshLoader() {}
+
+    /**
+     * loads a mesh from an OBJ file or a binary PLY file, according to the extension of the file
+     * @param path the path of the file
+     * @return the mesh
+     * @throws IllegalArgumentException if the file isn't an OBJ or PLY file, or it isn't valid
+     * @throws IllegalStateException if the file can't be read
+     */
+    public static Mesh load(String path) {
+        String name = path.toLowerCase();
+        if (name.endsWith(".obj")) {
+            return loadObj(path);
+        }
+        if (name.endsWith(".ply")) {
+            return loadPly(path);
+        }
+        throw new IllegalArgumentException("only OBJ and PLY files are supported.");
+    }
+
+    /**
+     * maps a file into memory for reading
+     * @param path the path of the file
+     * @return the mapped file
+     * @throws IllegalStateException if the file can't be read
+     */
+    static MappedByteBuffer map(String path) {
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("files larger than 2GB are not supported.");
+            }
+            // the mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - can't read " + path, e);
+        }
+    }
+
+    /**
+     * does an action on every chunk, in parallel on the fork/join pool
+     * @param chunks the amount of chunks
+     * @param action the action, which receives the index of the chunk
+     */
+    private static void forEachChunk(int chunks, IntConsumer action) {
+        if (chunks == 1) {
+            action.accept(0);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int index = chunk;
+            tasks.add(ForkJoinTask.adapt(() -> action.accept(index)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    // ***************** OBJ files ********************** //
+
+    /**
+     * loads a mesh from an OBJ file. only the vertices ("v") and faces ("f") are read.
+     * the file is split into chunks at the ends of lines, and the chunks are parsed in parallel.
+     * @param path the path of the file
+     * @return the mesh
+     * @throws IllegalArgumentException if a vertex or face isn't valid
+     * @throws IllegalStateException if the file can't be read
+     */
+    public static Mesh loadObj(String path) {
+        MappedByteBuffer buffer = map(path);
+        int length = buffer.limit();
+
+        // every chunk starts at the beginning of a line
+        List<Integer> starts = new ArrayList<>();
+        starts.add(0);
+        for (int position = OBJ_CHUNK_SIZE; position < length; position += OBJ_CHUNK_SIZE) {
+            int start = Math.max(position, starts.getLast());
+            while (start < length && buffer.get(start - 1) != '\n') {
+                start++;
+            }
+            if (start < length && start > starts.getLast()) {
+                starts.add(start);
+            }
+        }
+        starts.add(length);
+
+        ObjChunk[] chunks = new ObjChunk[starts.size() - 1];
+        forEachChunk(chunks.length, chunk -> {
+            chunks[chunk] = new ObjChunk(buffer, starts.get(chunk), starts.get(chunk + 1));
+            chunks[chunk].parse();
+        });
+
+        // the vertices of every chunk come after the vertices of the chunks before it
+        int[] vertexOffsets = new int[chunks.length];
+        int[] indexOffsets = new int[chunks.length];
+        int vertexCount = 0;
+        int indexCount = 0;
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            vertexOffsets[chunk] = vertexCount;
+            indexOffsets[chunk] = indexCount;
+            vertexCount += chunks[chunk].vertices.size / 3;
+            indexCount += chunks[chunk].indices.size;
+        }
+        double[] vertices = new double[3 * vertexCount];
+        int[] indices = new int[indexCount];
+        forEachChunk(chunks.length, chunk -> {
+            ObjChunk objChunk = chunks[chunk];
+            System.arraycopy(objChunk.vertices.values, 0, vertices, 3 * vertexOffsets[chunk],
+                    objChunk.vertices.size);
+            System.arraycopy(objChunk.indices.values, 0, indices, indexOffsets[chunk], objChunk.indices.size);
+            // negative indices are relative to the vertices before them, which weren't known while parsing
+            for (int i = 0; i < objChunk.relative.size; i++) {
+                indices[indexOffsets[chunk] + objChunk.relative.values[i]] += vertexOffsets[chunk];
+            }
+            chunks[chunk] = null;
+        });
+        return new Mesh(vertices, indices);
+    }
+
+    /**
+     * Class ObjChunk parses the vertices and faces in a chunk of the lines of an OBJ file
+     */
+    private static final class ObjChunk {
+        /** the mapped file */
+        private final MappedByteBuffer buffer;
+        /** the index of the byte after the chunk */
+        private final int end;
+        /** the index of the next byte to parse */
+        private int position;
+        /** the coordinates of the vertices in the chunk */
+        private final DoubleList vertices = new DoubleList();
+        /** the indices of the vertices of the triangles in the chunk */
+        private final IntList indices = new IntList();
+        /**
+         * the positions in indices of the indices that were given relative to the last vertex, which are
+         * relative to the first vertex of the chunk until the vertices before the chunk are counted
+         */
+        private final IntList relative = new IntList();
+
+        /**
+         * constructor to initialize the parser of a chunk
+         * @param buffer the mapped file
+         * @param start the index of the first byte of the chunk, at the beginning of a line
+         * @param end the index of the byte after the chunk, at the beginning of a line or the end of the file
+         */
+        ObjChunk(MappedByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.position = start;
+            this.end = end;
+        }
+
+        /**
+         * parses all the lines of the chunk
+         */
+        void parse() {
+            while (position < end) {
+                skipSpaces();
+                if (position + 1 < end && isSpace(buffer.get(position + 1))) {
+                    byte type = buffer.get(position);
+                    if (type == 'v') {
+                        position++;
+                        for (int i = 0; i < 3; i++) {
+                            vertices.add(parseDouble());
+                        }
+                    } else if (type == 'f') {
+                        position++;
+                        parseFace();
+                    }
+                }
+                skipLine();
+            }
+        }
+
+        /**
+         * parses the vertices of a face and splits it into a fan of triangles
+         */
+        private void parseFace() {
+            int first = -1;
+            int firstRelative = -1;
+            int previous = -1;
+            int previousRelative = -1;
+            int count = 0;
+            while (true) {
+                skipSpaces();
+                if (position >= end || isLineEnd(buffer.get(position))) {
+                    break;
+                }
+                int index = parseInt();
+                boolean isRelative = index < 0;
+                if (index == 0) {
+                    throw new IllegalArgumentException("an OBJ face has a vertex with index 0.");
+                }
+                // positive indices start from 1, negative indices count back from the last vertex
+                index = isRelative ? vertices.size / 3 + index : index - 1;
+                // skip the texture coordinates and normal of the vertex
+                while (position < end && !isSpace(buffer.get(position)) && !isLineEnd(buffer.get(position))) {
+                    position++;
+                }
+                if (count == 0) {
+                    first = index;
+                    firstRelative = isRelative ? 1 : 0;
+                } else if (count >= 2) {
+                    addIndex(first, firstRelative == 1);
+                    addIndex(previous, previousRelative == 1);
+                    addIndex(index, isRelative);
+                }
+                previous = index;
+                previousRelative = isRelative ? 1 : 0;
+                count++;
+            }
+            if (count < 3) {
+                throw new IllegalArgumentException("an OBJ face must have at least three vertices.");
+            }
+        }
+
+        /**
+         * adds an index of a vertex of a triangle
+         * @param index the index of the vertex
+         * @param isRelative whether the index is relative to the first vertex of the chunk
+         */
+        private void addIndex(int index, boolean isRelative) {
+            if (isRelative) {
+                relative.add(indices.size);
+            }
+            indices.add(index);
+        }
+
+        /**
+         * checks if a byte is a space between values
+         * @param b the byte
+         * @return true for a space, a tab or a carriage return
+         */
+        private static boolean isSpace(byte b) {
+            return b == ' ' || b == '\t' || b == '\r';
+        }
+
+        /**
+         * checks if a byte ends the values of a line
+         * @param b the byte
+         * @return true for the end of a line or the beginning of a comment
+         */
+        private static boolean isLineEnd(byte b) {
+            return b == '\n' || b == '#';
+        }
+
+        /**
+         * skips the spaces at the current position
+         */
+        private void skipSpaces() {
+            while (position < end && isSpace(buffer.get(position))) {
+                position++;
+            }
+        }
+
+        /**
+         * skips to the beginning of the next line
+         */
+        private void skipLine() {
+            while (position < end && buffer.get(position) != '\n') {
+                position++;
+            }
+            position++;
+        }
+
+        /**
+         * parses an integer at the current position
+         * @return the integer
+         */
+        private int parseInt() {
+            boolean negative = position < end && buffer.get(position) == '-';
+            if (negative || (position < end && buffer.get(position) == '+')) {
+                position++;
+            }
+            int start = position;
+            long value = 0;
+            while (position < end && buffer.get(position) >= '0' && buffer.get(position) <= '9') {
+                value = value * 10 + (buffer.get(position++) - '0');
+                if (value > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("an OBJ index is too large.");
+                }
+            }
+            if (position == start) {
+                throw new IllegalArgumentException("an OBJ line has a missing or invalid number.");
+            }
+            return (int) (negative ? -value : value);
+        }
+
+        /**
+         * parses a decimal number at the current position.
+         * numbers with up to 15 significant digits and a small exponent are calculated exactly with a single
+         * multiplication or division, and other numbers are parsed by Double.parseDouble.
+         * @return the number
+         */
+        private double parseDouble() {
+            skipSpaces();
+            int start = position;
+            boolean negative = position < end && buffer.get(position) == '-';
+            if (negative || (position < end && buffer.get(position) == '+')) {
+                position++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean any = false;
+            boolean fraction = false;
+            while (position < end) {
+                byte b = buffer.get(position);
+                if (b >= '0' && b <= '9') {
+                    any = true;
+                    if (digits < 18) {
+                        mantissa = mantissa * 10 + (b - '0');
+                        if (mantissa != 0) {
+                            digits++;
+                        }
+                        if (fraction) {
+                            exponent--;
+                        }
+                    } else {
+                        digits++; // a digit that doesn't fit, so the fast path isn't used
+                        if (!fraction) {
+                            exponent++;
+                        }
+                    }
+                } else if (b == '.' && !fraction) {
+                    fraction = true;
+                } else {
+                    break;
+                }
+                position++;
+            }
+            if (position < end && (buffer.get(position) == 'e' || buffer.get(position) == 'E')) {
+                position++;
+                exponent += parseInt();
+            }
+            if (position < end && !isSpace(buffer.get(position)) && !isLineEnd(buffer.get(position))) {
+                any = false; // something that isn't a plain decimal number, like "nan" or "inf"
+            }
+            if (any && digits <= 15 && Math.abs(exponent) < POWERS_OF_TEN.length) {
+                double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent]
+                        : mantissa / POWERS_OF_TEN[-exponent];
+                return negative ? -value : value;
+            }
+            while (position < end && !isSpace(buffer.get(position)) && !isLineEnd(buffer.get(position))) {
+                position++;
+            }
+            byte[] bytes = new byte[position - start];
+            buffer.get(start, bytes);
+            try {
+                return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("an OBJ line has a missing or invalid number.", e);
+            }
+        }
+    }
+
+    // ***************** PLY files ********************** //
+
+    /**
+     * loads a mesh from a binary PLY file (little endian or big endian). only the x, y and z properties of the
+     * vertices and the list of vertex indices of the faces are read, and other elements are skipped.
+     * the vertices are read in parallel chunks. the faces are scanned once to find where every chunk of faces
+     * starts, since faces can have different amounts of vertices, and then they are read in parallel chunks.
+     * @param path the path of the file
+     * @return the mesh
+     * @throws IllegalArgumentException if the file isn't a valid binary PLY file with vertices and faces
+     * @throws IllegalStateException if the file can't be read
+     */
+    public static Mesh loadPly(String path) {
+        MappedByteBuffer buffer = map(path);
+        PlyHeader header = new PlyHeader(buffer);
+        buffer.order(header.order);
+
+        double[] vertices = null;
+        int[] indices = null;
+        int position = header.dataStart;
+        for (PlyElement element : header.elements) {
+            if (element.name.equals("vertex")) {
+                vertices = readVertices(buffer, element, position);
+            } else if (element.name.equals("face")) {
+                indices = readFaces(buffer, element, position);
+            }
+            position = element.skip(buffer, position);
+        }
+        if (vertices == null || indices == null) {
+            throw new IllegalArgumentException("a PLY file must have vertex and face elements.");
+        }
+        return new Mesh(vertices, indices);
+    }
+
+    /**
+     * reads the positions of the vertices of a PLY file
+     * @param buffer the mapped file
+     * @param element the vertex element
+     * @param position the index of the first byte of the vertices
+     * @return the x, y and z coordinates of the vertices
+     */
+    private static double[] readVertices(MappedByteBuffer buffer, PlyElement element, int position) {
+        int stride = element.stride();
+        PlyProperty[] coordinates = {element.property("x"), element.property("y"), element.property("z")};
+        int[] offsets = new int[3];
+        for (int axis = 0; axis < 3; axis++) {
+            if (coordinates[axis] == null || coordinates[axis].isList()) {
+                throw new IllegalArgumentException("PLY vertices must have x, y and z properties.");
+            }
+            offsets[axis] = element.offset(coordinates[axis]);
+        }
+        int count = element.count;
+        double[] vertices = new double[3 * count];
+        int chunks = Math.max(1, (count + PLY_CHUNK_SIZE - 1) / PLY_CHUNK_SIZE);
+        forEachChunk(chunks, chunk -> {
+            int end = Math.min(count, (chunk + 1) * PLY_CHUNK_SIZE);
+            for (int vertex = chunk * PLY_CHUNK_SIZE; vertex < end; vertex++) {
+                int base = position + vertex * stride;
+                for (int axis = 0; axis < 3; axis++) {
+                    vertices[3 * vertex + axis] = coordinates[axis].type.read(buffer, base + offsets[axis]);
+                }
+            }
+        });
+        return vertices;
+    }
+
+    /**
+     * reads the faces of a PLY file and splits them into triangles
+     * @param buffer the mapped file
+     * @param element the face element
+     * @param position the index of the first byte of the faces
+     * @return the indices of the vertices of the triangles
+     */
+    private static int[] readFaces(MappedByteBuffer buffer, PlyElement element, int position) {
+        PlyProperty list = element.property("vertex_indices");
+        if (list == null) {
+            list = element.property("vertex_index");
+        }
+        if (list == null || !list.isList()) {
+            throw new IllegalArgumentException("PLY faces must have a list of vertex indices.");
+        }
+        PlyProperty indexList = list;
+
+        // find where every chunk of faces starts, and how many triangles are before it
+        int count = element.count;
+        int chunks = Math.max(1, (count + PLY_CHUNK_SIZE - 1) / PLY_CHUNK_SIZE);
+        int[] chunkPositions = new int[chunks];
+        int[] chunkTriangles = new int[chunks + 1];
+        long triangles = 0;
+        for (int face = 0; face < count; face++) {
+            if (face % PLY_CHUNK_SIZE == 0) {
+                chunkPositions[face / PLY_CHUNK_SIZE] = position;
+                chunkTriangles[face / PLY_CHUNK_SIZE] = (int) triangles;
+            }
+            for (PlyProperty property : element.properties) {
+                if (property == indexList) {
+                    int vertices = (int) property.countType.read(buffer, position);
+                    if (vertices < 3) {
+                        throw new IllegalArgumentException("a PLY face must have at least three vertices.");
+                    }
+                    triangles += vertices - 2;
+                }
+                position = property.skip(buffer, position);
+            }
+        }
+        if (3 * triangles > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("the PLY file has too many faces.");
+        }
+        chunkTriangles[chunks] = (int) triangles;
+
+        int[] indices = new int[(int) (3 * triangles)];
+        forEachChunk(chunks, chunk -> {
+            int facePosition = chunkPositions[chunk];
+            int index = 3 * chunkTriangles[chunk];
+            int end = Math.min(count, (chunk + 1) * PLY_CHUNK_SIZE);
+            for (int face = chunk * PLY_CHUNK_SIZE; face < end; face++) {
+                for (PlyProperty property : element.properties) {
+                    if (property == indexList) {
+                        int vertices = (int) property.countType.read(buffer, facePosition);
+                        int size = property.type.size;
+                        int first = facePosition + property.countType.size;
+                        // split the face into a fan of triangles around its first vertex
+                        for (int vertex = 1; vertex < vertices - 1; vertex++) {
+                            indices[index++] = (int) property.type.read(buffer, first);
+                            indices[index++] = (int) property.type.read(buffer, first + vertex * size);
+                            indices[index++] = (int) property.type.read(buffer, first + (vertex + 1) * size);
+                        }
+                    }
+                    facePosition = property.skip(buffer, facePosition);
+                }
+            }
+        });
+        return indices;
+    }
+
+    /**
+     * PlyType is the type of a property of a PLY file, with its size and how to read it
+     */
+    private enum PlyType {
+        /** a signed byte */
+        CHAR(1),
+        /** an unsigned byte */
+        UCHAR(1),
+        /** a signed 16 bit integer */
+        SHORT(2),
+        /** an unsigned 16 bit integer */
+        USHORT(2),
+        /** a signed 32 bit integer */
+        INT(4),
+        /** an unsigned 32 bit integer */
+        UINT(4),
+        /** a 32 bit floating point number */
+        FLOAT(4),
+        /** a 64 bit floating point number */
+        DOUBLE(8);
+
+        /** the size of the type in bytes */
+        final int size;
+
+        /**
+         * constructor to initialize a type with its size
+         * @param size the size in bytes
+         */
+        PlyType(int size) {
+            this.size = size;
+        }
+
+        /**
+         * finds a type by its name in a PLY header
+         * @param name the name of the type
+         * @return the type
+         */
+        static PlyType of(String name) {
+            return switch (name) {
+                case "char", "int8" -> CHAR;
+                case "uchar", "uint8" -> UCHAR;
+                case "short", "int16" -> SHORT;
+                case "ushort", "uint16" -> USHORT;
+                case "int", "int32" -> INT;
+                case "uint", "uint32" -> UINT;
+                case "float", "float32" -> FLOAT;
+                case "double", "float64" -> DOUBLE;
+                default -> throw new IllegalArgumentException("unknown PLY type " + name + ".");
+            };
+        }
+
+        /**
+         * reads a value of the type
+         * @param buffer the mapped file, in the byte order of the file
+         * @param position the index of the first byte of the value
+         * @return the value
+         */
+        double read(MappedByteBuffer buffer, int position) {
+            return switch (this) {
+                case CHAR -> buffer.get(position);
+                case UCHAR -> buffer.get(position) & 0xFF;
+                case SHORT -> buffer.getShort(position);
+                case USHORT -> buffer.getShort(position) & 0xFFFF;
+                case INT -> buffer.getInt(position);
+                case UINT -> buffer.getInt(position) & 0xFFFFFFFFL;
+                case FLOAT -> buffer.getFloat(position);
+                case DOUBLE -> buffer.getDouble(position);
+            };
+        }
+    }
+
+    /**
+     * Class PlyProperty is a property of an element of a PLY file - a single value or a list of values
+     */
+    private static final class PlyProperty {
+        /** the name of the property */
+        final String name;
+        /** the type of the value, or of the values in the list */
+        final PlyType type;
+        /** the type of the amount of values in the list, or null if the property is a single value */
+        final PlyType countType;
+
+        /**
+         * constructor to initialize a property
+         * @param name the name of the property
+         * @param type the type of the value, or of the values in the list
+         * @param countType the type of the amount of values in the list, or null for a single value
+         */
+        PlyProperty(String name, PlyType type, PlyType countType) {
+            this.name = name;
+            this.type = type;
+            this.countType = countType;
+        }
+
+        /**
+         * checks if the property is a list of values
+         * @return true for a list
+         */
+        boolean isList() {
+            return countType != null;
+        }
+
+        /**
+         * skips the property of one item of the element
+         * @param buffer the mapped file
+         * @param position the index of the first byte of the property
+         * @return the index of the byte after the property
+         */
+        int skip(MappedByteBuffer buffer, int position) {
+            if (!isList()) {
+                return position + type.size;
+            }
+            return position + countType.size + (int) countType.read(buffer, position) * type.size;
+        }
+    }
+
+    /**
+     * Class PlyElement is an element of a PLY file (like the vertices or faces) with its properties
+     */
+    private static final class PlyElement {
+        /** the name of the element */
+        final String name;
+        /** the amount of items of the element */
+        final int count;
+        /** the properties of every item of the element, in their order in the file */
+        final List<PlyProperty> properties = new ArrayList<>();
+
+        /**
+         * constructor to initialize an element without properties
+         * @param name the name of the element
+         * @param count the amount of items of the element
+         */
+        PlyElement(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        /**
+         * finds a property by its name
+         * @param name the name of the property
+         * @return the property, or null if the element doesn't have it
+         */
+        PlyProperty property(String name) {
+            for (PlyProperty property : properties) {
+                if (property.name.equals(name)) {
+                    return property;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * the size of an item of an element that has no lists
+         * @return the size in bytes
+         */
+        int stride() {
+            int stride = 0;
+            for (PlyProperty property : properties) {
+                if (property.isList()) {
+                    throw new IllegalArgumentException("PLY vertices can't have list properties.");
+                }
+                stride += property.type.size;
+            }
+            return stride;
+        }
+
+        /**
+         * the offset of a property inside an item of an element that has no lists
+         * @param property the property
+         * @return the offset in bytes from the beginning of the item
+         */
+        int offset(PlyProperty property) {
+            int offset = 0;
+            for (PlyProperty other : properties) {
+                if (other == property) {
+                    return offset;
+                }
+                offset += other.type.size;
+            }
+            throw new IllegalArgumentException("the property is not in the element.");
+        }
+
+        /**
+         * skips all the items of the element
+         * @param buffer the mapped file
+         * @param position the index of the first byte of the element
+         * @return the index of the byte after the element
+         */
+        int skip(MappedByteBuffer buffer, int position) {
+            if (properties.stream().noneMatch(PlyProperty::isList)) {
+                return position + count * stride();
+            }
+            for (int item = 0; item < count; item++) {
+                for (PlyProperty property : properties) {
+                    position = property.skip(buffer, position);
+                }
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Class PlyHeader is the header of a binary PLY file - the byte order and the elements of the file
+     */
+    private static final class PlyHeader {
+        /** the byte order of the values in the file */
+        final ByteOrder order;
+        /** the elements of the file, in their order in the file */
+        final List<PlyElement> elements = new ArrayList<>();
+        /** the index of the first byte after the header */
+        final int dataStart;
+
+        /**
+         * constructor to parse the header of a PLY file
+         * @param buffer the mapped file
+         * @throws IllegalArgumentException if the header isn't valid or the file isn't binary
+         */
+        PlyHeader(MappedByteBuffer buffer) {
+            int position = 0;
+            ByteOrder format = null;
+            String line;
+            int[] next = {0};
+            line = readLine(buffer, position, next);
+            if (!line.equals("ply")) {
+                throw new IllegalArgumentException("not a PLY file.");
+            }
+            while (true) {
+                position = next[0];
+                if (position >= buffer.limit()) {
+                    throw new IllegalArgumentException("the PLY header doesn't end.");
+                }
+                line = readLine(buffer, position, next);
+                String[] words = line.trim().split("\\s+");
+                switch (words[0]) {
+                    case "format" -> format = switch (words.length > 1 ? words[1] : "") {
+                        case "binary_little_endian" -> ByteOrder.LITTLE_ENDIAN;
+                        case "binary_big_endian" -> ByteOrder.BIG_ENDIAN;
+                        default -> throw new IllegalArgumentException("only binary PLY files are supported.");
+                    };
+                    case "element" -> {
+                        if (words.length != 3) {
+                            throw new IllegalArgumentException("invalid PLY element: " + line);
+                        }
+                        elements.add(new PlyElement(words[1], Integer.parseInt(words[2])));
+                    }
+                    case "property" -> {
+                        if (elements.isEmpty()) {
+                            throw new IllegalArgumentException("a PLY property must be inside an element.");
+                        }
+                        PlyProperty property;
+                        if (words.length == 5 && words[1].equals("list")) {
+                            property = new PlyProperty(words[4], PlyType.of(words[3]), PlyType.of(words[2]));
+                        } else if (words.length == 3) {
+                            property = new PlyProperty(words[2], PlyType.of(words[1]), null);
+                        } else {
+                            throw new IllegalArgumentException("invalid PLY property: " + line);
+                        }
+                        elements.getLast().properties.add(property);
+                    }
+                    case "end_header" -> {
+                        if (format == null) {
+                            throw new IllegalArgumentException("the PLY header has no format.");
+                        }
+                        order = format;
+                        dataStart = next[0];
+                        return;
+                    }
+                    default -> {
+                        // comments and other lines of the header are ignored
+                    }
+                }
+            }
+        }
+
+        /**
+         * reads a line of the header
+         * @param buffer the mapped file
+         * @param position the index of the first byte of the line
+         * @param next an array to save the index of the first byte of the next line in
+         * @return the line, without the end of the line
+         */
+        private static String readLine(MappedByteBuffer buffer, int position, int[] next) {
+            int end = position;
+            while (end < buffer.limit() && buffer.get(end) != '\n') {
+                end++;
+            }
+            byte[] bytes = new byte[end - position];
+            buffer.get(position, bytes);
+            next[0] = end + 1;
+            return new String(bytes, StandardCharsets.US_ASCII).replace("\r", "");
+        }
+    }
+
+    // ***************** growing arrays ********************** //
+
+    /**
+     * Class DoubleList is an array of numbers that grows when numbers are added to it
+     */
+    private static final class DoubleList {
+        /** the numbers, followed by unused space */
+        double[] values = new double[1024];
+        /** the amount of numbers */
+        int size = 0;
+
+        /**
+         * adds a number
+         * @param value the number
+         */
+        void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * Class IntList is an array of integers that grows when integers are added to it
+     */
+    private static final class IntList {
+        /** the integers, followed by unused space */
+        int[] values = new int[1024];
+        /** the amount of integers */
+        int size = 0;
+
+        /**
+         * adds an integer
+         * @param value the integer
+         */
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package scene;
+
+import geometries.Mesh;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * SceneCache keeps the compiled meshes of a scene - their vertices, faces, materials and the hierarchy of
+ * their faces - in binary files, so the next render of the scene maps the file into memory and starts
+ * tracing rays without parsing the mesh files or building their hierarchies again.
+ * Every cache file is keyed by the length and content hash of the mesh file it was made from, and by the
+ * version of the cache format, so a cache of a mesh file that was changed (or of an older version) is
+ * detected as stale and made again.
+ * @author Rachel and Tehila
+ */
+public class SceneCache {
+    /**
+     * the version of the format of the cache files. it must be changed whenever the format of the files or
+     * the way the hierarchy of the faces of a mesh is built is changed.
+     */
+    public static final int VERSION = 1;
+    /** the first bytes of every cache file ("RTSCACHE"), which also detect a file of another byte order */
+    private static final long MAGIC = 0x5254534341434845L;
+    /** the size of the header of a cache file - the magic, version, source length, source hash and data size */
+    private static final int HEADER_SIZE = 5 * Long.BYTES;
+
+    /** the directory of the cache files */
+    private final Path directory;
+    /** logger for reporting caches that can't be written */
+    private final Logger logger = Logger.getLogger("SceneCache");
+
+    /**
+     * constructor to initialize a cache in a directory. the directory is created when the first cache file
+     * is written into it, so a cache that is only read doesn't create it
+     * @param directory the path of the directory of the cache files
+     */
+    public SceneCache(String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * loads a mesh from its cache file, or from the mesh file (an OBJ or PLY file) if there is no valid cache
+     * for the current content of the mesh file, in which case the cache file is made
+     * @param path the path of the mesh file
+     * @return the mesh
+     * @throws IllegalArgumentException if the mesh file isn't valid
+     * @throws IllegalStateException if the mesh file can't be read
+     */
+    public Mesh loadMesh(String path) {
+        MappedByteBuffer source = MeshLoader.map(path);
+        long length = source.limit();
+        long hash = hash(source);
+        Path cache = cachePath(path);
+
+        Mesh mesh = read(cache, length, hash);
+        if (mesh == null) {
+            mesh = MeshLoader.load(path);
+            write(cache, mesh, length, hash);
+        }
+        return mesh;
+    }
+
+    /**
+     * the path of the cache file of a mesh file. the name of the file is followed by a hash of its full path,
+     * so meshes with the same name in different directories don't share a cache file.
+     * @param path the path of the mesh file
+     * @return the path of the cache file
+     */
+    Path cachePath(String path) {
+        Path source = Path.of(path).toAbsolutePath().normalize();
+        return directory.resolve(source.getFileName() + "-"
+                + Integer.toHexString(source.toString().hashCode()) + ".cache");
+    }
+
+    /**
+     * calculates the content hash of a file
+     * @param buffer the mapped file
+     * @return the hash
+     */
+    private static long hash(MappedByteBuffer buffer) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate());
+        return crc.getValue();
+    }
+
+    /**
+     * reads a mesh from a cache file, if the cache file is valid for the mesh file.
+     * the header is read and checked before the file is mapped, so a stale cache file isn't mapped and can be
+     * replaced by a new one (a mapped file can't be replaced on some systems, like Windows).
+     * @param cache the path of the cache file
+     * @param length the length of the mesh file
+     * @param hash the content hash of the mesh file
+     * @return the mesh, or null if the cache file doesn't exist, is stale or is damaged
+     */
+    private Mesh read(Path cache, long length, long hash) {
+        if (!Files.isRegularFile(cache)) {
+            return null;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    return null;
+                }
+            }
+            header.flip();
+            if (header.getLong() != MAGIC || header.getLong() != VERSION || header.getLong() != length
+                    || header.getLong() != hash || header.getLong() != size - HEADER_SIZE) {
+                return null;
+            }
+            // the mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            return null;
+        }
+        buffer.order(ByteOrder.nativeOrder()).position(HEADER_SIZE);
+        try {
+            return Mesh.read(buffer);
+        } catch (IllegalArgumentException e) {
+            logger.log(Level.WARNING, "damaged cache file " + cache, e);
+            return null;
+        }
+    }
+
+    /**
+     * writes a mesh into a cache file. the file is written under a temporary name and then renamed, so a
+     * render that stops while the file is written doesn't leave a partial cache file.
+     * a cache that can't be written is only reported, since the mesh itself was loaded.
+     * @param cache the path of the cache file
+     * @param mesh the mesh
+     * @param length the length of the mesh file
+     * @param hash the content hash of the mesh file
+     */
+    private void write(Path cache, Mesh mesh, long length, long hash) {
+        long size = HEADER_SIZE + mesh.byteSize();
+        if (size > Integer.MAX_VALUE) {
+            logger.log(Level.WARNING, "the cache of " + cache + " is larger than 2GB and isn't written");
+            return;
+        }
+        Path temporary = null;
+        try {
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, cache.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.order(ByteOrder.nativeOrder());
+                buffer.putLong(MAGIC).putLong(VERSION).putLong(length).putLong(hash)
+                        .putLong(size - HEADER_SIZE);
+                mesh.write(buffer);
+                buffer.force();
+            }
+            Files.move(temporary, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "I/O error - can't write the cache file " + cache, e);
+            try {
+                if (temporary != null) {
+                    Files.deleteIfExists(temporary);
+                }
+            } catch (IOException ignored) {
+                // the temporary file is only left behind
+            }
+        }
+    }
+}
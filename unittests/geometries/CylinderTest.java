@@ -5,6 +5,8 @@ import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class CylinderTest {
@@ -75,4 +77,88 @@ class CylinderTest {
                 c.getNormal(new Point(-1,4,0)),
                 "ERROR: normal from from the center of the first base does not work correctly");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link Cylinder#findGeoIntersections(Ray, double)}
+     */
+    @Test
+    void testFindGeoIntersections() {
+        // a cylinder around the z-axis from z=0 to z=2
+        Cylinder cylinder = new Cylinder(1, new Ray(Point.ZERO, Vector.Z), 2);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray passes through the round surface twice
+        assertEquals(List.of(new Point(-1,0,1), new Point(1,0,1)),
+                cylinder.findIntersections(new Ray(new Point(-3,0,1), new Vector(1,0,0))),
+                "ERROR: wrong intersections with the round surface");
+
+        // TC02: the ray passes through both bases
+        assertEquals(List.of(new Point(0.5,0,2), new Point(0.5,0,0)),
+                cylinder.findIntersections(new Ray(new Point(0.5,0,5), new Vector(0,0,-1))),
+                "ERROR: wrong intersections with the bases");
+
+        // TC03: the ray passes through a base and the round surface
+        assertEquals(List.of(new Point(0,0,2), new Point(1,0,1)),
+                cylinder.findIntersections(new Ray(new Point(-1,0,3), new Vector(1,0,-1))),
+                "ERROR: wrong intersections with a base and the round surface");
+
+        // TC04: the ray passes through the infinite tube, but not through the cylinder
+        assertNull(cylinder.findIntersections(new Ray(new Point(-3,0,5), new Vector(1,0,0))),
+                "ERROR: the ray passes above the cylinder");
+
+        // TC05: the ray starts inside the cylinder
+        assertEquals(List.of(new Point(1,0,1)),
+                cylinder.findIntersections(new Ray(new Point(0,0,1), new Vector(1,0,0))),
+                "ERROR: wrong intersection from inside the cylinder");
+
+        // TC06: the cylinder is behind the ray
+        assertNull(cylinder.findIntersections(new Ray(new Point(3,0,1), new Vector(1,0,0))),
+                "ERROR: the cylinder is behind the ray");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the ray passes through the edges of the bases
+        assertEquals(2,
+                cylinder.findIntersections(new Ray(new Point(-2,0,3), new Vector(1,0,-1))).size(),
+                "ERROR: the edge of a base is not part of the cylinder");
+
+        // TC12: the ray is tangent to the round surface
+        assertNull(cylinder.findIntersections(new Ray(new Point(-3,1,1), new Vector(1,0,0))),
+                "ERROR: the ray is tangent to the cylinder");
+
+        // TC13: the ray is on the plane of a base
+        assertNull(cylinder.findIntersections(new Ray(new Point(-3,0,2), new Vector(1,0,0))),
+                "ERROR: the ray is on the plane of a base");
+
+        // TC14: one of the intersections is after the max distance, and one is exactly at it
+        Ray ray = new Ray(new Point(-3,0,1), new Vector(1,0,0));
+        assertEquals(1, cylinder.findGeoIntersections(ray, 3).size(),
+                "ERROR: wrong intersections before the max distance");
+        assertEquals(2, cylinder.findGeoIntersections(ray, 4).size(),
+                "ERROR: the intersection at the max distance is missing");
+    }
+
+    /**
+     * Test method for {@link Cylinder#calcBoundaryBox()}
+     */
+    @Test
+    void testCalcBoundaryBox() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a tilted cylinder
+        Cylinder tilted = new Cylinder(1, new Ray(Point.ZERO, new Vector(1,1,0)), Math.sqrt(2));
+        tilted.calcBoundaryBox();
+        BoundaryBox box = tilted.getBoundaryBox();
+        double spread = Math.sqrt(0.5);
+        assertArrayEquals(new double[]{-spread, -spread, -1, 1 + spread, 1 + spread, 1},
+                new double[]{box.getMinX(), box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(), box.getMaxZ()},
+                1e-10, "ERROR: wrong boundary box of a tilted cylinder");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a cylinder along an axis
+        Cylinder straight = new Cylinder(2, new Ray(new Point(1,0,0), new Vector(0,1,0)), 4);
+        straight.calcBoundaryBox();
+        box = straight.getBoundaryBox();
+        assertArrayEquals(new double[]{-1, 0, -2, 3, 4, 2},
+                new double[]{box.getMinX(), box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(), box.getMaxZ()},
+                1e-10, "ERROR: wrong boundary box of a cylinder along an axis");
+    }
+}
@@ -1,10 +1,16 @@
 package geometries;
 
+import primitives.Double3;
+import primitives.Material;
 import primitives.Point;
 import primitives.Ray;
 import org.junit.jupiter.api.Test;
 import primitives.Vector;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -59,4 +65,491 @@ class GeometriesTest {
                 "ERROR: doesn't work when all the geometries intersect the ray");
     }
 
-}
\ No newline at end of file
+
+    /**
+     * creates geometries of a row of spheres along the x-axis with random heights along the z-axis
+     * @return the geometries
+     */
+    private Geometries buildRow() {
+        Geometries geometries = new Geometries();
+        Random random = new Random(1);
+        for (int i = 0; i < 64; i++) {
+            geometries.add(new Sphere(0.4, new Point(i, 0, random.nextDouble() * 4)));
+        }
+        return geometries;
+    }
+
+    /**
+     * checks that two hierarchies have the same structure, the same boundary boxes and the same geometries
+     * in the same places
+     * @param expected the first hierarchy
+     * @param actual the second hierarchy
+     */
+    private void assertSameHierarchy(Intersectable expected, Intersectable actual) {
+        if (!(expected instanceof Geometries expectedGroup)) {
+            assertSame(expected, actual, "ERROR: the hierarchies have different geometries");
+            return;
+        }
+        Geometries actualGroup = assertInstanceOf(Geometries.class, actual, "ERROR: the hierarchies differ");
+        assertEquals(expectedGroup.size(), actualGroup.size(), "ERROR: the hierarchies have different nodes");
+        for (int axis = 0; axis < 3; axis++) {
+            assertEquals(expectedGroup.boundaryBox.getMin(axis), actualGroup.boundaryBox.getMin(axis),
+                    "ERROR: the hierarchies have different boundary boxes");
+            assertEquals(expectedGroup.boundaryBox.getMax(axis), actualGroup.boundaryBox.getMax(axis),
+                    "ERROR: the hierarchies have different boundary boxes");
+        }
+        for (int i = 0; i < expectedGroup.size(); i++) {
+            assertSameHierarchy(expectedGroup.getItem(i), actualGroup.getItem(i));
+        }
+    }
+
+    /**
+     * Test method for {@link Geometries#buildBVH(int)}
+     */
+    @Test
+    void testBuildBVH() {
+        Ray ray = new Ray(new Point(-1, 0, 0.1), new Vector(1, 0, 0.03));
+        Geometries flat = buildRow();
+        Geometries sah = buildRow();
+        sah.buildBVH(2);
+        Geometries median = buildRow();
+        median.buildMedianBVH();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the hierarchy finds the same intersections as the flat list
+        assertEquals(flat.findIntersections(ray).size(),
+                sah.findIntersections(ray).size(),
+                "ERROR: the hierarchy doesn't find the same intersections as the flat list");
+
+        // TC02: for geometries spread along the x-axis the SAH split is cheaper than the median z split
+        assertTrue(sah.traversalCost() < median.traversalCost(),
+                "ERROR: the SAH hierarchy isn't cheaper than the median split");
+
+        // TC03: building in parallel gives exactly the same hierarchy as building sequentially
+        List<Intersectable> cloud = new ArrayList<>();
+        Random random = new Random(2);
+        for (int i = 0; i < 20000; i++) {
+            cloud.add(new Sphere(0.1, new Point(random.nextDouble() * 100, random.nextDouble() * 100,
+                    random.nextDouble() * 10)));
+        }
+        Geometries sequential = new Geometries(cloud);
+        sequential.buildBVH(2, false);
+        Geometries parallel = new Geometries(cloud);
+        parallel.buildBVH(2, true);
+        assertSameHierarchy(sequential, parallel);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: leaf size that is bigger than the amount of geometries doesn't split them
+        Geometries leaf = buildRow();
+        leaf.buildBVH(100);
+        assertEquals(64, leaf.size(), "ERROR: geometries were split although they fit in one leaf");
+
+        // TC12: leaf size must be positive
+        assertThrows(IllegalArgumentException.class, () -> buildRow().buildBVH(0),
+                "ERROR: doesn't throw an exception for a leaf size that is not positive");
+    }
+
+    /**
+     * checks that all the leaves of a hierarchy have at most a given amount of geometries
+     * @param geometries the hierarchy
+     * @param leafSize the maximal amount of geometries in a leaf
+     * @return the amount of geometries in the hierarchy
+     */
+    private int assertLeafSize(Geometries geometries, int leafSize) {
+        int count = 0;
+        for (int i = 0; i < geometries.size(); i++) {
+            if (geometries.getItem(i) instanceof Geometries inner) {
+                count += assertLeafSize(inner, leafSize);
+            } else {
+                assertTrue(geometries.size() <= leafSize, "ERROR: a leaf of the hierarchy is too large");
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Test method for {@link Geometries#buildLinearBVH(int)}
+     */
+    @Test
+    void testBuildLinearBVH() {
+        Ray ray = new Ray(new Point(-1, 0, 0.1), new Vector(1, 0, 0.03));
+        Geometries flat = buildRow();
+        Geometries linear = buildRow();
+        linear.buildLinearBVH(2);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the hierarchy finds the same intersections as the flat list
+        assertEquals(flat.findIntersections(ray).size(),
+                linear.findIntersections(ray).size(),
+                "ERROR: the linear hierarchy doesn't find the same intersections as the flat list");
+        assertEquals(flat.findClosestGeoIntersection(ray).point,
+                linear.findClosestGeoIntersection(ray).point,
+                "ERROR: the linear hierarchy doesn't find the closest intersection");
+
+        // TC02: all the geometries are in leaves that are not larger than the leaf size
+        assertEquals(64, assertLeafSize(linear, 2), "ERROR: the linear hierarchy lost geometries");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: geometries with the same center have the same Morton code
+        Geometries same = new Geometries();
+        for (int i = 0; i < 10; i++) {
+            same.add(new Sphere(i + 1, Point.ZERO));
+        }
+        same.buildLinearBVH(1);
+        assertEquals(10, assertLeafSize(same, 1), "ERROR: geometries with the same code were lost");
+
+        // TC12: leaf size that is bigger than the amount of geometries doesn't split them
+        Geometries leaf = buildRow();
+        leaf.buildLinearBVH(100);
+        assertEquals(64, leaf.size(), "ERROR: geometries were split although they fit in one leaf");
+
+        // TC13: leaf size must be positive
+        assertThrows(IllegalArgumentException.class, () -> buildRow().buildLinearBVH(0),
+                "ERROR: doesn't throw an exception for a leaf size that is not positive");
+    }
+
+    /**
+     * Test method for {@link Geometries#refit()}
+     */
+    @Test
+    void testRefit() {
+        Geometries geometries = buildRow();
+        geometries.buildBVH(2);
+        Sphere first = (Sphere) geometries.findClosestGeoIntersection(new Ray(new Point(0, 0, 10),
+                new Vector(0, 0, -1))).geometry;
+        Intersectable left = geometries.getItem(0);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a geometry that moved a little is intersected in its new place, without rebuilding the hierarchy
+        Sphere nearby = new Sphere(0.4, new Point(0.5, 0, 5));
+        geometries.replace(first, nearby);
+        geometries.refit();
+        assertEquals(new Point(0.5, 0, 5.4),
+                geometries.findClosestGeoIntersection(new Ray(new Point(0.5, 0, 10), new Vector(0, 0, -1))).point,
+                "ERROR: a moved geometry isn't intersected in its new place");
+        assertEquals(5.4, geometries.getBoundaryBox().getMaxZ(), 1e-10,
+                "ERROR: the boundary box doesn't contain the moved geometry");
+        assertSame(left, geometries.getItem(0), "ERROR: the hierarchy was rebuilt after a small move");
+
+        // TC02: a geometry that moved far away makes the hierarchy rebuild
+        Sphere far = new Sphere(0.4, new Point(0, 1000, 0));
+        geometries.replace(nearby, far);
+        geometries.refit();
+        assertNotSame(left, geometries.getItem(0), "ERROR: the hierarchy wasn't rebuilt after a large move");
+        assertEquals(new Point(0, 999.6, 0),
+                geometries.findClosestGeoIntersection(new Ray(Point.ZERO, new Vector(0, 1, 0))).point,
+                "ERROR: a geometry that moved far away isn't intersected after rebuilding");
+        assertEquals(64, assertLeafSize(geometries, 2), "ERROR: the rebuilt hierarchy lost geometries");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: replacing a geometry that isn't in the geometries
+        assertThrows(IllegalArgumentException.class, () -> geometries.replace(first, nearby),
+                "ERROR: doesn't throw an exception for replacing a geometry that isn't in the geometries");
+
+        // TC12: refitting when nothing moved doesn't change the hierarchy
+        Intersectable rebuilt = geometries.getItem(0);
+        geometries.refit();
+        assertSame(rebuilt, geometries.getItem(0), "ERROR: refitting without moves changed the hierarchy");
+    }
+
+    /**
+     * Test method for {@link Geometries#refit()} with a compiled flat hierarchy and a compiled uniform grid
+     */
+    @Test
+    void testRefitCompiled() {
+        Ray down = new Ray(new Point(0.5, 0, 10), new Vector(0, 0, -1));
+        Ray up = new Ray(new Point(0, 0, -10), Vector.Z);
+        for (boolean grid : new boolean[]{false, true}) {
+            String name = grid ? "the grid" : "the flat hierarchy";
+            Geometries geometries = buildRow();
+            if (grid) {
+                geometries.compileGrid();
+            } else {
+                geometries.compileBVH(2);
+            }
+            Intersectable first = geometries.findClosestGeoIntersection(up).geometry;
+
+            // ============ Equivalence Partitions Tests ==============
+            // TC01: a geometry that moved a little is intersected in its new place
+            Sphere nearby = new Sphere(0.4, new Point(0.5, 0, 2));
+            geometries.replace(first, nearby);
+            geometries.refit();
+            assertTrue(grid ? geometries.isGrid() : geometries.isCompiled(), "ERROR: " + name + " was dropped");
+            assertEquals(new Point(0.5, 0, 2.4), geometries.findClosestGeoIntersection(down).point,
+                    "ERROR: a moved geometry isn't intersected in its new place in " + name);
+            assertNull(geometries.findClosestGeoIntersection(up),
+                    "ERROR: a moved geometry is intersected in its old place in " + name);
+
+            // TC02: a geometry that moved far away is intersected after compiling again
+            Sphere far = new Sphere(0.4, new Point(0, 1000, 0));
+            geometries.replace(nearby, far);
+            geometries.refit();
+            assertEquals(new Point(0, 999.6, 0),
+                    geometries.findClosestGeoIntersection(new Ray(Point.ZERO, new Vector(0, 1, 0))).point,
+                    "ERROR: a geometry that moved far away isn't intersected in " + name);
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the flat hierarchy is refitted in place after a small move, and not after a large one
+        Sphere[] spheres = new Sphere[64];
+        for (int i = 0; i < 64; i++) {
+            spheres[i] = new Sphere(0.4, new Point(i, 0, 0));
+        }
+        FlatBVH bvh = new FlatBVH(List.of(spheres), 2);
+        Sphere moved = new Sphere(0.4, new Point(0, 0, 0.2));
+        moved.calcBoundaryBox();
+        assertTrue(bvh.replace(spheres[0], moved), "ERROR: a geometry of the flat hierarchy wasn't replaced");
+        assertTrue(bvh.refit(List.of(moved)), "ERROR: the flat hierarchy wasn't refitted after a small move");
+        assertEquals(0.6, bvh.getBoundaryBox().getMaxZ(), 1e-10,
+                "ERROR: the box of the flat hierarchy doesn't contain the moved geometry");
+        Sphere away = new Sphere(0.4, new Point(0, 0, 200));
+        away.calcBoundaryBox();
+        bvh.replace(moved, away);
+        assertFalse(bvh.refit(List.of(away)), "ERROR: the flat hierarchy was refitted after a large move");
+
+        // TC12: the grid is refitted in place inside it, and not when a geometry leaves it
+        UniformGrid cells = new UniformGrid(List.of(spheres));
+        moved = new Sphere(0.4, new Point(40.3, 0, 0));
+        moved.calcBoundaryBox();
+        assertTrue(cells.replace(spheres[0], moved), "ERROR: a geometry of the grid wasn't replaced");
+        assertTrue(cells.refit(List.of(moved)), "ERROR: the grid wasn't refitted after a move inside it");
+        assertSame(moved, cells.findClosestGeoIntersection(new Ray(new Point(40.6, 0, 10), new Vector(0, 0, -1)))
+                        .geometry, "ERROR: a geometry that moved to other cells isn't intersected there");
+        assertNull(cells.findClosestGeoIntersection(new Ray(new Point(0, 0, 10), new Vector(0, 0, -1))),
+                "ERROR: a geometry that moved to other cells is intersected in its old cells");
+        away.calcBoundaryBox();
+        cells.replace(moved, away);
+        assertFalse(cells.refit(List.of(away)), "ERROR: the grid was refitted after a geometry left it");
+
+        // TC13: a geometry that isn't in the compiled structure
+        assertFalse(bvh.refit(List.of(new Sphere(1, Point.ZERO))),
+                "ERROR: a geometry that isn't in the flat hierarchy was refitted");
+    }
+
+    /**
+     * Test method for {@link Intersectable#findClosestGeoIntersection(Ray)} with a compiled hierarchy
+     */
+    @Test
+    void testCompileBVH() {
+        Ray ray = new Ray(new Point(-1, 0, 0.1), new Vector(1, 0, 0.03));
+        Geometries flat = buildRow();
+        Geometries compiled = buildRow().compileBVH();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the compiled hierarchy finds the same intersections as the flat list
+        assertEquals(flat.findIntersections(ray).size(),
+                compiled.findIntersections(ray).size(),
+                "ERROR: the compiled hierarchy doesn't find the same intersections as the flat list");
+
+        // TC02: the compiled hierarchy finds the same closest intersection as the flat list
+        assertEquals(flat.findClosestGeoIntersection(ray).point,
+                compiled.findClosestGeoIntersection(ray).point,
+                "ERROR: the compiled hierarchy doesn't find the closest intersection");
+
+        // TC03: the ray misses all the geometries
+        assertNull(compiled.findClosestGeoIntersection(new Ray(new Point(-1, 0, 0), new Vector(-1, 0, 0))),
+                "ERROR: the compiled hierarchy finds an intersection for a ray that misses it");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: adding a geometry after compiling the hierarchy makes the geometries use the list again
+        compiled.add(new Sphere(0.5, new Point(-3, 0, 0)));
+        assertEquals(new Point(-3.5, 0, 0),
+                compiled.findClosestGeoIntersection(new Ray(new Point(-10, 0, 0), Vector.X)).point,
+                "ERROR: a geometry added after compiling the hierarchy isn't intersected");
+
+        // TC12: empty geometries
+        assertNull(new Geometries().compileBVH().findClosestGeoIntersection(ray),
+                "ERROR: empty compiled geometries find an intersection");
+
+        // TC13: a geometry without a boundary box is kept out of a hierarchy that is built directly
+        Plane floor = new Plane(new Point(0, 0, -1), Vector.Z);
+        FlatBVH hierarchy = new FlatBVH(List.of(new Sphere(0.5, new Point(0, 0, 1)), floor), 2);
+        assertEquals(1, hierarchy.unboundedCount(), "ERROR: the hierarchy doesn't keep the plane out of it");
+        assertEquals(new Point(5, 0, -1),
+                hierarchy.findClosestGeoIntersection(new Ray(new Point(5, 0, 5), new Vector(0, 0, -1))).point,
+                "ERROR: the hierarchy doesn't find the intersection with a plane");
+    }
+
+    /**
+     * Test method for {@link Geometries#compileGrid()}
+     */
+    @Test
+    void testCompileGrid() {
+        Ray ray = new Ray(new Point(-1, 0, 0.1), new Vector(1, 0, 0.03));
+        Geometries flat = buildRow();
+        Geometries grid = buildRow().compileGrid();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the grid finds the same intersections as the flat list
+        assertEquals(flat.findIntersections(ray).size(),
+                grid.findIntersections(ray).size(),
+                "ERROR: the grid doesn't find the same intersections as the flat list");
+
+        // TC02: the grid finds the same closest intersection as the flat list
+        assertEquals(flat.findClosestGeoIntersection(ray).point,
+                grid.findClosestGeoIntersection(ray).point,
+                "ERROR: the grid doesn't find the closest intersection");
+
+        // TC03: the ray misses all the geometries
+        assertNull(grid.findClosestGeoIntersection(new Ray(new Point(-1, 0, 0), new Vector(-1, 0, 0))),
+                "ERROR: the grid finds an intersection for a ray that misses it");
+
+        // TC04: a geometry that is much larger than the rest is kept out of the cells, and still intersected
+        Ray between = new Ray(new Point(10.5, 0, 10), new Vector(0, 0, -1));
+        Sphere ground = new Sphere(1000, new Point(30, 0, -1005));
+        flat.add(ground);
+        grid = buildRow();
+        grid.add(ground);
+        grid.compileGrid();
+        assertEquals(flat.findClosestGeoIntersection(between).point,
+                grid.findClosestGeoIntersection(between).point,
+                "ERROR: the grid doesn't find the intersection with a large geometry");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the ray goes along the row of geometries, through the sides of the cells
+        Ray along = new Ray(new Point(-1, 0, 0), Vector.X);
+        assertEquals(flat.findIntersections(along).size(),
+                grid.findIntersections(along).size(),
+                "ERROR: the grid doesn't find the intersections of a ray along the row of geometries");
+
+        // TC12: empty geometries
+        assertNull(new Geometries().compileGrid().findClosestGeoIntersection(ray),
+                "ERROR: an empty grid finds an intersection");
+
+        // TC13: geometries compiled into a flat hierarchy aren't a grid until they are compiled into one
+        Geometries compiled = buildRow().compileBVH();
+        assertFalse(compiled.isGrid(), "ERROR: a flat hierarchy is a grid");
+        assertTrue(compiled.compileGrid().isGrid(), "ERROR: geometries compiled into a grid aren't a grid");
+
+        // TC14: a geometry without a boundary box is kept out of the cells of a grid that is built directly
+        Plane floor = new Plane(new Point(0, 0, -1), Vector.Z);
+        UniformGrid direct = new UniformGrid(List.of(new Sphere(0.5, new Point(0, 0, 1)), floor));
+        assertEquals(1, direct.largeCount(), "ERROR: the grid doesn't keep the plane out of the cells");
+        assertEquals(new Point(5, 0, -1),
+                direct.findClosestGeoIntersection(new Ray(new Point(5, 0, 5), new Vector(0, 0, -1))).point,
+                "ERROR: the grid doesn't find the intersection with a plane");
+    }
+
+    /**
+     * Test method for {@link Intersectable#calcTransparency(Ray, double, double)}
+     */
+    @Test
+    void testCalcTransparency() {
+        Ray ray = new Ray(new Point(-10, 0, 0), Vector.X);
+        Geometry glass = new Sphere(1, new Point(0, 0, 0)).setMaterial(new Material().setKt(0.5));
+        Geometry opaque = new Sphere(1, new Point(5, 0, 0));
+        Geometries geometries = new Geometries(glass, opaque);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray passes through both sides of a transparent geometry
+        assertEquals(new Double3(0.25),
+                geometries.calcTransparency(ray, 12, 0.001),
+                "ERROR: wrong transparency through a transparent geometry");
+
+        // TC02: the ray is blocked by an opaque geometry
+        assertTrue(geometries.calcTransparency(ray, 100, 0.001).lowerThan(0.001),
+                "ERROR: an opaque geometry doesn't block the ray");
+
+        // TC03: the compiled hierarchy gives the same transparency
+        assertEquals(new Double3(0.25),
+                new Geometries(glass, opaque).compileBVH().calcTransparency(ray, 12, 0.001),
+                "ERROR: wrong transparency through a compiled hierarchy");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the geometries are beyond the max distance
+        assertEquals(Double3.ONE,
+                geometries.calcTransparency(ray, 5, 0.001),
+                "ERROR: geometries beyond the max distance change the transparency");
+    }
+
+    /**
+     * Test method for {@link Geometries#calcBoundaryBox()} with unbounded geometries
+     */
+    @Test
+    void testUnboundedGeometries() {
+        Ray ray = new Ray(new Point(-1, 0, 0.1), new Vector(1, 0, 0.03));
+        Ray down = new Ray(new Point(100, 0, 10), new Vector(0, 0, -1));
+        Plane floor = new Plane(new Point(0, 0, -5), Vector.Z);
+        Geometries flat = buildRow();
+        flat.add(floor);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a plane without a boundary box is kept out of the box of the geometries
+        Geometries geometries = buildRow();
+        geometries.add(floor);
+        geometries.calcBoundaryBox();
+        assertEquals(1, geometries.unboundedCount(), "ERROR: the plane isn't kept out of the hierarchy");
+        assertFalse(Double.isInfinite(BVHBuilder.area(geometries.getBoundaryBox())),
+                "ERROR: the box of the geometries contains the plane");
+
+        // TC02: the hierarchy is built from the bounded geometries and the plane is still intersected
+        geometries.buildBVH();
+        assertEquals(flat.findIntersections(ray).size(), geometries.findIntersections(ray).size(),
+                "ERROR: the hierarchy doesn't find the same intersections as the flat list");
+        assertEquals(new Point(100, 0, -5), geometries.findClosestGeoIntersection(down).point,
+                "ERROR: the plane isn't intersected outside the box of the other geometries");
+
+        // TC03: a compiled hierarchy and a grid intersect the plane as well
+        assertEquals(new Point(100, 0, -5), geometries.compileBVH().findClosestGeoIntersection(down).point,
+                "ERROR: the compiled hierarchy doesn't intersect the plane");
+        assertEquals(new Point(100, 0, -5), geometries.compileGrid().findClosestGeoIntersection(down).point,
+                "ERROR: the grid doesn't intersect the plane");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the closest intersection is on a bounded geometry in front of the plane
+        assertEquals(flat.findClosestGeoIntersection(ray).point, geometries.findClosestGeoIntersection(ray).point,
+                "ERROR: wrong closest intersection with bounded and unbounded geometries");
+
+        // TC12: a plane with a boundary box given by hand is part of the hierarchy
+        Geometries boxed = buildRow();
+        boxed.add(new Plane(new Point(0, 0, -5), Vector.Z).setBoundaryBox(new BoundaryBox(-100, 100)));
+        boxed.calcBoundaryBox();
+        assertEquals(0, boxed.unboundedCount(), "ERROR: a plane with a box is kept out of the hierarchy");
+
+        // TC13: only unbounded geometries
+        Geometries planes = new Geometries(floor);
+        planes.buildBVH();
+        assertEquals(new Point(100, 0, -5), planes.findClosestGeoIntersection(down).point,
+                "ERROR: geometries with only a plane don't intersect it");
+    }
+
+    /**
+     * Test method for {@link Intersectable#findClosestHit(Ray, Intersectable.Hit)}
+     */
+    @Test
+    void testFindClosestHit() {
+        Geometries flat = buildRow();
+        Geometries compiled = buildRow().compileBVH();
+        Sphere front = new Sphere(1, new Point(0, 0, 5));
+        Intersectable.Hit hit = new Intersectable.Hit();
+        Ray ray = new Ray(new Point(10, -0.1, 10), new Vector(0.1, 0, -1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the hit is filled with the closest intersection, like the closest GeoPoint
+        assertTrue(compiled.findClosestHit(ray, hit), "ERROR: the ray intersects the geometries");
+        Intersectable.GeoPoint closest = flat.findClosestGeoIntersection(ray);
+        assertEquals(closest.point, hit.getPoint(ray), "ERROR: wrong point of the hit");
+        assertEquals(closest.point.distance(ray.getHead()), hit.getT(), 1e-10, "ERROR: wrong distance of the hit");
+        assertSame(compiled.findClosestGeoIntersection(ray).geometry, hit.getGeometry(),
+                "ERROR: wrong geometry of the hit");
+
+        // TC02: a geometry that is farther than the hit doesn't replace it
+        Intersectable.Hit behind = new Intersectable.Hit();
+        Ray down = new Ray(new Point(0, 0, 10), new Vector(0, 0, -1));
+        assertTrue(front.findClosestHit(down, behind), "ERROR: the ray intersects the sphere");
+        assertFalse(compiled.findClosestHit(down, behind), "ERROR: a farther intersection replaced the hit");
+        assertSame(front, behind.getGeometry(), "ERROR: the hit was changed");
+
+        // TC03: the hit is reused for another ray after it is reset
+        assertFalse(compiled.findClosestHit(new Ray(new Point(10, 5, 10), new Vector(0, 0, -1)), hit.reset(100)),
+                "ERROR: the ray doesn't intersect the geometries");
+        assertFalse(hit.found(), "ERROR: the reset hit has an intersection");
+        assertNull(hit.toGeoPoint(ray), "ERROR: the reset hit has an intersection");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the closest intersection is after the max distance of the hit
+        assertFalse(compiled.findClosestHit(ray, hit.reset(1)), "ERROR: the intersection is after the max distance");
+        assertEquals(1, hit.getT(), "ERROR: the max distance of the hit was changed");
+    }
+}
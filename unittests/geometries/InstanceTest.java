@@ -0,0 +1,101 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstanceTest {
+    /** a unit sphere in the origin, which is shared by the instances */
+    private final Sphere sphere = (Sphere) new Sphere(1, Point.ZERO)
+            .setEmission(new Color(10, 20, 30)).setMaterial(new Material().setKd(0.5));
+    /** an instance of the sphere, twice as large and moved to (5,0,0) */
+    private final Instance instance = new Instance(sphere,
+            Transform.scaling(2).then(Transform.translation(new Vector(5, 0, 0))));
+
+    /**
+     * Test method for {@link Intersectable#findGeoIntersections(Ray, double)}
+     */
+    @Test
+    void testFindGeoIntersections() {
+        Ray ray = new Ray(new Point(-10, 0, 0), Vector.X);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray passes through the transformed sphere
+        List<Intersectable.GeoPoint> result = instance.findGeoIntersections(ray);
+        assertEquals(2, result.size(), "ERROR: wrong number of intersections with the instance");
+        List<Point> points = result.stream().map(geoPoint -> geoPoint.point)
+                .sorted((a, b) -> Double.compare(a.getX(), b.getX())).toList();
+        assertEquals(List.of(new Point(3, 0, 0), new Point(7, 0, 0)), points,
+                "ERROR: wrong intersections with the instance");
+
+        // TC02: the ray misses the transformed sphere, although it passes through the shared sphere
+        assertNull(instance.findGeoIntersections(new Ray(new Point(0, -5, 0), Vector.Y)),
+                "ERROR: the instance is intersected in the place of the shared sphere");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the max distance is measured in the scene, not in the space of the sphere
+        assertEquals(1, instance.findGeoIntersections(ray, 15).size(),
+                "ERROR: the max distance isn't transformed into the space of the sphere");
+    }
+
+    /**
+     * Test method for {@link Intersectable#findClosestGeoIntersection(Ray)}
+     */
+    @Test
+    void testFindClosestGeoIntersection() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the closest intersection is on the near side of the transformed sphere, with its normal
+        Intersectable.GeoPoint closest = instance.findClosestGeoIntersection(new Ray(new Point(-10, 0, 0), Vector.X));
+        assertEquals(new Point(3, 0, 0), closest.point, "ERROR: wrong closest intersection with the instance");
+        assertEquals(new Vector(-1, 0, 0), closest.geometry.getNormal(closest.point),
+                "ERROR: the normal isn't calculated in the scene");
+        assertSame(sphere.getEmission(), closest.geometry.getEmission(),
+                "ERROR: the intersection doesn't have the emission of the shared geometry");
+        assertSame(sphere.getMaterial(), closest.geometry.getMaterial(),
+                "ERROR: the intersection doesn't have the material of the shared geometry");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the normal of a non-uniformly scaled instance
+        Instance flat = new Instance(sphere, Transform.scaling(1, 1, 0.5));
+        Intersectable.GeoPoint top = flat.findClosestGeoIntersection(new Ray(new Point(0, 0, 5), new Vector(0, 0, -1)));
+        assertEquals(new Point(0, 0, 0.5), top.point, "ERROR: wrong intersection with a flattened instance");
+        assertEquals(Vector.Z, top.geometry.getNormal(top.point), "ERROR: wrong normal of a flattened instance");
+    }
+
+    /**
+     * Test method for {@link Instance#calcBoundaryBox()}
+     */
+    @Test
+    void testCalcBoundaryBox() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the box of the instance is the transformed box of the shared sphere
+        instance.calcBoundaryBox();
+        BoundaryBox box = instance.getBoundaryBox();
+        assertArrayEquals(new double[]{3, -2, -2, 7, 2, 2},
+                new double[]{box.getMinX(), box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(), box.getMaxZ()},
+                1e-10, "ERROR: wrong boundary box of the instance");
+
+        // TC02: moving the instance moves its box
+        instance.setTransform(Transform.translation(new Vector(0, 10, 0)));
+        instance.calcBoundaryBox();
+        assertEquals(9, instance.getBoundaryBox().getMinY(), 1e-10, "ERROR: the box didn't move with the instance");
+
+        // TC03: the first instance of shared geometries builds their hierarchy
+        Geometries shared = new Geometries(new Sphere(1, Point.ZERO), new Sphere(1, new Point(3, 0, 0)));
+        Instance first = new Instance(shared, Transform.translation(new Vector(0, 0, 10)));
+        first.calcBoundaryBox();
+        assertTrue(shared.hasHierarchy(), "ERROR: the hierarchy of the shared geometries wasn't built");
+        assertEquals(4, first.getBoundaryBox().getMaxX(), 1e-10, "ERROR: wrong boundary box of shared geometries");
+
+        // TC04: a geometry added to the shared geometries is in the box of the instance after it is calculated
+        shared.add(new Sphere(1, new Point(0, 5, 0)));
+        first.calcBoundaryBox();
+        assertEquals(6, first.getBoundaryBox().getMaxY(), 1e-10,
+                "ERROR: the box of the instance didn't grow with the shared geometries");
+        assertEquals(2, first.findGeoIntersections(new Ray(new Point(0, 5, 0), Vector.Z)).size(),
+                "ERROR: the geometry added to the shared geometries isn't intersected");
+    }
+}
@@ -0,0 +1,192 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.*;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeshTest {
+    /** a square in the plane z=0 from (0,0,0) to (2,2,0), made of two faces that share the diagonal */
+    private final Mesh square = new Mesh(
+            new double[]{0, 0, 0, 2, 0, 0, 2, 2, 0, 0, 2, 0},
+            new int[]{0, 1, 2, 0, 2, 3});
+
+    /**
+     * Test method for {@link Mesh#Mesh(double[], int[])}
+     */
+    @Test
+    void testConstructor() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a correct mesh
+        assertEquals(2, square.faceCount(), "ERROR: wrong number of faces");
+        assertEquals(4, square.vertexCount(), "ERROR: wrong number of vertices");
+
+        // TC02: a face with a vertex that doesn't exist
+        assertThrows(IllegalArgumentException.class,
+                () -> new Mesh(new double[]{0, 0, 0, 1, 0, 0, 0, 1, 0}, new int[]{0, 1, 3}),
+                "ERROR: constructed a mesh with a vertex that doesn't exist");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the coordinates can't be split into vertices
+        assertThrows(IllegalArgumentException.class,
+                () -> new Mesh(new double[]{0, 0, 0, 1, 0, 0, 0, 1}, new int[]{0, 1, 2}),
+                "ERROR: constructed a mesh with a missing coordinate");
+        // TC12: the indices can't be split into faces
+        assertThrows(IllegalArgumentException.class,
+                () -> new Mesh(new double[]{0, 0, 0, 1, 0, 0, 0, 1, 0}, new int[]{0, 1}),
+                "ERROR: constructed a mesh with a missing index");
+    }
+
+    /**
+     * Test method for {@link Intersectable#findGeoIntersections(Ray, double)}
+     */
+    @Test
+    void testFindGeoIntersections() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray intersects one of the faces, like the triangle of the face
+        Ray ray = new Ray(new Point(1.5, 0.5, 1), new Vector(0, 0, -1));
+        List<Intersectable.GeoPoint> result = square.findGeoIntersections(ray);
+        assertEquals(1, result.size(), "ERROR: wrong number of intersections with the mesh");
+        assertEquals(new Triangle(new Point(0, 0, 0), new Point(2, 0, 0), new Point(2, 2, 0)).findIntersections(ray),
+                List.of(result.get(0).point), "ERROR: the mesh isn't intersected like its triangle");
+
+        // TC02: the ray misses the mesh
+        assertNull(square.findGeoIntersections(new Ray(new Point(3, 1, 1), new Vector(0, 0, -1))),
+                "ERROR: the ray doesn't intersect the mesh");
+
+        // TC03: the ray is after the mesh
+        assertNull(square.findGeoIntersections(new Ray(new Point(1, 1, -1), new Vector(0, 0, -1))),
+                "ERROR: the mesh is behind the ray");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the ray hits the edge shared by the two faces, which is part of both of them
+        result = square.findGeoIntersections(new Ray(new Point(1, 1, 1), new Vector(0, 0, -1)));
+        assertEquals(2, result.size(), "ERROR: the shared edge isn't part of the faces");
+
+        // TC12: the intersection is after the max distance
+        assertNull(square.findGeoIntersections(ray, 0.5), "ERROR: the intersection is after the max distance");
+
+        // TC13: the intersection is exactly at the max distance
+        assertEquals(1, square.findGeoIntersections(ray, 1).size(),
+                "ERROR: the intersection at the max distance is missing");
+    }
+
+    /**
+     * Test method for {@link Intersectable#findClosestGeoIntersection(Ray)}
+     */
+    @Test
+    void testFindClosestGeoIntersection() {
+        // two squares, one above the other
+        Mesh layers = new Mesh(
+                new double[]{0, 0, 0, 2, 0, 0, 2, 2, 0, 0, 2, 0, 0, 0, 1, 2, 0, 1, 2, 2, 1, 0, 2, 1},
+                new int[]{0, 1, 2, 0, 2, 3, 4, 5, 6, 4, 6, 7});
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the closest intersection is on the upper square, with its normal
+        Intersectable.GeoPoint closest = layers.findClosestGeoIntersection(
+                new Ray(new Point(0.5, 1.5, 5), new Vector(0, 0, -1)));
+        assertEquals(new Point(0.5, 1.5, 1), closest.point, "ERROR: wrong closest intersection with the mesh");
+        assertEquals(Vector.Z, closest.geometry.getNormal(closest.point), "ERROR: wrong normal of the face");
+
+        // TC02: the ray comes from below
+        closest = layers.findClosestGeoIntersection(new Ray(new Point(0.5, 1.5, -5), Vector.Z));
+        assertEquals(new Point(0.5, 1.5, 0), closest.point, "ERROR: wrong closest intersection from below");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the ray starts between the squares and the closest intersection is after the max distance
+        assertNull(layers.findClosestGeoIntersection(new Ray(new Point(1, 0.5, 0.5), Vector.Z), 0.25),
+                "ERROR: the closest intersection is after the max distance");
+    }
+
+    /**
+     * Test method for {@link Mesh#setFaceMaterials(int[], Color[], Material[])}
+     */
+    @Test
+    void testSetFaceMaterials() {
+        Color red = new Color(255, 0, 0);
+        Color blue = new Color(0, 0, 255);
+        Material glass = new Material().setKt(0.5);
+        Material wall = new Material().setKd(0.5);
+        Mesh mesh = new Mesh(new double[]{0, 0, 0, 2, 0, 0, 2, 2, 0, 0, 2, 0}, new int[]{0, 1, 2, 0, 2, 3})
+                .setFaceMaterials(new int[]{1, 0}, new Color[]{red, blue}, new Material[]{glass, wall});
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: every face has its own emission and material
+        Intersectable.GeoPoint first = mesh.findClosestGeoIntersection(
+                new Ray(new Point(1.5, 0.5, 1), new Vector(0, 0, -1)));
+        assertSame(blue, first.geometry.getEmission(), "ERROR: wrong emission of the first face");
+        assertSame(wall, first.geometry.getMaterial(), "ERROR: wrong material of the first face");
+        Intersectable.GeoPoint second = mesh.findClosestGeoIntersection(
+                new Ray(new Point(0.5, 1.5, 1), new Vector(0, 0, -1)));
+        assertSame(red, second.geometry.getEmission(), "ERROR: wrong emission of the second face");
+        assertSame(glass, second.geometry.getMaterial(), "ERROR: wrong material of the second face");
+
+        // TC02: a face with a material that doesn't exist
+        assertThrows(IllegalArgumentException.class,
+                () -> mesh.setFaceMaterials(new int[]{0, 2}, new Color[]{red, blue}, new Material[]{glass, wall}),
+                "ERROR: set a material that doesn't exist");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: setting one material for the whole mesh replaces the materials of the faces
+        mesh.setMaterial(wall);
+        second = mesh.findClosestGeoIntersection(new Ray(new Point(0.5, 1.5, 1), new Vector(0, 0, -1)));
+        assertSame(wall, second.geometry.getMaterial(), "ERROR: the material of the face wasn't replaced");
+    }
+
+    /**
+     * Test method for {@link Mesh#calcBoundaryBox()}
+     */
+    @Test
+    void testCalcBoundaryBox() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the box of the mesh contains all its vertices
+        BoundaryBox box = square.getBoundaryBox();
+        assertArrayEquals(new double[]{0, 0, 0, 2, 2, 0},
+                new double[]{box.getMinX(), box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(), box.getMaxZ()},
+                1e-10, "ERROR: wrong boundary box of the mesh");
+    }
+
+    /**
+     * Test method for {@link Mesh#read(ByteBuffer)}
+     */
+    @Test
+    void testRead() {
+        Color red = new Color(255, 0, 0);
+        Material glass = new Material().setKt(0.5).setShininess(30);
+        Mesh mesh = new Mesh(new double[]{0, 0, 0, 2, 0, 0, 2, 2, 0, 0, 2, 0}, new int[]{0, 1, 2, 0, 2, 3})
+                .setFaceMaterials(new int[]{1, 0}, new Color[]{Color.BLACK, red},
+                        new Material[]{new Material(), glass});
+        ByteBuffer buffer = ByteBuffer.allocate((int) mesh.byteSize());
+        mesh.write(buffer);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the mesh that was read has the faces, hierarchy and materials of the mesh that was written
+        assertFalse(buffer.hasRemaining(), "ERROR: wrong size of the written mesh");
+        Mesh copy = Mesh.read(buffer.flip());
+        assertEquals(2, copy.faceCount(), "ERROR: wrong number of faces");
+        assertEquals(4, copy.vertexCount(), "ERROR: wrong number of vertices");
+        Intersectable.GeoPoint hit = copy.findClosestGeoIntersection(
+                new Ray(new Point(1.5, 0.5, 1), new Vector(0, 0, -1)));
+        assertEquals(new Point(1.5, 0.5, 0), hit.point, "ERROR: wrong intersection with the mesh that was read");
+        assertEquals(red.getRgb(), hit.geometry.getEmission().getRgb(), "ERROR: wrong emission of the face");
+        assertEquals(30, hit.geometry.getMaterial().nShininess, "ERROR: wrong material of the face");
+        assertEquals(new Double3(0.5), hit.geometry.getMaterial().kT, "ERROR: wrong material of the face");
+        BoundaryBox box = copy.getBoundaryBox();
+        assertArrayEquals(new double[]{0, 0, 0, 2, 2, 0},
+                new double[]{box.getMinX(), box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(), box.getMaxZ()},
+                1e-10, "ERROR: wrong boundary box of the mesh that was read");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the data is cut before its end
+        ByteBuffer cut = ByteBuffer.wrap(buffer.array(), 0, buffer.limit() - 1);
+        assertThrows(IllegalArgumentException.class, () -> Mesh.read(cut), "ERROR: read an incomplete mesh");
+
+        // TC12: a face uses a vertex that doesn't exist
+        buffer.putInt(5 * Integer.BYTES + Double.BYTES * (12 + 6 + 30), 7);
+        assertThrows(IllegalArgumentException.class, () -> Mesh.read(buffer.rewind()),
+                "ERROR: read a mesh with a vertex that doesn't exist");
+    }
+}
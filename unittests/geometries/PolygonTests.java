@@ -4,7 +4,10 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import primitives.Point;
+import primitives.Ray;
 import primitives.Vector;
 
 /**
@@ -105,4 +108,83 @@ public class PolygonTests {
                       "Polygon's normal is not orthogonal to one of the edges");
    }
 
+   /** Test method for {@link geometries.Polygon#findGeoIntersections(primitives.Ray, double)}. */
+   @Test
+   public void testFindGeoIntersections() {
+      // a square in the plane x=1, with its vertices ordered clockwise when looking from the origin
+      Polygon square = new Polygon(new Point(1, -1, -1),
+                                   new Point(1, 1, -1),
+                                   new Point(1, 1, 1),
+                                   new Point(1, -1, 1));
+      Vector v100 = new Vector(1, 0, 0);
+
+      // ============ Equivalence Partitions Tests ==============
+      // TC01: Ray is inside the polygon (1 point)
+      assertEquals(List.of(new Point(1, 0.5, 0.5)),
+                   square.findIntersections(new Ray(new Point(-1, 0.5, 0.5), v100)),
+                   "Ray inside the polygon");
+
+      // TC02: Ray is outside the polygon, against an edge (0 points)
+      assertNull(square.findIntersections(new Ray(new Point(-1, 2, 0), v100)),
+                 "Ray outside the polygon against an edge");
+
+      // TC03: Ray is outside the polygon, against a vertex (0 points)
+      assertNull(square.findIntersections(new Ray(new Point(-1, 2, 2), v100)),
+                 "Ray outside the polygon against a vertex");
+
+      // TC04: The polygon is behind the ray (0 points)
+      assertNull(square.findIntersections(new Ray(new Point(2, 0, 0), v100)),
+                 "The polygon is behind the ray");
+
+      // TC05: A polygon with its vertices in the other direction (1 point)
+      Polygon reversed = new Polygon(new Point(1, -1, 1),
+                                     new Point(1, 1, 1),
+                                     new Point(1, 1, -1),
+                                     new Point(1, -1, -1));
+      assertEquals(List.of(new Point(1, -0.5, 0.5)),
+                   reversed.findIntersections(new Ray(new Point(-1, -0.5, 0.5), v100)),
+                   "Ray inside a polygon with reversed vertices");
+
+      // =============== Boundary Values Tests ==================
+      // TC11: Ray is on an edge of the polygon (0 points)
+      assertNull(square.findIntersections(new Ray(new Point(-1, 1, 0), v100)),
+                 "Ray on an edge of the polygon");
+
+      // TC12: Ray is on a vertex of the polygon (0 points)
+      assertNull(square.findIntersections(new Ray(new Point(-1, 1, 1), v100)),
+                 "Ray on a vertex of the polygon");
+
+      // TC13: Ray is on the continuation of an edge (0 points)
+      assertNull(square.findIntersections(new Ray(new Point(-1, 1, 2), v100)),
+                 "Ray on the continuation of an edge");
+
+      // TC14: Ray is parallel to the polygon (0 points)
+      assertNull(square.findIntersections(new Ray(new Point(0, 0, 0), new Vector(0, 1, 0))),
+                 "Ray parallel to the polygon");
+
+      // TC15: The intersection is at the max distance, and after it (1 point, 0 points)
+      Ray ray = new Ray(new Point(-1, 0, 0), v100);
+      assertEquals(1, square.findGeoIntersections(ray, 2).size(),
+                   "The intersection at the max distance is missing");
+      assertNull(square.findGeoIntersections(ray, 1.5),
+                 "The intersection is after the max distance");
+   }
+
+   /** Test method for {@link geometries.Polygon#calcBoundaryBox()}. */
+   @Test
+   public void testCalcBoundaryBox() {
+      // ============ Equivalence Partitions Tests ==============
+      // TC01: The box contains all the vertices of the polygon
+      Polygon polygon = new Polygon(new Point(0, 0, 1),
+                                    new Point(1, 0, 0),
+                                    new Point(0, 1, 0),
+                                    new Point(-1, 1, 1));
+      polygon.calcBoundaryBox();
+      BoundaryBox box = polygon.getBoundaryBox();
+      assertArrayEquals(new double[] { -1, 0, 0, 1, 1, 1 },
+                        new double[] { box.getMinX(), box.getMinY(), box.getMinZ(),
+                                       box.getMaxX(), box.getMaxY(), box.getMaxZ() },
+                        DELTA, "Wrong boundary box of the polygon");
+   }
+
 }
@@ -218,4 +218,32 @@ class SphereTest {
                 sphere.findGeoIntersections(ray,4).size(),
                 "ERROR: doesn't return only one intersection point if the distance from the second point is the max distance");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link Sphere#findClosestGeoIntersection(Ray, double)}
+     */
+    @Test
+    void testFindClosestGeoIntersection() {
+        Sphere sphere = new Sphere(1d, new Point(2,0,0));
+        Ray ray = new Ray(new Point(-1,0,0), new Vector(1,0,0));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray starts before the sphere - the first intersection is the closest
+        assertEquals(new Point(1,0,0),
+                sphere.findClosestGeoIntersection(ray).point,
+                "ERROR: doesn't return the first intersection point");
+        // TC02: the ray starts inside the sphere - the only intersection is the closest
+        assertEquals(new Point(3,0,0),
+                sphere.findClosestGeoIntersection(new Ray(new Point(1.5,0,0), new Vector(1,0,0))).point,
+                "ERROR: doesn't return the intersection point when the ray starts inside the sphere");
+        // TC03: the intersection points are further away than the max distance
+        assertNull(sphere.findClosestGeoIntersection(ray,1),
+                "ERROR: returns an intersection that is further away than the max distance");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the distance from the first point is exactly the max distance
+        assertEquals(new Point(1,0,0),
+                sphere.findClosestGeoIntersection(ray,2).point,
+                "ERROR: doesn't return the intersection point if its distance is the max distance");
+    }
+}
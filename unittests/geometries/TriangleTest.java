@@ -109,4 +109,45 @@ class TriangleTest {
                 triangle.findGeoIntersections(ray,2).size(),
                 "ERROR: doesn't return the an intersection point if the distance is the max distance");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link Triangle#findBarycentricIntersection(Ray, double)}
+     */
+    @Test
+    void testFindBarycentricIntersection() {
+        Triangle triangle = new Triangle(
+                new Point(0,0,0),
+                new Point(2,0,0),
+                new Point(0,2,0)
+        );
+        Vector down = new Vector(0,0,-1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray is inside the triangle, with its distance and barycentric coordinates
+        assertArrayEquals(new double[]{3, 0.25, 0.5},
+                triangle.findBarycentricIntersection(new Ray(new Point(0.5,1,3), down), 10),
+                DELTA,
+                "ERROR: wrong distance or barycentric coordinates of the intersection");
+
+        // TC02: the ray is outside the triangle
+        assertNull(triangle.findBarycentricIntersection(new Ray(new Point(2,2,3), down), 10),
+                "ERROR: the ray is outside the triangle");
+
+        // TC03: the triangle is behind the ray
+        assertNull(triangle.findBarycentricIntersection(new Ray(new Point(0.5,0.5,-3), down), 10),
+                "ERROR: the triangle is behind the ray");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the ray is on an edge of the triangle
+        assertNull(triangle.findBarycentricIntersection(new Ray(new Point(1,1,3), down), 10),
+                "ERROR: the edge isn't part of the triangle");
+
+        // TC12: the ray is parallel to the triangle
+        assertNull(triangle.findBarycentricIntersection(new Ray(new Point(0.5,0.5,3), new Vector(1,0,0)), 10),
+                "ERROR: the ray is parallel to the triangle");
+
+        // TC13: the intersection is after the max distance
+        assertNull(triangle.findBarycentricIntersection(new Ray(new Point(0.5,1,3), down), 2),
+                "ERROR: the intersection is after the max distance");
+    }
+}
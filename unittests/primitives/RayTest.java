@@ -18,6 +18,12 @@ class RayTest {
         assertEquals(1,
                 ray.getDirection().length(),
                 "ERROR: ray's vector isn't a normal");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the vector is already a normal, so it is kept as it is
+        Vector normal = new Vector(0, 0.6, 0.8);
+        assertSame(normal, new Ray(new Point(1, 2, 3), normal).getDirection(),
+                "ERROR: ray's normalized vector was normalized again");
     }
 
     /**
@@ -0,0 +1,100 @@
+package primitives;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransformTest {
+
+    /**
+     * Test method for {@link Transform#transform(Point)}
+     */
+    @Test
+    void testTransformPoint() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: translation moves the point
+        assertEquals(new Point(2, 3, 4), Transform.translation(new Vector(1, 1, 1)).transform(new Point(1, 2, 3)),
+                "ERROR: translation doesn't move the point");
+
+        // TC02: scaling from the origin
+        assertEquals(new Point(2, 6, -3), Transform.scaling(2, 3, -1).transform(new Point(1, 2, 3)),
+                "ERROR: scaling doesn't scale the point");
+
+        // TC03: rotation of 90 degrees around the z-axis moves the x-axis to the y-axis
+        assertEquals(new Point(0, 1, 5), Transform.rotation(Vector.Z, 90).transform(new Point(1, 0, 5)),
+                "ERROR: rotation doesn't rotate the point");
+
+        // TC04: combined transformation - first scaling, then translation
+        assertEquals(new Point(3, 4, 6),
+                Transform.scaling(2).then(Transform.translation(new Vector(1, 0, 0))).transform(new Point(1, 2, 3)),
+                "ERROR: combined transformation isn't done in the right order");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the identity doesn't change the point
+        assertEquals(new Point(1, 2, 3), Transform.IDENTITY.transform(new Point(1, 2, 3)),
+                "ERROR: the identity changes the point");
+    }
+
+    /**
+     * Test method for {@link Transform#transform(Vector)}
+     */
+    @Test
+    void testTransformVector() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: translation doesn't change a direction
+        assertEquals(new Vector(1, 2, 3), Transform.translation(new Vector(5, 5, 5)).transform(new Vector(1, 2, 3)),
+                "ERROR: translation changes a direction vector");
+
+        // TC02: scaling changes the length of a direction
+        assertEquals(new Vector(2, 0, 0), Transform.scaling(2).transform(Vector.X),
+                "ERROR: scaling doesn't scale a direction vector");
+    }
+
+    /**
+     * Test method for {@link Transform#transformNormal(Vector)}
+     */
+    @Test
+    void testTransformNormal() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the normal stays orthogonal to the transformed surface after non-uniform scaling
+        Transform transform = Transform.scaling(1, 4, 1);
+        Vector tangent = transform.transform(new Vector(1, -1, 0));
+        Vector normal = transform.transformNormal(new Vector(1, 1, 0));
+        assertEquals(0, tangent.dotProduct(normal), 1e-10,
+                "ERROR: the transformed normal isn't orthogonal to the transformed surface");
+    }
+
+    /**
+     * Test method for {@link Transform#inverse()}
+     */
+    @Test
+    void testInverse() {
+        Transform transform = Transform.rotation(new Vector(1, 2, 3), 35)
+                .then(Transform.scaling(2, 0.5, 3))
+                .then(Transform.translation(new Vector(-4, 1, 7)));
+        Point point = new Point(1, -2, 5);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the inverse transformation cancels the transformation
+        assertEquals(point, transform.inverse().transform(transform.transform(point)),
+                "ERROR: the inverse doesn't cancel the transformation");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a transformation that flattens the space can't be inverted
+        assertThrows(IllegalArgumentException.class, () -> Transform.scaling(1, 0, 1),
+                "ERROR: doesn't throw an exception for a transformation that can't be inverted");
+    }
+
+    /**
+     * Test method for {@link Transform#transformBox(double[], double[])}
+     */
+    @Test
+    void testTransformBox() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the box of a rotated box contains all its corners
+        double[] box = Transform.rotation(Vector.Z, 45).transformBox(new double[]{-1, -1, 0}, new double[]{1, 1, 1});
+        double d = Math.sqrt(2);
+        assertArrayEquals(new double[]{-d, -d, 0, d, d, 1}, box, 1e-10,
+                "ERROR: the transformed box doesn't contain the rotated box");
+    }
+}
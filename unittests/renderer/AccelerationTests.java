@@ -9,6 +9,7 @@ import scene.Scene;
 
 import java.util.*;
 import static java.lang.Math.floor;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class AccelerationTests {
     Material ballMaterial = new Material().setKs(0.6).setKd(0.4).setShininess(10);
@@ -158,6 +159,27 @@ public class AccelerationTests {
         return scene;
     }
 
+    /**
+     * builds the same scene as buildFlatScene(), but the rows are all instances of one shared row
+     * (a tube with spheres and a shelf) with its own hierarchy, instead of copies of it
+     * @return the scene
+     */
+    public Scene buildInstancedScene() {
+        Scene scene = buildFlatScene();
+        Intersectable wall = scene.geometries.getItem(scene.geometries.size() - 2);
+        Intersectable floor = scene.geometries.getItem(scene.geometries.size() - 1);
+
+        Point center2 = new Ray(Point.ZERO, Vector.Z).getPoint(sphereShelf).add(Vector.X.scale(-sphereShelf));
+        Geometries row = new Geometries(buildTube(radius, Point.ZERO, Vector.Y, numSpheres));
+        row.add(buildShelf(center2, numSpheres*radius*2.2, radius*2, shelfHeight, Vector.Z, Vector.X));
+
+        scene.setGeometries(new Geometries(wall, floor));
+        for (int i = 0; i < numRows; i++) {
+            scene.geometries.add(new Instance(row, Transform.translation(Vector.Z.scale(i * interval))));
+        }
+        return scene;
+    }
+
     public Scene buildHierarchicalScene() {
         Scene scene = new Scene("Mini Project 2");
 
@@ -272,6 +294,53 @@ public class AccelerationTests {
                 .build().renderImage().writeToImage();
     }
 
+    /**
+     * checks that the estimated traversal cost of the hierarchy built by the Surface Area Heuristic isn't higher
+     * than the cost of the hierarchy built by splitting along the z-axis or of the linear hierarchy, on the same scene
+     */
+    @Test
+    public void BoundaryVolumeHierarchyCost() {
+        Scene sahScene = buildFlatScene();
+        sahScene.geometries.buildBVH();
+        Scene medianScene = buildFlatScene();
+        medianScene.geometries.buildMedianBVH();
+        Scene linearScene = buildFlatScene();
+        linearScene.geometries.buildLinearBVH();
+        assertTrue(sahScene.geometries.traversalCost() <= medianScene.geometries.traversalCost(),
+                "ERROR: the SAH hierarchy costs more than the median hierarchy");
+        assertTrue(sahScene.geometries.traversalCost() <= linearScene.geometries.traversalCost(),
+                "ERROR: the SAH hierarchy costs more than the linear hierarchy");
+    }
+
+    @Test
+    public void FlatBoundaryVolumeHierarchy() {
+        Scene scene = buildFlatScene();
+        scene.geometries.compileBVH();
+        camBuild.setImageWriter(new ImageWriter("FlatBoundaryVolumeHierarchy",800,800))
+                .setRayTracer(new SimpleRayTracer(scene))
+                .setBoundaryVolumeOn(true)
+                .build().renderImage().writeToImage();
+    }
+
+    @Test
+    public void InstancedBoundaryVolumeHierarchy() {
+        Scene scene = buildInstancedScene();
+        scene.geometries.buildBVH();
+        camBuild.setImageWriter(new ImageWriter("InstancedBoundaryVolumeHierarchy",800,800))
+                .setRayTracer(new SimpleRayTracer(scene))
+                .setBoundaryVolumeOn(true)
+                .build().renderImage().writeToImage();
+    }
+
+    @Test
+    public void UniformGrid() {
+        Scene scene = buildFlatScene();
+        camBuild.setImageWriter(new ImageWriter("UniformGrid",800,800))
+                .setRayTracer(new SimpleRayTracer(scene))
+                .setUniformGridOn(true)
+                .build().renderImage().writeToImage();
+    }
+
     int numOfThreads = 3;
 
     @Test
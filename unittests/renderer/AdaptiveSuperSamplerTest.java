@@ -0,0 +1,86 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveSuperSamplerTest {
+    /** the point where all the sample rays converge */
+    private final Point convergence = new Point(0, 0, 10);
+
+    /**
+     * a ray tracer that counts its rays, and sees red above the plane y=0 and blue below it
+     */
+    private static class EdgeTracer extends RayTracerBase {
+        /** the number of rays that were traced */
+        private int rays = 0;
+
+        /**
+         * constructor for the edge tracer
+         */
+        EdgeTracer() {
+            super(new Scene("Test"));
+        }
+
+        @Override
+        public Color traceRay(Ray ray) {
+            rays++;
+            return ray.getDirection().getY() > 0 ? new Color(255, 0, 0) : new Color(0, 0, 255);
+        }
+    }
+
+    /**
+     * creates an adaptive super sampler of pixels of 1x1 on the plane z=0
+     * @param tracer the ray tracer of the super sampler
+     * @return the super sampler
+     */
+    private static AdaptiveSuperSampler sampler(EdgeTracer tracer) {
+        AdaptiveSuperSampler sampler = new AdaptiveSuperSampler().setViewPlaneCenter(Point.ZERO);
+        sampler.setRayTracer(tracer).setUp(Vector.Y).setRight(Vector.X)
+                .getTargetArea().setHeight(1).setWidth(1);
+        return sampler;
+    }
+
+    /**
+     * Test method for {@link AdaptiveSuperSampler#calculateValue(Point, Point)}
+     */
+    @Test
+    void testCalculateValue() {
+        EdgeTracer tracer = new EdgeTracer();
+        AdaptiveSuperSampler sampler = sampler(tracer);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a pixel of a single color is sampled by its corners
+        assertEquals(new Double3(255, 0, 0), sampler.calculateValue(convergence, new Point(5.5, 5.5, 0)),
+                "ERROR: wrong value of a pixel of a single color");
+        assertEquals(4, tracer.rays, "ERROR: a pixel of a single color was divided");
+
+        // TC02: a neighbouring pixel traces only the corners that aren't shared
+        sampler.calculateValue(convergence, new Point(6.5, 5.5, 0));
+        assertEquals(6, tracer.rays, "ERROR: the shared corners were traced again");
+
+        // TC03: a pixel with an edge in it is divided, and its value is close to the part of each color
+        tracer.rays = 0;
+        double red = sampler.calculateValue(convergence, new Point(0.5, 0.25, 0)).getD1();
+        assertTrue(tracer.rays > 4, "ERROR: a pixel with an edge wasn't divided");
+        assertEquals(0.75 * 255, red, 255d / 8, "ERROR: wrong value of a pixel with an edge");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the corners are traced again after the cache is cleared
+        sampler.clearCache();
+        tracer.rays = 0;
+        sampler.calculateValue(convergence, new Point(5.5, 5.5, 0));
+        assertEquals(4, tracer.rays, "ERROR: corners of an earlier render were kept");
+
+        // TC12: a threshold that the edge doesn't cross keeps the pixel whole
+        EdgeTracer wholeTracer = new EdgeTracer();
+        sampler(wholeTracer).setThreshold(255).calculateValue(convergence, new Point(0.5, 0.25, 0));
+        assertEquals(4, wholeTracer.rays, "ERROR: a pixel was divided below the threshold");
+
+        // TC13: a maximum depth that isn't positive
+        assertThrows(IllegalArgumentException.class, () -> sampler.setMaxDepth(0),
+                "ERROR: a maximum depth of 0 doesn't throw an exception");
+    }
+}
@@ -1,11 +1,22 @@
 package renderer;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
+import geometries.Geometry;
+import geometries.Instance;
+import geometries.Polygon;
+import geometries.Sphere;
 import org.junit.jupiter.api.Test;
 
 import primitives.*;
 import scene.Scene;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 //import scene.Scene;
 
 /**
@@ -62,4 +73,195 @@ class CameraTest {
                 camera2.constructRay(3, 3, 0, 0), badRay);
 
     }
-}
\ No newline at end of file
+
+    /**
+     * renders an image of a sphere progressively, and checks that the final image is the same as a normal render
+     * @param builder the builder of the camera, with everything but the image writer
+     * @param passes the expected number of passes
+     * @param message the message to show if it isn't
+     * @return the images of all the passes
+     */
+    private static List<int[]> assertProgressive(Camera.Builder builder, int passes, String message) {
+        ImageWriter normal = new ImageWriter("Test", 20, 13);
+        builder.setImageWriter(normal).build().renderImage();
+        ImageWriter progressive = new ImageWriter("Test", 20, 13);
+        List<int[]> images = new ArrayList<>();
+        builder.setImageWriter(progressive).build().renderProgressive((pass, total, framebuffer) -> {
+            assertEquals(images.size() + 1, pass, message + ": wrong number of the pass");
+            assertEquals(passes, total, message + ": wrong number of passes");
+            images.add(framebuffer.clone());
+        });
+        assertEquals(passes, images.size(), message + ": wrong number of previews");
+        int[] last = images.get(images.size() - 1);
+        for (int i = 0; i < 13; i++) {
+            for (int j = 0; j < 20; j++) {
+                assertEquals(normal.readPixel(j, i), last[i * 20 + j] & 0xFFFFFF,
+                        message + ": the final image isn't the same as a normal render");
+                assertEquals(normal.readPixel(j, i), progressive.readPixel(j, i),
+                        message + ": the image writer doesn't have the final image");
+            }
+        }
+        return images;
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#renderProgressive(PreviewListener)}.
+     */
+    @Test
+    void testRenderProgressive() {
+        Scene scene = new Scene("Test");
+        scene.geometries.add(new Sphere(3, new Point(0, 0, -20)).setEmission(new Color(0, 0, 200)));
+        scene.background = new Color(100, 0, 0);
+        Camera.Builder builder = Camera.getBuilder()
+                .setRayTracer(new SimpleRayTracer(scene))
+                .setLocation(Point.ZERO)
+                .setDirection(new Vector(0, 0, -1), new Vector(0, -1, 0))
+                .setVpDistance(10)
+                .setVpSize(10, 6.5)
+                .setTileSize(6);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: passes of blocks of 8, 4, 2 and 1 pixels
+        List<int[]> images = assertProgressive(builder, 4, "ERROR: without antialiasing");
+        int[] first = images.get(0);
+        for (int i = 0; i < 13; i++) {
+            for (int j = 0; j < 20; j++) {
+                assertEquals(first[(i - i % 8) * 20 + j - j % 8], first[i * 20 + j],
+                        "ERROR: the first pass isn't colored in blocks");
+            }
+        }
+
+        // TC02: seeded antialiasing adds four passes, in several threads
+        builder.setAntiAliasing(new AntiAliasingSuperSampler(9).setTargetArea(new RectangleJitteredGrid().setSeed(5)))
+                .setRenderPool(new ForkJoinPool(2));
+        images = assertProgressive(builder, 8, "ERROR: with antialiasing");
+        assertArrayEquals(images.get(3), assertProgressive(builder.setAntiAliasing(null), 4,
+                "ERROR: without antialiasing in several threads").get(3),
+                "ERROR: the passes of the pixels aren't the same with antialiasing");
+
+        // TC03: adaptive antialiasing adds a single pass
+        assertProgressive(builder.setAntiAliasing(new AdaptiveSuperSampler()), 5, "ERROR: with adaptive antialiasing");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: sample points that aren't seeded, fewer than the passes of the antialiasing
+        TargetAreaBase targetArea = new RectangleJitteredGrid();
+        builder.setAntiAliasing(new AntiAliasingSuperSampler(2).setTargetArea(targetArea))
+                .setImageWriter(new ImageWriter("Test", 20, 13)).build()
+                .renderProgressive((pass, total, framebuffer) -> {
+                    for (int pixel : framebuffer) {
+                        assertNotEquals(0, pixel & 0xFFFFFF, "ERROR: a pass without samples of a pixel is black");
+                    }
+                });
+        assertFalse(targetArea.isSeeded(), "ERROR: the sample points stayed seeded after the render");
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#renderImage()} with edge antialiasing
+     */
+    @Test
+    void testRenderImageEdges() {
+        Scene scene = new Scene("Test");
+        scene.geometries.add(new Polygon(new Point(-5.3, -3.2, -20), new Point(4.7, -3.2, -20),
+                new Point(4.7, 3.6, -20), new Point(-5.3, 3.6, -20)).setEmission(new Color(0, 0, 200)));
+        scene.background = new Color(100, 0, 0);
+        Camera.Builder builder = Camera.getBuilder()
+                .setRayTracer(new SimpleRayTracer(scene))
+                .setLocation(Point.ZERO)
+                .setDirection(new Vector(0, 0, -1), new Vector(0, -1, 0))
+                .setVpDistance(10)
+                .setVpSize(10, 6.5);
+        ImageWriter plain = new ImageWriter("Test", 20, 13);
+        builder.setImageWriter(plain).build().renderImage();
+        ImageWriter full = new ImageWriter("Test", 20, 13);
+        builder.setAntiAliasing(new AntiAliasingSuperSampler(9).setTargetArea(new RectangleJitteredGrid().setSeed(5)))
+                .setImageWriter(full).build().renderImage();
+        ImageWriter edges = new ImageWriter("Test", 20, 13);
+        builder.setEdgeAntiAliasing(true).setImageWriter(edges).build().renderImage();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the pixels next to a pixel of another color are antialiased, and the rest are traced once
+        int antialiased = 0;
+        for (int i = 0; i < 13; i++) {
+            for (int j = 0; j < 20; j++) {
+                int color = plain.readPixel(j, i);
+                boolean edge = (j > 0 && plain.readPixel(j - 1, i) != color)
+                        || (j < 19 && plain.readPixel(j + 1, i) != color)
+                        || (i > 0 && plain.readPixel(j, i - 1) != color)
+                        || (i < 12 && plain.readPixel(j, i + 1) != color);
+                assertEquals(edge ? full.readPixel(j, i) : color, edges.readPixel(j, i),
+                        edge ? "ERROR: a pixel of an edge isn't antialiased" : "ERROR: a pixel inside a geometry is antialiased");
+                if (edge && full.readPixel(j, i) != color) antialiased++;
+            }
+        }
+        assertTrue(antialiased > 0, "ERROR: no pixel of an edge was changed by the antialiasing");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: pixels of the same geometry and color whose normals are too different are an edge
+        Geometry[] geometries = {null, null, null};
+        Vector[] normals = {Vector.Z, new Vector(1, 0, 1).normalize(), new Vector(1, 0, 1).normalize()};
+        boolean[] found = Camera.findEdges(3, 1, new int[3], geometries, normals);
+        assertArrayEquals(new boolean[]{true, true, false}, found, "ERROR: wrong edges of different normals");
+
+        // TC12: pixels of the same geometry of an instance aren't an edge, and pixels of two instances are
+        Sphere sphere = new Sphere(1, Point.ZERO);
+        Instance instance = new Instance(sphere, Transform.translation(new Vector(0, 0, -20)));
+        Instance other = new Instance(sphere, Transform.translation(new Vector(0, 0, -20)));
+        Ray first = new Ray(Point.ZERO, new Vector(0.01, 0, -1));
+        Ray second = new Ray(Point.ZERO, new Vector(-0.01, 0, -1));
+        geometries = new Geometry[]{instance.findClosestGeoIntersection(first).geometry,
+                instance.findClosestGeoIntersection(second).geometry,
+                other.findClosestGeoIntersection(second).geometry};
+        normals = new Vector[]{Vector.Z, Vector.Z, Vector.Z};
+        found = Camera.findEdges(3, 1, new int[3], geometries, normals);
+        assertArrayEquals(new boolean[]{false, true, true}, found, "ERROR: wrong edges of instances");
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#renderImage()} in several threads
+     */
+    @Test
+    void testRenderImageThreads() {
+        Scene scene = new Scene("Test");
+        scene.geometries.add(new Sphere(3, new Point(0, 0, -20)).setEmission(new Color(0, 0, 200)));
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        Camera.Builder builder = Camera.getBuilder()
+                .setRayTracer(new SimpleRayTracer(scene) {
+                    @Override
+                    public Color traceRay(Ray ray) {
+                        threads.add(Thread.currentThread());
+                        return super.traceRay(ray);
+                    }
+                })
+                .setImageWriter(new ImageWriter("Test", 20, 13))
+                .setLocation(Point.ZERO)
+                .setDirection(new Vector(0, 0, -1), new Vector(0, -1, 0))
+                .setVpDistance(10)
+                .setVpSize(10, 6.5)
+                .setTileSize(4);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the image is rendered by a pool of the camera, which is shut down at the end of the render
+        builder.setNumOfThreads(2).build().renderImage();
+        assertFalse(threads.contains(Thread.currentThread()), "ERROR: the image wasn't rendered by the pool");
+        for (Thread thread : threads) {
+            assertTrue(((ForkJoinWorkerThread) thread).getPool().isShutdown(),
+                    "ERROR: the pool of the camera wasn't shut down");
+        }
+
+        // TC02: a pool that was given to the camera is used and isn't shut down
+        ForkJoinPool pool = new ForkJoinPool(2);
+        threads.clear();
+        builder.setRenderPool(pool).build().renderImage();
+        for (Thread thread : threads) {
+            assertSame(pool, ((ForkJoinWorkerThread) thread).getPool(), "ERROR: the given pool wasn't used");
+        }
+        assertFalse(pool.isShutdown(), "ERROR: the given pool was shut down");
+        pool.shutdown();
+
+        // =============== Boundary Values Tests ==================
+        // TC11: after the number of threads is set to 0, the image is rendered in the thread of the camera
+        threads.clear();
+        builder.setRenderPool(null).setNumOfThreads(0).build().renderImage();
+        assertEquals(Set.of(Thread.currentThread()), threads, "ERROR: the image wasn't rendered without threads");
+    }
+}
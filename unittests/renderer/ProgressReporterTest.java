@@ -0,0 +1,49 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressReporterTest {
+    /**
+     * Test method for {@link ProgressReporter#close()}
+     */
+    @Test
+    void testClose() throws InterruptedException {
+        TileScheduler scheduler = new TileScheduler(8, 8, 4, TileOrder.ROWS);
+        List<RenderProgress> reports = new CopyOnWriteArrayList<>();
+        ProgressReporter reporter = new ProgressReporter(scheduler, reports::add, 0.01);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the progress is reported periodically while the render goes on
+        scheduler.tileDone(scheduler.nextTile());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (reports.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(reports.size() >= 2, "ERROR: the progress wasn't reported periodically");
+        assertEquals(16, reports.get(0).pixelsDone(), "ERROR: a periodic report has wrong progress");
+        assertFalse(reports.get(0).isDone(), "ERROR: a periodic report is done before the render ended");
+
+        // TC02: closing the reporter reports the whole render once more, and stops the periodic reports
+        TileScheduler.Tile tile;
+        while ((tile = scheduler.nextTile()) != null) {
+            scheduler.tileDone(tile);
+        }
+        reporter.close();
+        int count = reports.size();
+        RenderProgress last = reports.get(count - 1);
+        assertTrue(last.isDone(), "ERROR: the final report isn't done");
+        assertEquals(1, last.fraction(), 1e-9, "ERROR: the final report isn't 100%");
+        Thread.sleep(50);
+        assertEquals(count, reports.size(), "ERROR: the progress was reported after the reporter was closed");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the interval must be positive
+        assertThrows(IllegalArgumentException.class, () -> new ProgressReporter(scheduler, reports::add, 0),
+                "ERROR: a reporter with an interval of 0 was made");
+    }
+}
@@ -0,0 +1,47 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Vector;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RectangleSobolTest.assertStratified;
+
+class RectangleBlueNoiseTest {
+    /** the center of the unit square that the samples are generated in */
+    private final Point center = new Point(0.5, 0.5, 0);
+
+    /**
+     * Test method for {@link RectangleBlueNoise#generateSamples(Point, Vector, Vector)}
+     */
+    @Test
+    void testGenerateSamples() {
+        TargetAreaBase targetArea = new RectangleBlueNoise(16, 1, 1).setSeed(7);
+        List<Point> samples = targetArea.generateSamples(center, Vector.Y, Vector.X);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: 16 samples in the target area that aren't too close to each other, even across its sides
+        assertEquals(16, samples.size(), "ERROR: wrong number of samples");
+        assertStratified(samples, 1, 1, "ERROR: 16 samples");
+        for (int i = 0; i < samples.size(); i++) {
+            for (int k = 0; k < i; k++) {
+                assertTrue(RectangleBlueNoise.torusDistanceSquared(samples.get(i).getX(), samples.get(i).getY(),
+                                samples.get(k).getX(), samples.get(k).getY()) > 0.15 * 0.15,
+                        "ERROR: two samples are too close to each other");
+            }
+        }
+
+        // TC02: another target area shifts the pattern differently
+        assertNotEquals(samples.get(0).subtract(center),
+                targetArea.generateSamples(new Point(1.5, 0.5, 0), Vector.Y, Vector.X).get(0)
+                        .subtract(new Point(1.5, 0.5, 0)),
+                "ERROR: two target areas have the same samples");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the pattern is made again when the number of samples changes
+        assertEquals(5, targetArea.setNumberOfSamples(5).generateSamples(center, Vector.Y, Vector.X).size(),
+                "ERROR: the pattern wasn't made again for another number of samples");
+    }
+}
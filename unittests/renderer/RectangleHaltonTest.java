@@ -0,0 +1,44 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Vector;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RectangleSobolTest.assertStratified;
+
+class RectangleHaltonTest {
+    /** the center of the unit square that the samples are generated in */
+    private final Point center = new Point(0.5, 0.5, 0);
+
+    /**
+     * Test method for {@link RectangleHalton#generateSamples(Point, Vector, Vector)}
+     */
+    @Test
+    void testGenerateSamples() {
+        TargetAreaBase targetArea = new RectangleHalton(36, 1, 1).setSeed(7);
+        List<Point> samples = targetArea.generateSamples(center, Vector.Y, Vector.X);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: 36 samples have the same number of samples in every rectangle of grids of 4x9 and 4x3 rectangles
+        assertEquals(36, samples.size(), "ERROR: wrong number of samples");
+        assertStratified(samples, 4, 9, "ERROR: a grid of 4x9");
+        assertStratified(samples, 4, 3, "ERROR: a grid of 4x3");
+
+        // TC02: the same seed and target area make the same samples, and another target area makes other samples
+        assertEquals(samples, new RectangleHalton(36, 1, 1).setSeed(7).generateSamples(center, Vector.Y, Vector.X),
+                "ERROR: the same seed makes different samples");
+        assertNotEquals(samples.get(0).subtract(center),
+                targetArea.generateSamples(new Point(1.5, 0.5, 0), Vector.Y, Vector.X).get(0)
+                        .subtract(new Point(1.5, 0.5, 0)),
+                "ERROR: two target areas have the same samples");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a single sample
+        samples = new RectangleHalton(1, 1, 1).generateSamples(center, Vector.Y, Vector.X);
+        assertEquals(1, samples.size(), "ERROR: wrong number of a single sample");
+        assertStratified(samples, 1, 1, "ERROR: a single sample");
+    }
+}
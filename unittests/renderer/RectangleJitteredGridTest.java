@@ -8,6 +8,7 @@ import primitives.Vector;
 import java.util.List;
 
 import static java.awt.Color.*;
+import static org.junit.jupiter.api.Assertions.*;
 
 class RectangleJitteredGridTest {
 
@@ -46,4 +47,31 @@ class RectangleJitteredGridTest {
         }
         imageWriter1.writeToImage();
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link TargetAreaBase#setSeed(long)}
+     */
+    @Test
+    void testSetSeed() {
+        TargetAreaBase targetArea = new RectangleJitteredGrid(9, 1, 1).setSeed(3);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the same seed and center make the same samples
+        assertEquals(targetArea.generateSamples(new Point(5, 5, 0), Vector.Y, Vector.X),
+                new RectangleJitteredGrid(9, 1, 1).setSeed(3).generateSamples(new Point(5, 5, 0), Vector.Y, Vector.X),
+                "ERROR: the same seed makes different samples");
+
+        // TC02: another center makes other samples
+        List<Point> samples = targetArea.generateSamples(new Point(6, 5, 0), Vector.Y, Vector.X);
+        assertNotEquals(targetArea.generateSamples(new Point(5, 5, 0), Vector.Y, Vector.X).get(0)
+                        .subtract(new Point(5, 5, 0)),
+                samples.get(0).subtract(new Point(6, 5, 0)),
+                "ERROR: two target areas have the same samples");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: another seed makes other samples
+        assertNotEquals(samples,
+                new RectangleJitteredGrid(9, 1, 1).setSeed(4).generateSamples(new Point(6, 5, 0), Vector.Y, Vector.X),
+                "ERROR: two seeds make the same samples");
+    }
+}
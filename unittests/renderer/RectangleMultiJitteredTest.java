@@ -0,0 +1,50 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Vector;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RectangleSobolTest.assertStratified;
+
+class RectangleMultiJitteredTest {
+    /** the center of the unit square that the samples are generated in */
+    private final Point center = new Point(0.5, 0.5, 0);
+
+    /**
+     * Test method for {@link RectangleMultiJittered#generateSamples(Point, Vector, Vector)}
+     */
+    @Test
+    void testGenerateSamples() {
+        TargetAreaBase targetArea = new RectangleMultiJittered(16, 1, 1).setSeed(7);
+        List<Point> samples = targetArea.generateSamples(center, Vector.Y, Vector.X);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: 16 samples have a single sample in every cell of a grid of 4x4, in every column and in every row
+        assertEquals(16, samples.size(), "ERROR: wrong number of samples");
+        assertStratified(samples, 4, 4, "ERROR: a grid of 4x4");
+        assertStratified(samples, 16, 1, "ERROR: the columns");
+        assertStratified(samples, 1, 16, "ERROR: the rows");
+
+        // TC02: another target area shuffles the grid differently
+        assertNotEquals(samples.get(0).subtract(center),
+                targetArea.generateSamples(new Point(1.5, 0.5, 0), Vector.Y, Vector.X).get(0)
+                        .subtract(new Point(1.5, 0.5, 0)),
+                "ERROR: two target areas have the same samples");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a number of samples that isn't a square isn't rounded, and still has a sample in every row
+        samples = new RectangleMultiJittered(10, 1, 1).generateSamples(center, Vector.Y, Vector.X);
+        assertEquals(10, samples.size(), "ERROR: the number of samples was rounded");
+        assertStratified(samples, 1, 10, "ERROR: the rows of 10 samples");
+
+        // TC12: a wide target area has more columns than rows
+        samples = new RectangleMultiJittered(8, 1, 2).generateSamples(new Point(1, 0.5, 0), Vector.Y, Vector.X);
+        for (int i = 0; i < samples.size(); i++) {
+            samples.set(i, new Point(samples.get(i).getX() / 2, samples.get(i).getY(), 0));
+        }
+        assertStratified(samples, 4, 2, "ERROR: a grid of a wide target area");
+    }
+}
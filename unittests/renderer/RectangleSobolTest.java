@@ -0,0 +1,65 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Vector;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RectangleSobolTest {
+    /** the center of the unit square that the samples are generated in */
+    private final Point center = new Point(0.5, 0.5, 0);
+
+    /**
+     * checks that every cell of a grid over the unit square has the same number of samples
+     * @param samples the samples
+     * @param columns the number of columns of the grid
+     * @param rows the number of rows of the grid
+     * @param message the message to show if it doesn't
+     */
+    static void assertStratified(List<Point> samples, int columns, int rows, String message) {
+        int[] cells = new int[columns * rows];
+        for (Point sample : samples) {
+            assertTrue(sample.getX() >= 0 && sample.getX() < 1 && sample.getY() >= 0 && sample.getY() < 1,
+                    message + ": a sample is outside the target area");
+            cells[(int) (sample.getY() * rows) * columns + (int) (sample.getX() * columns)]++;
+        }
+        for (int cell : cells) {
+            assertEquals(samples.size() / cells.length, cell, message + ": the cells don't have the same number of samples");
+        }
+    }
+
+    /**
+     * Test method for {@link RectangleSobol#generateSamples(Point, Vector, Vector)}
+     */
+    @Test
+    void testGenerateSamples() {
+        TargetAreaBase targetArea = new RectangleSobol(16, 1, 1).setSeed(7);
+        List<Point> samples = targetArea.generateSamples(center, Vector.Y, Vector.X);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: 16 samples have a single sample in every rectangle of every grid of 16 rectangles
+        assertEquals(16, samples.size(), "ERROR: wrong number of samples");
+        for (int columns = 1; columns <= 16; columns *= 2) {
+            assertStratified(samples, columns, 16 / columns, "ERROR: a grid of " + columns + " columns");
+        }
+
+        // TC02: another target area is scrambled differently
+        assertNotEquals(samples.get(0).subtract(center),
+                targetArea.generateSamples(new Point(1.5, 0.5, 0), Vector.Y, Vector.X).get(0)
+                        .subtract(new Point(1.5, 0.5, 0)),
+                "ERROR: two target areas have the same samples");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a number of samples that isn't a power of 2 isn't rounded
+        samples = new RectangleSobol(10, 1, 1).generateSamples(center, Vector.Y, Vector.X);
+        assertEquals(10, samples.size(), "ERROR: the number of samples was rounded");
+        assertStratified(samples, 1, 1, "ERROR: 10 samples");
+
+        // TC12: a single sample
+        assertEquals(1, new RectangleSobol(1, 1, 1).generateSamples(center, Vector.Y, Vector.X).size(),
+                "ERROR: wrong number of a single sample");
+    }
+}
@@ -0,0 +1,33 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderProgressTest {
+    /**
+     * Test method for {@link RenderProgress#remaining()}
+     */
+    @Test
+    void testRemaining() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a quarter of the image was rendered in 2 seconds
+        RenderProgress progress = new RenderProgress(25, 100, 1, 4, Duration.ofSeconds(2));
+        assertEquals(Duration.ofSeconds(6), progress.remaining(), "ERROR: wrong remaining time");
+        assertEquals(12.5, progress.pixelsPerSecond(), 1e-9, "ERROR: wrong rate of pixels");
+        assertEquals(0.25, progress.fraction(), 1e-9, "ERROR: wrong fraction of the image");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: no pixel was rendered yet
+        progress = new RenderProgress(0, 100, 0, 4, Duration.ZERO);
+        assertNull(progress.remaining(), "ERROR: a remaining time before any pixel was rendered");
+        assertEquals(0, progress.pixelsPerSecond(), 1e-9, "ERROR: a rate before any time passed");
+
+        // TC12: the whole image was rendered
+        progress = new RenderProgress(100, 100, 4, 4, Duration.ofSeconds(8));
+        assertEquals(Duration.ZERO, progress.remaining(), "ERROR: a remaining time after the render ended");
+        assertTrue(progress.isDone(), "ERROR: the render isn't done");
+    }
+}
@@ -0,0 +1,110 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileSchedulerTest {
+    /**
+     * takes all the tiles of a scheduler and checks that they cover every pixel of the image exactly once
+     * @param scheduler the scheduler
+     * @param nX the number of columns of the image
+     * @param nY the number of rows of the image
+     * @param message the message to show if they don't
+     * @return the tiles in the order they were handed out
+     */
+    private static List<TileScheduler.Tile> assertCovers(TileScheduler scheduler, int nX, int nY, String message) {
+        int[][] covered = new int[nY][nX];
+        List<TileScheduler.Tile> tiles = new ArrayList<>();
+        TileScheduler.Tile tile;
+        while ((tile = scheduler.nextTile()) != null) {
+            tiles.add(tile);
+            for (int i = tile.y(); i < tile.y() + tile.height(); i++) {
+                for (int j = tile.x(); j < tile.x() + tile.width(); j++) {
+                    covered[i][j]++;
+                }
+            }
+        }
+        for (int[] row : covered) {
+            for (int count : row) {
+                assertEquals(1, count, message + ": a pixel isn't covered exactly once");
+            }
+        }
+        assertEquals(scheduler.tileCount(), tiles.size(), message + ": wrong number of tiles");
+        return tiles;
+    }
+
+    /**
+     * Test method for {@link TileScheduler#nextTile()}
+     */
+    @Test
+    void testNextTile() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: row after row, with smaller tiles at the right and bottom edges
+        List<TileScheduler.Tile> tiles = assertCovers(new TileScheduler(10, 7, 4, TileOrder.ROWS), 10, 7,
+                "ERROR: rows order");
+        assertEquals(new TileScheduler.Tile(4, 0, 4, 4), tiles.get(1), "ERROR: wrong second tile of rows order");
+        assertEquals(new TileScheduler.Tile(8, 4, 2, 3), tiles.get(5), "ERROR: wrong last tile of rows order");
+
+        // TC02: along a hilbert curve, every tile is a neighbour of the previous one
+        tiles = assertCovers(new TileScheduler(32, 32, 4, TileOrder.HILBERT), 32, 32, "ERROR: hilbert order");
+        for (int i = 1; i < tiles.size(); i++) {
+            assertEquals(4, Math.abs(tiles.get(i).x() - tiles.get(i - 1).x())
+                            + Math.abs(tiles.get(i).y() - tiles.get(i - 1).y()),
+                    "ERROR: consecutive tiles of hilbert order aren't neighbours");
+        }
+
+        // TC03: a spiral starts at the center and goes around it
+        tiles = assertCovers(new TileScheduler(12, 12, 4, TileOrder.SPIRAL), 12, 12, "ERROR: spiral order");
+        assertEquals(new TileScheduler.Tile(4, 4, 4, 4), tiles.get(0), "ERROR: spiral order doesn't start at the center");
+        assertEquals(new TileScheduler.Tile(8, 4, 4, 4), tiles.get(1), "ERROR: wrong second tile of spiral order");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a hilbert curve over an image that isn't square and isn't divided evenly
+        assertCovers(new TileScheduler(37, 5, 4, TileOrder.HILBERT), 37, 5, "ERROR: hilbert order of a wide image");
+
+        // TC12: a spiral over an image that is a single row of tiles
+        assertCovers(new TileScheduler(30, 3, 4, TileOrder.SPIRAL), 30, 3, "ERROR: spiral order of a wide image");
+
+        // TC13: a tile that is larger than the image
+        tiles = assertCovers(new TileScheduler(3, 2, 16, TileOrder.HILBERT), 3, 2, "ERROR: a single tile");
+        assertEquals(new TileScheduler.Tile(0, 0, 3, 2), tiles.get(0), "ERROR: wrong single tile");
+
+        // TC14: a tile size that isn't positive
+        assertThrows(IllegalArgumentException.class, () -> new TileScheduler(3, 2, 0, TileOrder.ROWS),
+                "ERROR: a tile size of 0 doesn't throw an exception");
+    }
+
+    /**
+     * Test method for {@link TileScheduler#tileDone(TileScheduler.Tile)}
+     */
+    @Test
+    void testTileDone() throws InterruptedException {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: several threads take the tiles at once, and every tile is rendered once
+        TileScheduler scheduler = new TileScheduler(100, 90, 8, TileOrder.HILBERT);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread(() -> {
+                TileScheduler.Tile tile;
+                while ((tile = scheduler.nextTile()) != null) {
+                    scheduler.tileDone(tile);
+                }
+            }));
+        }
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        assertEquals(scheduler.tileCount(), scheduler.tilesDone(), "ERROR: wrong number of tiles done");
+        assertEquals(100 * 90, scheduler.pixelsDone(), "ERROR: wrong number of pixels done");
+        assertTrue(scheduler.progress().isDone(), "ERROR: the progress of a finished render isn't done");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the progress before any tile was rendered
+        RenderProgress progress = new TileScheduler(100, 90, 8, TileOrder.ROWS).progress();
+        assertEquals(0, progress.pixelsDone(), "ERROR: pixels were done before the render");
+        assertEquals(13 * 12, progress.totalTiles(), "ERROR: wrong number of tiles in the progress");
+    }
+}
@@ -0,0 +1,190 @@
+package scene;
+
+import geometries.Intersectable;
+import geometries.Mesh;
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeshLoaderTest {
+    /** a ray that goes down through the point (1.5,0.5) of the plane z=0 */
+    private final Ray first = new Ray(new Point(1.5, 0.5, 1), new Vector(0, 0, -1));
+    /** a ray that goes down through the point (0.5,1.5) of the plane z=0 */
+    private final Ray second = new Ray(new Point(0.5, 1.5, 1), new Vector(0, 0, -1));
+
+    /**
+     * writes a temporary file
+     * @param suffix the extension of the file
+     * @param content the content of the file
+     * @return the path of the file
+     */
+    private static String write(String suffix, byte[] content) {
+        try {
+            Path path = Files.createTempFile("mesh", suffix);
+            path.toFile().deleteOnExit();
+            Files.write(path, content);
+            return path.toString();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * writes a binary PLY file with the square from (0,0,0) to (2,2,0) as a single face with four vertices.
+     * the vertices have an extra property before their coordinates, and the faces have one after their list.
+     * @param order the byte order of the file
+     * @return the path of the file
+     */
+    private static String writeSquarePly(ByteOrder order) {
+        String header = "ply\nformat " + (order == ByteOrder.LITTLE_ENDIAN ? "binary_little_endian" : "binary_big_endian")
+                + " 1.0\ncomment a square\nelement vertex 4\nproperty uchar flags\nproperty float x\n"
+                + "property float y\nproperty double z\nelement face 1\nproperty list uchar int vertex_indices\n"
+                + "property ushort group\nend_header\n";
+        ByteBuffer data = ByteBuffer.allocate(4 * 17 + 1 + 4 * 4 + 2).order(order);
+        float[] square = {0, 0, 2, 0, 2, 2, 0, 2};
+        for (int vertex = 0; vertex < 4; vertex++) {
+            data.put((byte) 7).putFloat(square[2 * vertex]).putFloat(square[2 * vertex + 1]).putDouble(0);
+        }
+        data.put((byte) 4).putInt(0).putInt(1).putInt(2).putInt(3).putShort((short) 9);
+        byte[] bytes = header.getBytes(StandardCharsets.US_ASCII);
+        byte[] content = new byte[bytes.length + data.capacity()];
+        System.arraycopy(bytes, 0, content, 0, bytes.length);
+        System.arraycopy(data.array(), 0, content, bytes.length, data.capacity());
+        return write(".ply", content);
+    }
+
+    /**
+     * checks that a mesh is the square from (0,0,0) to (2,2,0) made of two faces
+     * @param mesh the mesh
+     * @param message the message to show if it isn't
+     */
+    private void assertSquare(Mesh mesh, String message) {
+        assertEquals(2, mesh.faceCount(), message + ": wrong number of faces");
+        assertEquals(4, mesh.vertexCount(), message + ": wrong number of vertices");
+        Intersectable.GeoPoint hit = mesh.findClosestGeoIntersection(first);
+        assertEquals(new Point(1.5, 0.5, 0), hit.point, message + ": wrong intersection with the first face");
+        hit = mesh.findClosestGeoIntersection(second);
+        assertEquals(new Point(0.5, 1.5, 0), hit.point, message + ": wrong intersection with the second face");
+    }
+
+    /**
+     * Test method for {@link MeshLoader#loadObj(String)}
+     */
+    @Test
+    void testLoadObj() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a square made of two triangles, with comments and lines that are ignored
+        String obj = """
+                # a square
+                o square
+                v 0 0 0
+                v 2.0 0 0
+                v 2 2e0 0
+                v 0 2 -0.0
+                vn 0 0 1
+                usemtl wall
+                f 1 2 3
+                f 1//1 3//1 4//1
+                """;
+        assertSquare(MeshLoader.loadObj(write(".obj", obj.getBytes(StandardCharsets.US_ASCII))),
+                "ERROR: triangles");
+
+        // TC02: a square as a single face with four vertices and texture coordinates
+        obj = "v 0 0 0\nv 2 0 0\nv 2 2 0\nv 0 2 0\nvt 0 0\nf 1/1/1 2/1/1 3/1/1 4/1/1\n";
+        assertSquare(MeshLoader.loadObj(write(".obj", obj.getBytes(StandardCharsets.US_ASCII))),
+                "ERROR: a face with four vertices");
+
+        // TC03: a face with vertices that aren't numbers
+        assertThrows(IllegalArgumentException.class,
+                () -> MeshLoader.loadObj(write(".obj", "v 0 0 0\nv 1 0 0\nv 0 x 0\nf 1 2 3\n"
+                        .getBytes(StandardCharsets.US_ASCII))),
+                "ERROR: loaded a vertex with a coordinate that isn't a number");
+
+        // TC04: a face with a vertex that doesn't exist
+        assertThrows(IllegalArgumentException.class,
+                () -> MeshLoader.loadObj(write(".obj", "v 0 0 0\nv 1 0 0\nv 0 1 0\nf 1 2 4\n"
+                        .getBytes(StandardCharsets.US_ASCII))),
+                "ERROR: loaded a face with a vertex that doesn't exist");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: negative indices, relative to the last vertex, and windows line endings
+        obj = "v 0 0 0\r\nv 2 0 0\r\nv 2 2 0\r\nf -3 -2 -1\r\nv 0 2 0\r\nf -4 -2 -1\r\n";
+        assertSquare(MeshLoader.loadObj(write(".obj", obj.getBytes(StandardCharsets.US_ASCII))),
+                "ERROR: negative indices");
+
+        // TC12: numbers with more digits than the fast parsing supports, and no end of line at the end
+        obj = "v 0 0 0\nv 2.00000000000000000001 0 0\nv 2 2 0\nv 0 2 0\nf 1 2 3\nf 1 3 4";
+        assertSquare(MeshLoader.loadObj(write(".obj", obj.getBytes(StandardCharsets.US_ASCII))),
+                "ERROR: long numbers");
+
+        // TC13: a face with two vertices
+        assertThrows(IllegalArgumentException.class,
+                () -> MeshLoader.loadObj(write(".obj", "v 0 0 0\nv 1 0 0\nf 1 2\n"
+                        .getBytes(StandardCharsets.US_ASCII))),
+                "ERROR: loaded a face with two vertices");
+
+        // TC14: a face with the vertex index 0
+        assertThrows(IllegalArgumentException.class,
+                () -> MeshLoader.loadObj(write(".obj", "v 0 0 0\nv 1 0 0\nv 0 1 0\nf 0 1 2\n"
+                        .getBytes(StandardCharsets.US_ASCII))),
+                "ERROR: loaded a face with the vertex index 0");
+    }
+
+    /**
+     * Test method for {@link MeshLoader#loadPly(String)}
+     */
+    @Test
+    void testLoadPly() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a little endian file
+        assertSquare(MeshLoader.loadPly(writeSquarePly(ByteOrder.LITTLE_ENDIAN)), "ERROR: little endian");
+
+        // TC02: a big endian file
+        assertSquare(MeshLoader.loadPly(writeSquarePly(ByteOrder.BIG_ENDIAN)), "ERROR: big endian");
+
+        // TC03: an ascii file
+        String ascii = "ply\nformat ascii 1.0\nelement vertex 3\nproperty float x\nproperty float y\n"
+                + "property float z\nelement face 1\nproperty list uchar int vertex_indices\nend_header\n"
+                + "0 0 0\n1 0 0\n0 1 0\n3 0 1 2\n";
+        assertThrows(IllegalArgumentException.class,
+                () -> MeshLoader.loadPly(write(".ply", ascii.getBytes(StandardCharsets.US_ASCII))),
+                "ERROR: loaded an ascii PLY file");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a file without faces
+        String points = "ply\nformat binary_little_endian 1.0\nelement vertex 0\nproperty float x\n"
+                + "property float y\nproperty float z\nend_header\n";
+        assertThrows(IllegalArgumentException.class,
+                () -> MeshLoader.loadPly(write(".ply", points.getBytes(StandardCharsets.US_ASCII))),
+                "ERROR: loaded a PLY file without faces");
+    }
+
+    /**
+     * Test method for {@link MeshLoader#load(String)}
+     */
+    @Test
+    void testLoad() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the file is loaded by its extension
+        assertSquare(MeshLoader.load(writeSquarePly(ByteOrder.LITTLE_ENDIAN)), "ERROR: PLY extension");
+
+        // TC02: a file that isn't a mesh
+        assertThrows(IllegalArgumentException.class, () -> MeshLoader.load(write(".txt", new byte[1])),
+                "ERROR: loaded a file that isn't a mesh");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a file that doesn't exist
+        assertThrows(IllegalStateException.class, () -> MeshLoader.load("no such file.obj"),
+                "ERROR: loaded a file that doesn't exist");
+    }
+}
@@ -0,0 +1,100 @@
+package scene;
+
+import geometries.Mesh;
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SceneCacheTest {
+    /** a square from (0,0,0) to (2,2,0) */
+    private static final String SQUARE = "v 0 0 0\nv 2 0 0\nv 2 2 0\nv 0 2 0\nf 1 2 3 4\n";
+    /** the same square, one unit higher */
+    private static final String HIGHER_SQUARE = "v 0 0 1\nv 2 0 1\nv 2 2 1\nv 0 2 1\nf 1 2 3 4\n";
+    /** a ray that goes down through the square */
+    private final Ray ray = new Ray(new Point(1.5, 0.5, 5), new Vector(0, 0, -1));
+
+    /**
+     * creates a temporary directory for the mesh file and the cache files
+     * @return the path of the directory
+     */
+    private static Path directory() {
+        try {
+            Path directory = Files.createTempDirectory("cache");
+            directory.toFile().deleteOnExit();
+            return directory;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * writes a mesh file
+     * @param path the path of the file
+     * @param content the content of the file
+     */
+    private static void write(Path path, String content) {
+        try {
+            Files.writeString(path, content, StandardCharsets.US_ASCII);
+            path.toFile().deleteOnExit();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Test method for {@link SceneCache#loadMesh(String)}
+     */
+    @Test
+    void testLoadMesh() throws IOException {
+        Path directory = directory();
+        Path obj = directory.resolve("square.obj");
+        write(obj, SQUARE);
+        SceneCache cache = new SceneCache(directory.resolve("cache").toString());
+        Path cacheFile = cache.cachePath(obj.toString());
+        cacheFile.toFile().deleteOnExit();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the first load makes the cache file
+        Mesh mesh = cache.loadMesh(obj.toString());
+        assertEquals(2, mesh.faceCount(), "ERROR: wrong number of faces");
+        assertTrue(Files.isRegularFile(cacheFile), "ERROR: the cache file wasn't made");
+
+        // TC02: the second load reads the cache file instead of making it again
+        FileTime made = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(cacheFile, made);
+        mesh = cache.loadMesh(obj.toString());
+        assertEquals(new Point(1.5, 0.5, 0), mesh.findClosestGeoIntersection(ray).point,
+                "ERROR: wrong intersection with the cached mesh");
+        assertEquals(made, Files.getLastModifiedTime(cacheFile), "ERROR: the valid cache file was made again");
+
+        // TC03: the mesh file was changed, so the cache is stale
+        write(obj, HIGHER_SQUARE);
+        mesh = cache.loadMesh(obj.toString());
+        assertEquals(new Point(1.5, 0.5, 1), mesh.findClosestGeoIntersection(ray).point,
+                "ERROR: a stale cache was used");
+        assertNotEquals(made, Files.getLastModifiedTime(cacheFile), "ERROR: the stale cache file wasn't made again");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the cache file is cut before its end
+        byte[] content = Files.readAllBytes(cacheFile);
+        Files.write(cacheFile, Arrays.copyOf(content, content.length - 4));
+        mesh = cache.loadMesh(obj.toString());
+        assertEquals(new Point(1.5, 0.5, 1), mesh.findClosestGeoIntersection(ray).point,
+                "ERROR: wrong intersection after a damaged cache");
+        assertArrayEquals(content, Files.readAllBytes(cacheFile), "ERROR: the damaged cache file wasn't made again");
+
+        // TC12: the mesh file doesn't exist
+        assertThrows(IllegalStateException.class, () -> cache.loadMesh(directory.resolve("no.obj").toString()),
+                "ERROR: loaded a mesh file that doesn't exist");
+    }
+}